@@ -4,6 +4,7 @@ plugins {
     java
     id("com.diffplug.spotless") version "6.25.0"
     checkstyle
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.sismoview"
@@ -23,7 +24,11 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("org.msgpack:jackson-dataformat-msgpack:0.9.8")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -33,6 +38,15 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    // Machine-readable results for comparing runs across commits, e.g. with jmh.morethan.io
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (findProperty("jmhInclude") as String?)?.let { includes.add(it) }
+}
+
 spotless {
     java {
         target("src/**/*.java")
@@ -51,3 +65,40 @@ tasks.withType<JavaCompile> {
     options.release.set(21)
     options.encoding = "UTF-8"
 }
+
+tasks.register<JavaExec>("convertBathymetry") {
+    group = "application"
+    description = "Converts an ASCII grid / XYZ file into the memory-mapped bathymetry format"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.sismoview.adapters.bathy.BathymetryGridConverter")
+}
+
+tasks.register<JavaExec>("buildTravelTimes") {
+    group = "application"
+    description = "Ray-traces the ak135 P/S travel-time tables into the binary table format"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.sismoview.adapters.traveltime.TravelTimeTableFile")
+}
+
+tasks.register<JavaExec>("buildTsunamiScenarios") {
+    group = "application"
+    description = "Runs the tsunami solver for a catalog of unit sources into the memory-mapped scenario database"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.sismoview.adapters.tsunami.UnitSourceCatalogBuilder")
+}
+
+tasks.register<JavaExec>("convertGazetteer") {
+    group = "application"
+    description = "Converts a GeoNames cities dump into the memory-mapped gazetteer format"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.sismoview.adapters.gazetteer.GazetteerConverter")
+}
+
+tasks.register<JavaExec>("eventLoad") {
+    group = "verification"
+    description = "Closed-loop load on the /simulate/event facade, platform vs virtual request threads"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.sismoview.adapters.rest.EventLoadHarness")
+    systemProperties(System.getProperties().filterKeys { (it as String) in setOf("clients", "seconds", "warmupSeconds", "missesPerSecond", "deadlineMs") }
+        .mapKeys { it.key as String })
+}
@@ -0,0 +1,47 @@
+// k6 load test for /api/simulate/event.
+// Compare platform vs virtual threads by running the backend twice:
+//   SISMOVIEW_VIRTUAL_THREADS=false ./gradlew bootRun   then   k6 run loadtest/simulate-event.js
+//   SISMOVIEW_VIRTUAL_THREADS=true  ./gradlew bootRun   then   k6 run loadtest/simulate-event.js
+// and compare http_reqs (throughput) and http_req_duration p(99) in the summaries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8080';
+// Distinct scenarios per VU defeat the result cache; set REPEAT=1 to measure cached hits instead.
+const REPEAT = __ENV.REPEAT === '1';
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 50 },
+        { duration: '1m', target: 200 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export default function () {
+  const jitter = REPEAT ? 0 : (__VU * 1000 + __ITER) % 400;
+  const body = JSON.stringify({
+    lat: -20 + (jitter % 20) * 0.05,
+    lon: -72 + Math.floor(jitter / 20) * 0.05,
+    depthKm: 20,
+    magnitude: 8.0,
+    cities: [
+      { name: 'Bogotá', lat: 4.711, lon: -74.0721 },
+      { name: 'Lima', lat: -12.0464, lon: -77.0428 },
+    ],
+  });
+  const res = http.post(`${BASE}/api/simulate/event?deadlineMs=20000`, body, {
+    headers: { 'Content-Type': 'application/json' },
+  });
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,83 @@
+package com.sismoview.adapters.bathy;
+
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.ports.BathymetryPort;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filling a solver-sized depth grid: one interface call per cell versus {@code sampleGrid}.
+ * The mapped grid is a synthetic 0.05-degree regional file written at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BathymetrySamplingBenchmark {
+
+    @Param({"gridded", "mock"})
+    public String adapter;
+
+    @Param({"300", "1000"})
+    public int size;
+
+    private Path file;
+    private BathymetryPort bathy;
+    private GridSpec spec;
+    private float[] out;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (adapter.equals("mock")) {
+            bathy = new BathymetryMockAdapter();
+        } else {
+            file = Files.createTempFile("bathy-bench", ".svb");
+            var h = new BathymetryGridFile.Header(BathymetryGridFile.INT16, 1200, 1200, -30, 140, 0.05, 0.05, -32768f);
+            BathymetryGridFile.write(file, h, (row, dst) -> {
+                for (int c = 0; c < dst.length; c++) dst[c] = 4000f + 1000f * (float) Math.sin(row * 0.01 + c * 0.02);
+            });
+            bathy = new GriddedBathymetryAdapter(file);
+        }
+        spec = GridSpec.around(0, 170, 30, size, size);
+        out = new float[spec.cells()];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (file != null) Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public float[] perPoint() {
+        for (int r = 0; r < spec.rows(); r++) {
+            double lat = spec.lat(r);
+            for (int c = 0; c < spec.cols(); c++) {
+                out[spec.index(r, c)] = (float) bathy.depthMeters(lat, spec.lon(c));
+            }
+        }
+        return out;
+    }
+
+    @Benchmark
+    public float[] bulkGrid() {
+        bathy.sampleGrid(spec, out);
+        return out;
+    }
+}
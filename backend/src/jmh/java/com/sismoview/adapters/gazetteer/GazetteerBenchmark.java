@@ -0,0 +1,93 @@
+package com.sismoview.adapters.gazetteer;
+
+import com.sismoview.domain.models.Place;
+import com.sismoview.service.CityGazetteer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup ({@code load}: map the file and index it) and queries on a synthetic world gazetteer:
+ * places clustered around 2 000 centres, Zipf-like populations, a name shared by every tenth
+ * place. Setup prints the file size and the index's heap bytes; run with {@code -prof gc} for
+ * the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class GazetteerBenchmark {
+    @Param({"1000000", "3000000"})
+    public int places;
+
+    private Path file;
+    private CityGazetteer gazetteer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random rnd = new Random(7);
+        double[][] centres = new double[2000][];
+        for (int c = 0; c < centres.length; c++) {
+            centres[c] = new double[] {-55 + 125 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble()};
+        }
+        float[] lat = new float[places], lon = new float[places];
+        int[] population = new int[places], nameId = new int[places];
+        short[] country = new short[places];
+        int distinct = places - places / 10;
+        byte[][] names = new byte[distinct][];
+        for (int i = 0; i < distinct; i++) names[i] = ("Place " + i).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < places; i++) {
+            double[] c = centres[rnd.nextInt(centres.length)];
+            lat[i] = (float) Math.max(-90, Math.min(90, c[0] + 3 * rnd.nextGaussian()));
+            lon[i] = (float) (c[1] + 3 * rnd.nextGaussian());
+            population[i] = (int) (30_000_000L / (i + 1)) + 100;  // already in descending order
+            nameId[i] = i % 10 == 9 ? 0 : i % distinct;
+            country[i] = GazetteerFile.encodeCountry("XX");
+        }
+        file = Files.createTempFile("gazetteer-bench", ".svgz");
+        GazetteerFile.write(file, lat, lon, population, nameId, country, names);
+        gazetteer = load();
+        System.out.printf("%n%d places: file %d MB%n", places, Files.size(file) >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CityGazetteer load() {
+        return new CityGazetteer(Optional.of(new MappedGazetteer(file)), new SimpleMeterRegistry(), 100, 10_000);
+    }
+
+    @Benchmark
+    public List<Place> top100Within500Km() {
+        return gazetteer.select(35.7, 139.7, 500, 0, 100);
+    }
+
+    @Benchmark
+    public List<Place> above100kWithin2000Km() {
+        return gazetteer.select(4.7, -74.1, 2000, 100_000, 10_000);
+    }
+}
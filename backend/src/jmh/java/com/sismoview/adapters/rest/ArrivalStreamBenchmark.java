@@ -0,0 +1,77 @@
+package com.sismoview.adapters.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.City;
+import com.sismoview.service.SeismicService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arrivals for a large city set, body in and JSON out: the list path (bind the cities, build
+ * {@code List<Arrival>}, serialize it) against {@link ArrivalStream}, in input order and top-100.
+ * Run with {@code -prof gc}: the list path's peak heap grows with the city count, the stream's
+ * live set stays at one chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrivalStreamBenchmark {
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    @Param({"100000"})
+    public int cities;
+
+    private final ObjectMapper om = new ObjectMapper();
+    private final SeismicService seismic = new SeismicService();
+    private ArrivalStream stream;
+    private byte[] body;
+
+    @Setup
+    public void setup() throws IOException {
+        Random rnd = new Random(3);
+        List<City> list = new ArrayList<>(cities);
+        for (int i = 0; i < cities; i++) {
+            list.add(new City("Ciudad " + i, -60 + 130 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble()));
+        }
+        body = om.writeValueAsBytes(list);
+        stream = new ArrivalStream(seismic, om, new SimpleMeterRegistry(), 4096, 100_000);
+    }
+
+    @Benchmark
+    public void list() throws IOException {
+        List<City> list = om.readValue(body, om.getTypeFactory().constructCollectionType(List.class, City.class));
+        List<Arrival> arrivals = seismic.arrivalsForCities(4.71, -74.07, 30, 0, list);
+        om.writeValue(DISCARD, arrivals);
+    }
+
+    @Benchmark
+    public void streamed() throws IOException {
+        stream.run(stream.query(4.71, -74.07, 30, null), new ByteArrayInputStream(body), DISCARD, false);
+    }
+
+    @Benchmark
+    public void streamedEarliest100() throws IOException {
+        stream.run(stream.query(4.71, -74.07, 30, 100), new ByteArrayInputStream(body), DISCARD, false);
+    }
+}
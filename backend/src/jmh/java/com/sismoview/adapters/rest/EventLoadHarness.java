@@ -0,0 +1,145 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.adapters.bathy.BathymetryMockAdapter;
+import com.sismoview.adapters.rest.dto.SeismicRequest;
+import com.sismoview.domain.ground.GroundMotionModels;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.exception.DeadlineExceededException;
+import com.sismoview.service.CityGazetteer;
+import com.sismoview.service.SeismicService;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.IntensityGridService;
+import com.sismoview.service.grid.RasterStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load on {@link SimulationFacade#event}, the in-process stand-in for
+ * {@code loadtest/simulate-event.js} where k6 is not available. Each client is a platform thread
+ * that hands one request after another to the "server": a pool of 200 platform threads (Tomcat's
+ * default) or a new virtual thread per request, started from outside the scheduler as Tomcat's
+ * poller does.
+ * Most requests repeat a few hot scenarios (cache hits); at a fixed rate, independent of the
+ * throughput, a client sends a fresh scenario instead, a tsunami miss that runs the solver. Every
+ * request has the same deadline. Prints throughput, latency percentiles, 504s and other errors
+ * per mode.
+ *
+ * <pre>gradle eventLoad --args="platform virtual"</pre>
+ *
+ * System properties: {@code clients} (200), {@code seconds} (20), {@code warmupSeconds} (5),
+ * {@code missesPerSecond} (5), {@code deadlineMs} (2000).
+ */
+public final class EventLoadHarness {
+    private static final int CLIENTS = Integer.getInteger("clients", 200);
+    private static final int SECONDS = Integer.getInteger("seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("warmupSeconds", 5);
+    private static final double MISSES_PER_SECOND = Double.parseDouble(System.getProperty("missesPerSecond", "5"));
+    private static final long DEADLINE_MS = Long.getLong("deadlineMs", 2000);
+    private static final int HOT_SCENARIOS = 8;
+    private static final int SERVER_THREADS = 200;
+
+    private EventLoadHarness() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        for (String mode : args.length > 0 ? args : new String[] {"platform", "virtual"}) {
+            boolean virtual = switch (mode) {
+                case "platform" -> false;
+                case "virtual" -> true;
+                default -> throw new IllegalArgumentException("mode is platform or virtual: " + mode);
+            };
+            run(newFacade(), virtual, WARMUP_SECONDS, null);
+            Stats stats = new Stats();
+            run(newFacade(), virtual, SECONDS, stats);
+            System.out.println(stats.report(mode, SECONDS));
+        }
+    }
+
+    /** A 10° / 0.1° tsunami grid over a constant 4000 m ocean (the application uses 30°). */
+    private static SimulationFacade newFacade() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RasterStore store = new RasterStore(512);
+        return new SimulationFacade(new SeismicService(),
+            new TsunamiService(new BathymetryMockAdapter(), store, registry, 10, 0.1, 1_000_000, 5000, 120),
+            new IntensityGridService(store, TravelTimes.standard(), GroundMotionModels.standard(), registry, 40, 40, 10),
+            new CityGazetteer(), registry, 0.01, 1, 0.1, 600, 10_000, 2, 16);
+    }
+
+    private static void run(SimulationFacade facade, boolean virtual, int seconds, Stats stats) throws InterruptedException {
+        ExecutorService server = virtual
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(SERVER_THREADS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long begin = System.nanoTime(), end = begin + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger fresh = new AtomicInteger();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    int due = (int) ((start - begin) / 1e9 * MISSES_PER_SECOND), issued = fresh.get();
+                    boolean hit = issued >= due || !fresh.compareAndSet(issued, issued + 1);
+                    int scenario = hit ? rnd.nextInt(HOT_SCENARIOS) : HOT_SCENARIOS + issued;
+                    Outcome outcome = Outcome.OK;
+                    try {
+                        server.submit(() -> facade.event(request(scenario), DEADLINE_MS)).get();
+                    } catch (ExecutionException e) {
+                        outcome = e.getCause() instanceof DeadlineExceededException ? Outcome.DEADLINE : Outcome.ERROR;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (stats != null) stats.record(hit, outcome, System.nanoTime() - start);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + DEADLINE_MS / 1000 + 60, TimeUnit.SECONDS);
+        server.shutdown();
+    }
+
+    /** Scenario {@code n} on a 0.01° lattice off the Chilean coast, one cache key each. */
+    private static SeismicRequest request(int n) {
+        SeismicRequest r = new SeismicRequest();
+        r.setLat(-20 - (n % 1000) * 0.01);
+        r.setLon(-75 - (n / 1000) * 0.01);
+        r.setDepthKm(20.0);
+        r.setMagnitude(8.5);
+        return r;
+    }
+
+    private enum Outcome { OK, DEADLINE, ERROR }
+
+    private static final class Stats {
+        private final long[][] latencies = {new long[1 << 20], new long[1 << 20]};
+        private final AtomicInteger[] counts = {new AtomicInteger(), new AtomicInteger()};
+        private final AtomicLong deadlines = new AtomicLong(), errors = new AtomicLong();
+
+        void record(boolean hit, Outcome outcome, long nanos) {
+            if (outcome == Outcome.DEADLINE) deadlines.incrementAndGet();
+            if (outcome == Outcome.ERROR) errors.incrementAndGet();
+            int kind = hit ? 0 : 1;
+            int i = counts[kind].getAndIncrement();
+            if (i < latencies[kind].length) latencies[kind][i] = nanos;
+        }
+
+        String report(String mode, int seconds) {
+            int hits = counts[0].get(), misses = counts[1].get();
+            return String.format("%-8s %7.1f req/s  hits %s  misses %s  504s %d  errors %d",
+                mode, (hits + misses) / (double) seconds, percentiles(0), percentiles(1), deadlines.get(), errors.get());
+        }
+
+        private String percentiles(int kind) {
+            int n = Math.min(counts[kind].get(), latencies[kind].length);
+            if (n == 0) return "n=0";
+            long[] sorted = Arrays.copyOf(latencies[kind], n);
+            Arrays.sort(sorted);
+            return String.format("n=%d p50 %.1f ms p99 %.1f ms", n, sorted[n / 2] / 1e6, sorted[(int) Math.min(n - 1, n * 0.99)] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sismoview.adapters.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.adapters.rest.codec.ResponseModule;
+import com.sismoview.adapters.rest.dto.GridLayer;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.adapters.rest.dto.TsunamiResponse;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.models.CoastArrival;
+import com.sismoview.domain.models.LegendItem;
+import com.sismoview.domain.models.RingSegment;
+import com.sismoview.service.SeismicService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialization of the two simulation responses, shaped as {@link SismoController}
+ * builds them and written with the application's {@code non_null} inclusion, by Jackson's record
+ * serializers ({@code reflective}) and by {@link ResponseModule} ({@code handWritten}).
+ * The build runs JMH with the GC profiler; compare {@code gc.alloc.rate.norm} across the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final List<LegendItem> ETA_LEGEND = List.of(new LegendItem("0–30 min", "#4aa5ff"), new LegendItem(">3 h", "#ffc266"));
+
+    @Param({"1", "1000"})
+    public int cities;
+
+    @Param({"reflective", "handWritten"})
+    public String serializers;
+
+    private ObjectMapper om;
+    private SeismicResponse seismic;
+    private TsunamiResponse tsunami;
+
+    @Setup
+    public void setup() {
+        om = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (serializers.equals("handWritten")) om.registerModule(new ResponseModule());
+        SeismicService service = new SeismicService();
+        Random rnd = new Random(5);
+        List<City> list = new ArrayList<>(cities);
+        for (int i = 0; i < cities; i++) {
+            list.add(new City("Ciudad " + i, -60 + 130 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble()));
+        }
+        Map<String, List<RingSegment>> rings = new HashMap<>();
+        for (RingSegment r : service.ringsMinutes(10)) rings.put(r.type(), List.of(r));
+
+        seismic = new SeismicResponse(rings, service.arrivalsForCities(4.71, -74.07, 7.0, list),
+            service.intensityForCities(4.71, -74.07, 7.0, 6.5, list), service.intensityLegend("int-0123456789abcdef0123"));
+
+        List<CoastArrival> coast = new ArrayList<>(cities);
+        for (int i = 0; i < cities; i++) coast.add(new CoastArrival(-60 + 130 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble(), 300 * rnd.nextDouble()));
+        GridLayer layer = new GridLayer("tsu-0123456789abcdef0123", ETA_LEGEND);
+        tsunami = new TsunamiResponse(layer, layer, coast);
+    }
+
+    @Benchmark
+    public byte[] seismicResponse() throws JsonProcessingException {
+        return om.writeValueAsBytes(seismic);
+    }
+
+    @Benchmark
+    public byte[] tsunamiResponse() throws JsonProcessingException {
+        return om.writeValueAsBytes(tsunami);
+    }
+}
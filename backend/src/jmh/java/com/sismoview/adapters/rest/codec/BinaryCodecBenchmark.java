@@ -0,0 +1,89 @@
+package com.sismoview.adapters.rest.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.models.Quake;
+import com.sismoview.service.SeismicService;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode time per negotiated format for a 1000-city seismic response and a week-sized quake list.
+ * Encoded sizes are printed once per trial, since they do not depend on timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    @Param({"json", "cbor", "msgpack"})
+    public String format;
+
+    private ObjectWriter seismicWriter;
+    private ObjectWriter quakesWriter;
+    private SeismicResponse seismic;
+    private List<Quake> quakes;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper om = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory()).registerModule(new ResponseModule()).registerModule(new PackedArraysModule());
+            case "msgpack" -> new ObjectMapper(new MessagePackFactory()).registerModule(new ResponseModule()).registerModule(new PackedArraysModule());
+            default -> new ObjectMapper(new JsonFactory()).registerModule(new ResponseModule());
+        };
+        om.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        seismicWriter = om.writerFor(SeismicResponse.class);
+        quakesWriter = om.writerFor(new TypeReference<List<Quake>>() {});
+
+        Random rnd = new Random(5);
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            cities.add(new City("Ciudad " + i, -60 + 130 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble()));
+        }
+        SeismicService service = new SeismicService();
+        seismic = new SeismicResponse(null, service.arrivalsForCities(4.71, -74.07, 7.0, cities), null,
+            service.intensityLegend("int-0123456789abcdef0123"));
+
+        quakes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            quakes.add(new Quake("us7000" + i, "2025-01-01T00:00:00Z", -60 + 130 * rnd.nextDouble(),
+                -180 + 360 * rnd.nextDouble(), 300 * rnd.nextDouble(), 4.5 + 3 * rnd.nextDouble(), i + " km SW of Somewhere"));
+        }
+        System.out.printf("%n# %s sizes: seismic=%d B, quakes=%d B%n", format,
+            seismicResponse().length, quakeList().length);
+    }
+
+    @Benchmark
+    public byte[] seismicResponse() throws IOException {
+        return seismicWriter.writeValueAsBytes(seismic);
+    }
+
+    @Benchmark
+    public byte[] quakeList() throws IOException {
+        return quakesWriter.writeValueAsBytes(quakes);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sismoview.adapters.usgs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.sismoview.domain.models.Quake;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adapter parse path over the fixed feed fixtures in {@code src/jmh/resources/feeds}, so the
+ * numbers are comparable across commits (the synthetic sizes live in {@link FeedParseBenchmark}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedFixtureBenchmark {
+
+    @Param({"4.5_day", "4.5_week"})
+    public String feed;
+
+    private byte[] payload;
+    private final UsgsFeedParser parser = new UsgsFeedParser(new JsonFactory());
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = FeedFixtureBenchmark.class.getResourceAsStream("/feeds/" + feed + ".geojson")) {
+            if (in == null) throw new IOException("missing fixture " + feed);
+            payload = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public List<Quake> parse() throws IOException {
+        return parser.parse(new ByteArrayInputStream(payload));
+    }
+}
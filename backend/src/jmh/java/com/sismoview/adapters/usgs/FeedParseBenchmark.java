@@ -0,0 +1,111 @@
+package com.sismoview.adapters.usgs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.domain.models.Quake;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tree-based parse (the adapter's original String + readTree path) against the streaming
+ * {@link UsgsFeedParser}. Run with the gc profiler to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedParseBenchmark {
+
+    /** 4.5_day is a few dozen features, all_week a few thousand, all_month ~10k. */
+    @Param({"50", "2000", "10000"})
+    public int features;
+
+    private byte[] payload;
+    private final ObjectMapper om = new ObjectMapper();
+    private final UsgsFeedParser streaming = new UsgsFeedParser(new JsonFactory());
+
+    @Setup
+    public void setup() {
+        payload = syntheticFeed(features, new Random(42)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Quake> tree() throws Exception {
+        String body = new String(payload, StandardCharsets.UTF_8);
+        List<Quake> out = new ArrayList<>();
+        JsonNode root = om.readTree(body);
+        for (JsonNode f : root.get("features")) {
+            JsonNode props = f.get("properties");
+            JsonNode geom = f.get("geometry");
+            String id = f.get("id").asText();
+            double lon = geom.get("coordinates").get(0).asDouble();
+            double lat = geom.get("coordinates").get(1).asDouble();
+            double depth = geom.get("coordinates").get(2).asDouble();
+            double mag = props.get("mag").asDouble();
+            long timeMs = props.get("time").asLong();
+            String place = props.get("place").asText();
+            String timeUtc = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timeMs).atOffset(ZoneOffset.UTC));
+            out.add(new Quake(id, timeUtc, lat, lon, depth, mag, place));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Quake> streaming() throws Exception {
+        return streaming.parse(new ByteArrayInputStream(payload));
+    }
+
+    /** Same shape and property set as a USGS summary feature. */
+    static String syntheticFeed(int n, Random rnd) {
+        StringBuilder sb = new StringBuilder(n * 1100);
+        sb.append("{\"type\":\"FeatureCollection\",\"metadata\":{\"generated\":1700000000000,")
+          .append("\"url\":\"https://earthquake.usgs.gov/earthquakes/feed/v1.0/summary/all_week.geojson\",")
+          .append("\"title\":\"USGS All Earthquakes, Past Week\",\"status\":200,\"api\":\"1.10.3\",\"count\":")
+          .append(n).append("},\"features\":[");
+        for (int i = 0; i < n; i++) {
+            String id = "us7000" + Integer.toString(100000 + i, 36);
+            double mag = Math.round((1 + rnd.nextDouble() * 6) * 100) / 100.0;
+            double lon = -180 + rnd.nextDouble() * 360;
+            double lat = -80 + rnd.nextDouble() * 160;
+            double depth = rnd.nextDouble() * 300;
+            long time = 1700000000000L - i * 60_000L;
+            if (i > 0) sb.append(',');
+            sb.append("{\"type\":\"Feature\",\"properties\":{\"mag\":").append(mag)
+              .append(",\"place\":\"").append(rnd.nextInt(200)).append(" km SW of Somewhere, Region\"")
+              .append(",\"time\":").append(time).append(",\"updated\":").append(time + 90_000)
+              .append(",\"tz\":null,\"url\":\"https://earthquake.usgs.gov/earthquakes/eventpage/").append(id).append("\"")
+              .append(",\"detail\":\"https://earthquake.usgs.gov/earthquakes/feed/v1.0/detail/").append(id).append(".geojson\"")
+              .append(",\"felt\":null,\"cdi\":null,\"mmi\":null,\"alert\":null,\"status\":\"reviewed\",\"tsunami\":0")
+              .append(",\"sig\":").append(rnd.nextInt(1000)).append(",\"net\":\"us\",\"code\":\"").append(id.substring(2)).append("\"")
+              .append(",\"ids\":\",").append(id).append(",\",\"sources\":\",us,\",\"types\":\",origin,phase-data,\"")
+              .append(",\"nst\":").append(rnd.nextInt(150)).append(",\"dmin\":").append(rnd.nextDouble() * 10)
+              .append(",\"rms\":").append(rnd.nextDouble()).append(",\"gap\":").append(rnd.nextInt(180))
+              .append(",\"magType\":\"mb\",\"type\":\"earthquake\",\"title\":\"M ").append(mag).append(" - Somewhere\"}")
+              .append(",\"geometry\":{\"type\":\"Point\",\"coordinates\":[").append(lon).append(',').append(lat).append(',').append(depth)
+              .append("]},\"id\":\"").append(id).append("\"}");
+        }
+        sb.append("],\"bbox\":[-180,-80,0,180,80,300]}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sismoview.domain;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-target cost of {@link PreparedSource#distancesKm} in each {@link DistanceMode}; compare with
+ * the scalar {@link HaversineBenchmark}, which redoes the source trig on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistanceKernelBenchmark {
+    private static final int TARGETS = 100_000;
+
+    @Param({"FAST", "HAVERSINE", "WGS84"})
+    public DistanceMode mode;
+
+    private final double[] lat = new double[TARGETS], lon = new double[TARGETS], out = new double[TARGETS];
+    private final PreparedSource src = EarthGeometry.prepare(4.71, -74.07);
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(9);
+        for (int i = 0; i < TARGETS; i++) {
+            lat[i] = -60 + 130 * rnd.nextDouble();
+            lon[i] = -180 + 360 * rnd.nextDouble();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public double[] distances() {
+        src.distancesKm(lat, lon, out, mode);
+        return out;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sismoview.domain;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Cost of one scalar geometry call, averaged over a fixed set of point pairs. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HaversineBenchmark {
+    private static final int PAIRS = 1024;
+
+    private final double[] lat1 = new double[PAIRS], lon1 = new double[PAIRS];
+    private final double[] lat2 = new double[PAIRS], lon2 = new double[PAIRS];
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(3);
+        for (int i = 0; i < PAIRS; i++) {
+            lat1[i] = -90 + 180 * rnd.nextDouble();
+            lon1[i] = -180 + 360 * rnd.nextDouble();
+            lat2[i] = -90 + 180 * rnd.nextDouble();
+            lon2[i] = -180 + 360 * rnd.nextDouble();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double haversine() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += EarthGeometry.haversineKm(lat1[i], lon1[i], lat2[i], lon2[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double azimuth() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += EarthGeometry.prepare(lat1[i], lon1[i]).azimuthDeg(lat2[i], lon2[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.City;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The original per-City haversine loop against the bulk engine, both with DTO output
+ * ({@code arrivalsForCities}) and primitive-only output ({@code arrivalTimes}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrivalsBenchmark {
+    private static final double VP = 6.0;
+    private static final double VS = 3.5;
+
+    @Param({"10", "10000", "1000000"})
+    public int cities;
+
+    private final SeismicService service = new SeismicService();
+    private List<City> cityList;
+    private double[] lat;
+    private double[] lon;
+    private double[] p;
+    private double[] s;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1);
+        cityList = new ArrayList<>(cities);
+        lat = new double[cities];
+        lon = new double[cities];
+        for (int i = 0; i < cities; i++) {
+            lat[i] = -60 + 130 * rnd.nextDouble();
+            lon[i] = -180 + 360 * rnd.nextDouble();
+            cityList.add(new City("c" + i, lat[i], lon[i]));
+        }
+        p = new double[cities];
+        s = new double[cities];
+    }
+
+    @Benchmark
+    public List<Arrival> loop() {
+        List<Arrival> out = new ArrayList<>();
+        for (City c : cityList) {
+            double d = EarthGeometry.haversineKm(4.71, -74.07, c.getLat(), c.getLon());
+            out.add(new Arrival(c.getName(), "P", d / (VP * 60.0)));
+            out.add(new Arrival(c.getName(), "S", d / (VS * 60.0)));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Arrival> bulkWithDtos() {
+        return service.arrivalsForCities(4.71, -74.07, 6.0, cityList);
+    }
+
+    @Benchmark
+    public double[] bulkPrimitive() {
+        service.arrivalTimes(4.71, -74.07, lat, lon, p, s);
+        return p;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.ground.GroundMotionModels;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Site evaluations per call: the relation alone on precomputed distances ({@code relation*}) and
+ * the full bulk path from coordinates ({@code sites*}). Divide {@code sites} by the score for the
+ * per-second rate; the budget is several million sites per second on one core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroundMotionBenchmark {
+    @Param({"10000", "1000000"})
+    public int sites;
+
+    @Param({"bjf97-worden12", "aw07"})
+    public String model;
+
+    private GroundMotionModel.Source source;
+    private GroundMotionEngine engine;
+    private double[] lat, lon, hypo, pga, pgv, mmi;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1);
+        lat = new double[sites];
+        lon = new double[sites];
+        hypo = new double[sites];
+        for (int i = 0; i < sites; i++) {
+            lat[i] = -60 + 130 * rnd.nextDouble();
+            lon[i] = -180 + 360 * rnd.nextDouble();
+            hypo[i] = 5 + 2000 * rnd.nextDouble();
+        }
+        pga = new double[sites];
+        pgv = new double[sites];
+        mmi = new double[sites];
+        GroundMotionModel m = GroundMotionModels.byId(model);
+        source = m.prepare(7.2, 25);
+        engine = new GroundMotionEngine(m);
+    }
+
+    @Benchmark
+    public double[] relationIntensityOnly() {
+        source.evaluate(hypo, 0, sites, null, null, mmi);
+        return mmi;
+    }
+
+    @Benchmark
+    public double[] relationAll() {
+        source.evaluate(hypo, 0, sites, pga, pgv, mmi);
+        return mmi;
+    }
+
+    @Benchmark
+    public double[] sitesAll() {
+        engine.compute(4.71, -74.07, 25, 7.2, lat, lon, new double[sites], pga, pgv, mmi);
+        return mmi;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sismoview.service.grid;
+
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.domain.traveltime.TravelTimes;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Full travel-time + intensity raster; the target is 1000x1000 well under a second. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntensityGridBenchmark {
+
+    @Param({"250", "1000"})
+    public int size;
+
+    private final IntensityGridEngine engine = new IntensityGridEngine(ForkJoinPool.commonPool(), TravelTimes.standard());
+
+    @Benchmark
+    public Raster grid() {
+        return engine.compute("bench", 4.71, -74.07, 30.0, 7.0, GridSpec.around(4.71, -74.07, 20, size, size));
+    }
+}
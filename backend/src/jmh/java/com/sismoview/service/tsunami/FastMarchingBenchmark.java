@@ -0,0 +1,58 @@
+package com.sismoview.service.tsunami;
+
+import com.sismoview.domain.grid.GridSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One ETA-mode run on a basin-scale grid (60 degrees; 1200 is the default 0.05-degree cell): a
+ * continental shelf sloping up to a coast on the east, a ridge and scattered islands. The budget
+ * is under a second for 1200 x 1200.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FastMarchingBenchmark {
+    @Param({"600", "1200", "2000"})
+    public int side;
+
+    private final FastMarchingEta marcher = new FastMarchingEta();
+    private GridSpec spec;
+    private float[] depth;
+    private TsunamiSource source;
+
+    @Setup
+    public void setup() {
+        spec = GridSpec.around(-20, -100, 60, side, side);
+        depth = new float[spec.cells()];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                double x = (double) c / side, y = (double) r / side;
+                double h = 4500 - 1500 * Math.exp(-Math.pow((x - 0.35) / 0.03, 2));       // ridge
+                if (x > 0.8) h = 4500 * (0.95 - x) / 0.15 + 300 * Math.sin(25 * y);     // shelf and coast
+                double island = Math.sin(40 * x) * Math.sin(37 * y);
+                if (x < 0.8 && island > 0.97) h = -50;
+                depth[spec.index(r, c)] = (float) h;
+            }
+        }
+        source = TsunamiSource.fromQuake(-20, -74, 8.8, 25);
+    }
+
+    @Benchmark
+    public FastMarchingEta.Result march() {
+        return marcher.run(spec, depth, source);
+    }
+}
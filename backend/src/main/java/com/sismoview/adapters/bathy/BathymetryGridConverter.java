@@ -0,0 +1,169 @@
+package com.sismoview.adapters.bathy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Converts text bathymetry into a {@link BathymetryGridFile}.
+ *
+ * <ul>
+ *   <li>ESRI ASCII grid ({@code .asc}): {@code ncols/nrows/xllcorner|xllcenter/yllcorner|yllcenter/cellsize/NODATA_value}
+ *       header followed by rows from north to south.</li>
+ *   <li>XYZ ({@code .xyz}): whitespace or comma separated {@code lon lat z} lines on a regular grid;
+ *       spacing and extent are inferred from the points.</li>
+ * </ul>
+ *
+ * Input values are elevations (negative below sea level, as in GEBCO/ETOPO) unless {@code --depth}
+ * is given. Usage: {@code gradle convertBathymetry --args="in.asc out.svb [--depth] [--int16]"}.
+ */
+public final class BathymetryGridConverter {
+    static final float NODATA = -32768f;
+
+    private BathymetryGridConverter() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BathymetryGridConverter <in.asc|in.xyz> <out> [--depth] [--int16]");
+            System.exit(2);
+        }
+        boolean depth = Arrays.asList(args).contains("--depth");
+        int dtype = Arrays.asList(args).contains("--int16") ? BathymetryGridFile.INT16 : BathymetryGridFile.FLOAT32;
+        Path in = Path.of(args[0]), out = Path.of(args[1]);
+        BathymetryGridFile.Header h = convert(in, out, dtype, depth);
+        System.out.printf(Locale.ROOT, "%s: %d x %d cells, %.4f x %.4f deg%n", out, h.rows(), h.cols(), h.dLat(), h.dLon());
+    }
+
+    static BathymetryGridFile.Header convert(Path in, Path out, int dtype, boolean inputIsDepth) throws IOException {
+        String name = in.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".xyz") || name.endsWith(".csv")
+            ? convertXyz(in, out, dtype, inputIsDepth)
+            : convertAscii(in, out, dtype, inputIsDepth);
+    }
+
+    static BathymetryGridFile.Header convertAscii(Path in, Path out, int dtype, boolean inputIsDepth) throws IOException {
+        try (BufferedReader r = Files.newBufferedReader(in)) {
+            int cols = -1, rows = -1;
+            double x = Double.NaN, y = Double.NaN, cell = Double.NaN, nodata = Double.NaN;
+            boolean corner = true;
+            String line;
+            while (true) {
+                r.mark(4096);
+                line = r.readLine();
+                if (line == null) throw new IOException("ASCII grid has no data rows");
+                String[] kv = line.trim().split("\\s+");
+                if (kv.length != 2 || !Character.isLetter(kv[0].charAt(0))) {
+                    r.reset();
+                    break;
+                }
+                double v = Double.parseDouble(kv[1]);
+                switch (kv[0].toLowerCase(Locale.ROOT)) {
+                    case "ncols" -> cols = (int) v;
+                    case "nrows" -> rows = (int) v;
+                    case "xllcorner" -> { x = v; corner = true; }
+                    case "xllcenter" -> { x = v; corner = false; }
+                    case "yllcorner" -> y = v;
+                    case "yllcenter" -> y = v;
+                    case "cellsize" -> cell = v;
+                    case "nodata_value" -> nodata = v;
+                    default -> throw new IOException("unknown ASCII grid key " + kv[0]);
+                }
+            }
+            if (cols <= 0 || rows <= 0 || !(cell > 0) || Double.isNaN(x) || Double.isNaN(y)) {
+                throw new IOException("incomplete ASCII grid header");
+            }
+            double half = corner ? cell / 2 : 0;
+            BathymetryGridFile.Header h = new BathymetryGridFile.Header(dtype, rows, cols, y + half, x + half, cell, cell, NODATA);
+
+            // File rows run north to south and the output south to north: each row goes to its own offset.
+            long expected = (long) rows * cols, n = 0;
+            float[] row = new float[cols];
+            try (BathymetryGridFile.Writer w = new BathymetryGridFile.Writer(out, h)) {
+                while ((line = r.readLine()) != null && n < expected) {
+                    for (String tok : line.trim().split("\\s+")) {
+                        if (tok.isEmpty() || n >= expected) continue;
+                        double v = Double.parseDouble(tok);
+                        row[(int) (n % cols)] = v == nodata ? NODATA : toDepth(v, inputIsDepth);
+                        if (++n % cols == 0) w.row(rows - (int) (n / cols), row);
+                    }
+                }
+            }
+            if (n != expected) throw new IOException("expected " + expected + " values, read " + n);
+            return h;
+        }
+    }
+
+    /**
+     * Two passes over the points, neither holding them: the first finds the extent and spacing
+     * from the distinct coordinates (one per row or column), the second writes each point to its cell.
+     */
+    static BathymetryGridFile.Header convertXyz(Path in, Path out, int dtype, boolean inputIsDepth) throws IOException {
+        Set<Double> lons = new HashSet<>(), lats = new HashSet<>();
+        long n = readXyz(in, (lon, lat, z) -> {
+            lons.add(lon);
+            lats.add(lat);
+        });
+        if (n < 4) throw new IOException("XYZ input needs at least a 2 x 2 grid");
+        double[] xs = sorted(lons), ys = sorted(lats);
+        double dLon = spacing(xs), dLat = spacing(ys);
+        double lon0 = xs[0], lat0 = ys[0];
+        int cols = Math.toIntExact(Math.round((xs[xs.length - 1] - lon0) / dLon) + 1);
+        int rows = Math.toIntExact(Math.round((ys[ys.length - 1] - lat0) / dLat) + 1);
+        BathymetryGridFile.Header h = new BathymetryGridFile.Header(dtype, rows, cols, lat0, lon0, dLat, dLon, NODATA);
+
+        try (BathymetryGridFile.Writer w = new BathymetryGridFile.Writer(out, h)) {
+            w.fill(NODATA);
+            readXyz(in, (lon, lat, z) -> w.cell((int) Math.round((lat - lat0) / dLat), (int) Math.round((lon - lon0) / dLon),
+                toDepth(z, inputIsDepth)));
+        }
+        return h;
+    }
+
+    private static float toDepth(double v, boolean inputIsDepth) {
+        return (float) (inputIsDepth ? v : -v);
+    }
+
+    @FunctionalInterface
+    private interface PointSink {
+        void point(double lon, double lat, double z);
+    }
+
+    /** Feeds every point to {@code sink} and returns how many there were. */
+    private static long readXyz(Path in, PointSink sink) throws IOException {
+        long n = 0;
+        try (BufferedReader r = Files.newBufferedReader(in)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                String t = line.trim();
+                if (t.isEmpty() || t.startsWith("#")) continue;
+                String[] p = t.split("[\\s,]+");
+                if (p.length < 3) throw new IOException("bad XYZ line: " + line);
+                sink.point(Double.parseDouble(p[0]), Double.parseDouble(p[1]), Double.parseDouble(p[2]));
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static double[] sorted(Set<Double> values) {
+        double[] s = values.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(s);
+        return s;
+    }
+
+    /** Smallest positive gap between distinct sorted coordinates. */
+    private static double spacing(double[] s) throws IOException {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < s.length; i++) {
+            double d = s[i] - s[i - 1];
+            if (d > 1e-9 && d < best) best = d;
+        }
+        if (Double.isInfinite(best)) throw new IOException("XYZ points do not span a grid");
+        return best;
+    }
+}
@@ -0,0 +1,167 @@
+package com.sismoview.adapters.bathy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary depth raster read by {@link GriddedBathymetryAdapter}.
+ *
+ * <pre>
+ * offset  size  field (little-endian)
+ *      0     8  magic "SVBATHY1"
+ *      8     4  dtype: 1 = int16, 2 = float32
+ *     12     4  rows
+ *     16     4  cols
+ *     20     8  lat0  (centre of the southernmost row, degrees)
+ *     28     8  lon0  (centre of the westernmost column, degrees)
+ *     36     8  dLat  (degrees)
+ *     44     8  dLon  (degrees)
+ *     52     4  nodata (float; compared after widening int16 values)
+ *     56     8  reserved
+ *     64        rows * cols values, row-major from south to north, metres of depth (positive = water)
+ * </pre>
+ */
+final class BathymetryGridFile {
+    static final byte[] MAGIC = "SVBATHY1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 64;
+    static final int INT16 = 1;
+    static final int FLOAT32 = 2;
+    /** Largest mapped window of {@link Writer}; windows hold whole rows. */
+    static final long WINDOW_BYTES = 1L << 30;
+
+    private BathymetryGridFile() {}
+
+    record Header(int dtype, int rows, int cols, double lat0, double lon0, double dLat, double dLon, float nodata) {
+
+        int elementBytes() {
+            return dtype == INT16 ? 2 : 4;
+        }
+
+        long dataBytes() {
+            return (long) rows * cols * elementBytes();
+        }
+
+        ByteBuffer encode() {
+            ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            b.put(MAGIC).putInt(dtype).putInt(rows).putInt(cols)
+                .putDouble(lat0).putDouble(lon0).putDouble(dLat).putDouble(dLon).putFloat(nodata);
+            return b.position(0);
+        }
+
+        static Header decode(ByteBuffer b) throws IOException {
+            b.order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[MAGIC.length];
+            b.get(0, magic);
+            if (!Arrays.equals(MAGIC, magic)) throw new IOException("not a SismoView bathymetry grid");
+            Header h = new Header(b.getInt(8), b.getInt(12), b.getInt(16),
+                b.getDouble(20), b.getDouble(28), b.getDouble(36), b.getDouble(44), b.getFloat(52));
+            if (h.dtype != INT16 && h.dtype != FLOAT32) throw new IOException("unsupported dtype " + h.dtype);
+            if (h.rows <= 0 || h.cols <= 0 || !(h.dLat > 0) || !(h.dLon > 0)) throw new IOException("invalid grid header");
+            return h;
+        }
+    }
+
+    /** Streams a grid to disk; {@code rows} fills one south-to-north row at a time. */
+    static void write(Path out, Header header, RowSource rows) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(out), 1 << 16)) {
+            os.write(header.encode().array());
+            ByteBuffer row = ByteBuffer.allocate(header.cols() * header.elementBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            float[] values = new float[header.cols()];
+            for (int r = 0; r < header.rows(); r++) {
+                rows.row(r, values);
+                row.clear();
+                for (float v : values) put(row, header.dtype(), v);
+                os.write(row.array(), 0, row.position());
+            }
+        }
+    }
+
+    private static void put(ByteBuffer b, int dtype, float v) {
+        if (dtype == INT16) {
+            b.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(v))));
+        } else {
+            b.putFloat(v);
+        }
+    }
+
+    /**
+     * Writes values at their row and column through memory-mapped windows of the output, for
+     * inputs that do not arrive south to north. The heap holds no grid-sized buffer, so grids
+     * past 2^31 cells convert too; the page cache absorbs the writes.
+     */
+    static final class Writer implements AutoCloseable {
+        private final Header header;
+        private final FileChannel channel;
+        private final MappedByteBuffer[] windows;
+        private final int rowsPerWindow;
+        private final int rowBytes;
+
+        Writer(Path out, Header header) throws IOException {
+            this(out, header, WINDOW_BYTES);
+        }
+
+        Writer(Path out, Header header, long windowBytes) throws IOException {
+            long rowBytes = (long) header.cols() * header.elementBytes();
+            if (rowBytes > windowBytes) throw new IOException("grid rows are too wide: " + header.cols() + " columns");
+            this.header = header;
+            this.rowBytes = (int) rowBytes;
+            this.rowsPerWindow = (int) Math.min(header.rows(), windowBytes / rowBytes);
+            this.channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                channel.write(header.encode(), 0);
+                windows = new MappedByteBuffer[(header.rows() + rowsPerWindow - 1) / rowsPerWindow];
+                for (int w = 0; w < windows.length; w++) {
+                    int rows = Math.min(rowsPerWindow, header.rows() - w * rowsPerWindow);
+                    long offset = HEADER_BYTES + (long) w * rowsPerWindow * rowBytes;
+                    windows[w] = channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) rows * rowBytes);
+                    windows[w].order(ByteOrder.LITTLE_ENDIAN);
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /** Sets every cell, e.g. to nodata before sparse input. */
+        void fill(float v) {
+            float[] row = new float[header.cols()];
+            Arrays.fill(row, v);
+            for (int r = 0; r < header.rows(); r++) row(r, row);
+        }
+
+        /** Row {@code r} counted from the south, as in the file. */
+        void row(int r, float[] values) {
+            ByteBuffer b = windows[r / rowsPerWindow].position((r % rowsPerWindow) * rowBytes);
+            for (int c = 0; c < header.cols(); c++) put(b, header.dtype(), values[c]);
+        }
+
+        void cell(int r, int c, float v) {
+            put(windows[r / rowsPerWindow].position((r % rowsPerWindow) * rowBytes + c * header.elementBytes()), header.dtype(), v);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                for (MappedByteBuffer w : windows) w.force();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface RowSource {
+        void row(int row, float[] out) throws IOException;
+    }
+}
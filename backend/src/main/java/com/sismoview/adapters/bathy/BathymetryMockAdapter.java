@@ -1,13 +1,35 @@
 //importaciones necesarias para el proyecto
 package com.sismoview.adapters.bathy;
 
+import com.sismoview.domain.grid.GridSpec;
 import com.sismoview.domain.ports.BathymetryPort;
+import java.util.Arrays;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
+/** Constant 4000 m ocean, used when no {@code sismoview.bathymetry.file} is configured. */
 @Component
+@ConditionalOnExpression("'${sismoview.bathymetry.file:}'.isEmpty()")
 public class BathymetryMockAdapter implements BathymetryPort {
+    private static final float DEPTH = 4000f;
+
     @Override
     public double depthMeters(double lat, double lon) {
-        return 4000.0;
+        return DEPTH;
+    }
+
+    @Override
+    public void sampleGrid(GridSpec spec, float[] out) {
+        Arrays.fill(out, 0, spec.cells(), DEPTH);
+    }
+
+    @Override
+    public void samplePoints(double[] lats, double[] lons, float[] out) {
+        Arrays.fill(out, 0, lats.length, DEPTH);
+    }
+
+    @Override
+    public void sampleGreatCircle(double lat1, double lon1, double lat2, double lon2, float[] out) {
+        Arrays.fill(out, DEPTH);
     }
 }
@@ -0,0 +1,171 @@
+package com.sismoview.adapters.bathy;
+
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.ports.BathymetryPort;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BathymetryPort} over a memory-mapped {@link BathymetryGridFile}. Nothing is copied to
+ * the heap: the OS pages depth values in as they are read. Files larger than 2 GB are mapped
+ * as several 1 GB windows (element sizes divide the window size, so no value straddles two).
+ * Reads use absolute offsets only, so concurrent readers need no locking.
+ */
+@Component
+@ConditionalOnExpression("!'${sismoview.bathymetry.file:}'.isEmpty()")
+public class GriddedBathymetryAdapter implements BathymetryPort {
+    private static final Logger log = LoggerFactory.getLogger(GriddedBathymetryAdapter.class);
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+
+    private final BathymetryGridFile.Header header;
+    private final ByteBuffer[] windows;
+    private final boolean int16;
+    private final boolean global;
+
+    public GriddedBathymetryAdapter(@Value("${sismoview.bathymetry.file}") Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(BathymetryGridFile.HEADER_BYTES);
+            ch.read(head, 0);
+            this.header = BathymetryGridFile.Header.decode(head);
+            long dataBytes = header.dataBytes();
+            if (ch.size() < BathymetryGridFile.HEADER_BYTES + dataBytes) {
+                throw new IOException("grid file is shorter than its header declares");
+            }
+            int count = (int) ((dataBytes + WINDOW_MASK) >>> WINDOW_SHIFT);
+            this.windows = new ByteBuffer[Math.max(1, count)];
+            for (int w = 0; w < windows.length; w++) {
+                long start = (long) w << WINDOW_SHIFT;
+                long len = Math.min(1L << WINDOW_SHIFT, dataBytes - start);
+                MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, BathymetryGridFile.HEADER_BYTES + start, len);
+                windows[w] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map bathymetry grid " + file, e);
+        }
+        this.int16 = header.dtype() == BathymetryGridFile.INT16;
+        this.global = header.cols() * header.dLon() >= 360.0 - 1e-9;
+        log.info("Mapped bathymetry grid {} ({} x {} cells, {} MB)", file, header.rows(), header.cols(),
+            header.dataBytes() >> 20);
+    }
+
+    /** Bilinear depth in metres (positive = water); nodata corners are left out of the weighting. */
+    @Override
+    public double depthMeters(double lat, double lon) {
+        double y = rowOf(lat);
+        int r0 = (int) y;
+        int r1 = Math.min(header.rows() - 1, r0 + 1);
+        double x = columnOf(lon);
+        int c0 = (int) x;
+        int c1 = nextColumn(c0);
+        return blend(value(r0, c0), value(r0, c1), value(r1, c0), value(r1, c1), x - c0, y - r0);
+    }
+
+    /**
+     * Column positions are resolved once for the whole grid and each source row is gathered
+     * once per run of output rows that share it, so reads walk the mapped file row by row.
+     */
+    @Override
+    public void sampleGrid(GridSpec spec, float[] out) {
+        if (out.length < spec.cells()) throw new IllegalArgumentException("output buffer smaller than the grid");
+        int cols = spec.cols();
+        int[] c0 = new int[cols], c1 = new int[cols];
+        double[] fx = new double[cols];
+        for (int c = 0; c < cols; c++) {
+            double x = columnOf(spec.lon(c));
+            c0[c] = (int) x;
+            c1[c] = nextColumn(c0[c]);
+            fx[c] = x - c0[c];
+        }
+        double[] s0 = new double[cols], s1 = new double[cols], n0 = new double[cols], n1 = new double[cols];
+        int south = -1, north = -1;
+        for (int r = 0; r < spec.rows(); r++) {
+            double y = rowOf(spec.lat(r));
+            int r0 = (int) y;
+            int r1 = Math.min(header.rows() - 1, r0 + 1);
+            if (r0 != south) {
+                if (r0 == north) {
+                    System.arraycopy(n0, 0, s0, 0, cols);
+                    System.arraycopy(n1, 0, s1, 0, cols);
+                } else {
+                    gather(r0, c0, c1, s0, s1);
+                }
+                south = r0;
+            }
+            if (r1 != north) {
+                gather(r1, c0, c1, n0, n1);
+                north = r1;
+            }
+            double fy = y - r0;
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                out[base + c] = (float) blend(s0[c], s1[c], n0[c], n1[c], fx[c], fy);
+            }
+        }
+    }
+
+    private void gather(int row, int[] c0, int[] c1, double[] left, double[] right) {
+        for (int c = 0; c < c0.length; c++) {
+            left[c] = value(row, c0[c]);
+            right[c] = value(row, c1[c]);
+        }
+    }
+
+    private double rowOf(double lat) {
+        return Math.max(0, Math.min(header.rows() - 1, (lat - header.lat0()) / header.dLat()));
+    }
+
+    private int nextColumn(int c0) {
+        int cols = header.cols();
+        return global ? (c0 + 1) % cols : Math.min(cols - 1, c0 + 1);
+    }
+
+    /** Fractional column for a longitude, wrapping on global grids and clamping on regional ones. */
+    private double columnOf(double lon) {
+        int cols = header.cols();
+        double d = ((lon - header.lon0()) % 360.0 + 360.0) % 360.0;
+        if (global) {
+            return Math.min(d / header.dLon(), Math.nextDown((double) cols));
+        }
+        double span = (cols - 1) * header.dLon();
+        if (d > span + (360.0 - span) / 2) d -= 360.0; // closer to the western edge
+        return Math.max(0, Math.min(cols - 1, d / header.dLon()));
+    }
+
+    private static double blend(double v00, double v01, double v10, double v11, double fx, double fy) {
+        double sum = 0, weight = 0;
+        double w = (1 - fx) * (1 - fy);
+        if (!Double.isNaN(v00)) { sum += w * v00; weight += w; }
+        w = fx * (1 - fy);
+        if (!Double.isNaN(v01)) { sum += w * v01; weight += w; }
+        w = (1 - fx) * fy;
+        if (!Double.isNaN(v10)) { sum += w * v10; weight += w; }
+        w = fx * fy;
+        if (!Double.isNaN(v11)) { sum += w * v11; weight += w; }
+        return weight > 0 ? sum / weight : 0.0;
+    }
+
+    /** Raw cell value, NaN for nodata. */
+    double value(int row, int col) {
+        long off = ((long) row * header.cols() + col) * header.elementBytes();
+        ByteBuffer window = windows[(int) (off >>> WINDOW_SHIFT)];
+        int pos = (int) (off & WINDOW_MASK);
+        float v = int16 ? window.getShort(pos) : window.getFloat(pos);
+        return v == header.nodata() || Float.isNaN(v) ? Double.NaN : v;
+    }
+
+    BathymetryGridFile.Header header() {
+        return header;
+    }
+}
@@ -0,0 +1,129 @@
+package com.sismoview.adapters.gazetteer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Converts a GeoNames dump ({@code cities500.txt}, {@code cities1000.txt}, ... or
+ * {@code allCountries.txt}: tab-separated, no header) into a {@link GazetteerFile}. Only populated
+ * places (feature class {@code P}) are kept, optionally above a minimum population; rows are
+ * sorted by descending population, ties in input order.
+ *
+ * <p>Usage: {@code gradle convertGazetteer --args="cities500.txt cities.svgz [--min-population=N]"}.
+ */
+public final class GazetteerConverter {
+    private static final int NAME = 1, LAT = 4, LON = 5, FEATURE_CLASS = 6, COUNTRY = 8, POPULATION = 14;
+
+    private GazetteerConverter() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: GazetteerConverter <geonames.txt> <out> [--min-population=<n>]");
+            System.exit(2);
+        }
+        long minPopulation = 0;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--min-population=")) minPopulation = Long.parseLong(args[i].substring(17));
+            else throw new IllegalArgumentException("unknown option " + args[i]);
+        }
+        Path out = Path.of(args[1]);
+        int places = convert(Path.of(args[0]), out, minPopulation);
+        System.out.printf(Locale.ROOT, "%s: %d places, %d bytes%n", out, places, Files.size(out));
+    }
+
+    /** Returns the number of places written. */
+    static int convert(Path in, Path out, long minPopulation) throws IOException {
+        Rows rows = new Rows();
+        Map<String, Integer> ids = new HashMap<>();
+        List<byte[]> names = new ArrayList<>();
+        String[] f = new String[POPULATION + 1];
+        int lineNo = 0;
+        try (BufferedReader r = Files.newBufferedReader(in, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                lineNo++;
+                if (line.isEmpty() || line.charAt(0) == '#') continue;
+                if (split(line, f) <= POPULATION) throw new IOException("line " + lineNo + ": expected at least 15 tab-separated fields");
+                if (!"P".equals(f[FEATURE_CLASS])) continue;
+                long population = f[POPULATION].isEmpty() ? 0 : Long.parseLong(f[POPULATION]);
+                if (population < minPopulation) continue;
+                double lat = Double.parseDouble(f[LAT]), lon = Double.parseDouble(f[LON]);
+                if (Math.abs(lat) > 90 || Math.abs(lon) > 180) throw new IOException("line " + lineNo + ": coordinates out of range");
+                Integer id = ids.get(f[NAME]);
+                if (id == null) {
+                    id = names.size();
+                    ids.put(f[NAME], id);
+                    names.add(f[NAME].getBytes(StandardCharsets.UTF_8));
+                }
+                rows.add((float) lat, (float) lon, (int) Math.min(Integer.MAX_VALUE, population), id,
+                    GazetteerFile.encodeCountry(f[COUNTRY]));
+            }
+        }
+
+        int n = rows.size;
+        // descending population, then input order: (MAX - population) in the high word, row in the low
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) order[i] = ((long) (Integer.MAX_VALUE - rows.population[i]) << 32) | i;
+        Arrays.parallelSort(order);
+        float[] lat = new float[n], lon = new float[n];
+        int[] population = new int[n], nameId = new int[n];
+        short[] country = new short[n];
+        for (int i = 0; i < n; i++) {
+            int row = (int) order[i];
+            lat[i] = rows.lat[row];
+            lon[i] = rows.lon[row];
+            population[i] = rows.population[row];
+            nameId[i] = rows.nameId[row];
+            country[i] = rows.country[row];
+        }
+        GazetteerFile.write(out, lat, lon, population, nameId, country, names.toArray(new byte[0][]));
+        return n;
+    }
+
+    /** Splits on tabs into {@code out}, ignoring fields past its length; returns the field count. */
+    private static int split(String line, String[] out) {
+        int count = 0, from = 0;
+        while (true) {
+            int tab = line.indexOf('\t', from);
+            int to = tab < 0 ? line.length() : tab;
+            if (count < out.length) out[count] = line.substring(from, to);
+            count++;
+            if (tab < 0 || count >= out.length) return count;
+            from = tab + 1;
+        }
+    }
+
+    /** Growable columns of the rows read so far. */
+    private static final class Rows {
+        float[] lat = new float[1024], lon = new float[1024];
+        int[] population = new int[1024], nameId = new int[1024];
+        short[] country = new short[1024];
+        int size;
+
+        void add(float la, float lo, int pop, int name, short cc) {
+            if (size == lat.length) {
+                int cap = size * 2;
+                lat = Arrays.copyOf(lat, cap);
+                lon = Arrays.copyOf(lon, cap);
+                population = Arrays.copyOf(population, cap);
+                nameId = Arrays.copyOf(nameId, cap);
+                country = Arrays.copyOf(country, cap);
+            }
+            lat[size] = la;
+            lon[size] = lo;
+            population[size] = pop;
+            nameId[size] = name;
+            country[size] = cc;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.sismoview.adapters.gazetteer;
+
+import com.sismoview.domain.ports.GazetteerPort;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link GazetteerPort} over a memory-mapped {@link GazetteerFile}. Nothing is copied to the heap:
+ * columns are read at absolute offsets (so concurrent readers need no locking) and names are
+ * decoded only when asked for.
+ */
+@Component
+@ConditionalOnExpression("!'${sismoview.gazetteer.file:}'.isEmpty()")
+public class MappedGazetteer implements GazetteerPort {
+    private static final Logger log = LoggerFactory.getLogger(MappedGazetteer.class);
+
+    private final GazetteerFile.Header header;
+    private final ByteBuffer map;
+    private final int lat, lon, population, nameId, country, nameStart, nameBytes;
+
+    public MappedGazetteer(@Value("${sismoview.gazetteer.file}") Path file) {
+        long start = System.nanoTime();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(GazetteerFile.HEADER_BYTES);
+            ch.read(head, 0);
+            this.header = GazetteerFile.Header.decode(head);
+            if (header.fileBytes() > Integer.MAX_VALUE) throw new IOException("gazetteer files are limited to 2 GB");
+            if (ch.size() < header.fileBytes()) throw new IOException("gazetteer file is shorter than its header declares");
+            this.map = ch.map(FileChannel.MapMode.READ_ONLY, 0, header.fileBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map gazetteer " + file, e);
+        }
+        this.lat = (int) header.latOffset();
+        this.lon = (int) header.lonOffset();
+        this.population = (int) header.populationOffset();
+        this.nameId = (int) header.nameIdOffset();
+        this.country = (int) header.countryOffset();
+        this.nameStart = (int) header.nameStartOffset();
+        this.nameBytes = (int) header.nameBytesOffset();
+        log.info("Mapped gazetteer {} ({} places, {} distinct names, {} MB) in {} ms", file, header.places(),
+            header.names(), header.fileBytes() >> 20, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public int places() {
+        return header.places();
+    }
+
+    @Override
+    public double lat(int place) {
+        return map.getFloat(lat + 4 * place);
+    }
+
+    @Override
+    public double lon(int place) {
+        return map.getFloat(lon + 4 * place);
+    }
+
+    @Override
+    public long population(int place) {
+        return map.getInt(population + 4 * place);
+    }
+
+    @Override
+    public String name(int place) {
+        int id = map.getInt(nameId + 4 * place);
+        int from = map.getInt(nameStart + 4 * id), to = map.getInt(nameStart + 4 * id + 4);
+        byte[] utf8 = new byte[to - from];
+        map.get(nameBytes + from, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String countryCode(int place) {
+        return GazetteerFile.decodeCountry(map.getShort(country + 2 * place));
+    }
+}
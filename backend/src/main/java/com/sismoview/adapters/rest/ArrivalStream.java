@@ -0,0 +1,266 @@
+package com.sismoview.adapters.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.service.SeismicService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * P and S arrivals for city sets of any size, streamed: cities are read from a JSON array or
+ * NDJSON with the streaming parser, {@code chunk} at a time into primitive arrays, run through
+ * {@link SeismicService#arrivalTimes}, and written as {@link Arrival}-shaped objects through the
+ * {@link JsonGenerator}, flushed after every chunk. Memory stays at one chunk whatever the count.
+ *
+ * <p>With {@code earliest = K} only the K cities the P wave reaches first are written, earliest
+ * first, kept in a K-slot max-heap while reading instead of sorting everything at the end.
+ *
+ * <p>A malformed city stops the stream with a final {@code {"error":"..."}} entry, since the
+ * status line has been sent by then.
+ */
+@Component
+class ArrivalStream {
+    private static final SerializedString NO_SEPARATOR = new SerializedString("");
+
+    private final SeismicService seismic;
+    private final JsonFactory json;
+    private final int chunk;
+    private final int maxEarliest;
+    private final DistributionSummary streamedCities;
+
+    ArrivalStream(SeismicService seismic, ObjectMapper mapper, MeterRegistry registry,
+                  @Value("${sismoview.arrivals.chunk:4096}") int chunk,
+                  @Value("${sismoview.arrivals.max-earliest:100000}") int maxEarliest) {
+        if (chunk < 1 || maxEarliest < 1) throw new IllegalArgumentException("sismoview.arrivals limits must be positive");
+        this.seismic = seismic;
+        this.json = mapper.getFactory();
+        this.chunk = chunk;
+        this.maxEarliest = maxEarliest;
+        this.streamedCities = DistributionSummary.builder("sismoview.arrivals.stream.cities")
+            .description("Cities per streamed arrivals request")
+            .register(registry);
+    }
+
+    /** Source and ordering of one stream; {@code earliest = 0} keeps input order. */
+    record Query(double lat, double lon, double depthKm, int earliest) {}
+
+    /** Validates up front, so bad parameters still get a 400 before anything is streamed. */
+    Query query(double lat, double lon, double depthKm, Integer earliest) {
+        if (!(Math.abs(lat) <= 90) || !(Math.abs(lon) <= 180)) throw new IllegalArgumentException("lat/lon out of range");
+        if (!(depthKm >= 0)) throw new IllegalArgumentException("depthKm must be >= 0");
+        if (earliest != null && (earliest < 1 || earliest > maxEarliest)) {
+            throw new IllegalArgumentException("earliest must be in [1, " + maxEarliest + "]");
+        }
+        return new Query(lat, lon, depthKm, earliest == null ? 0 : earliest);
+    }
+
+    void run(Query q, InputStream in, OutputStream out, boolean ndjson) throws IOException {
+        try (JsonParser p = json.createParser(in).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+             JsonGenerator g = json.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            g.setRootValueSeparator(NO_SEPARATOR);
+            if (!ndjson) g.writeStartArray();
+            CityReader cities = new CityReader(p);
+            Earliest top = q.earliest() > 0 ? new Earliest(q.earliest()) : null;
+            String[] names = new String[chunk];
+            double[] lat = new double[chunk], lon = new double[chunk], pMin = new double[chunk], sMin = new double[chunk];
+            long total = 0;
+            String error = null;
+            try {
+                for (int n; (n = cities.next(names, lat, lon)) > 0; ) {
+                    total += n;
+                    if (n < lat.length) {  // only the last chunk is short
+                        lat = Arrays.copyOf(lat, n);
+                        lon = Arrays.copyOf(lon, n);
+                    }
+                    seismic.arrivalTimes(q.lat(), q.lon(), q.depthKm(), lat, lon, pMin, sMin);
+                    if (top == null) {
+                        for (int i = 0; i < n; i++) write(g, names[i], pMin[i], sMin[i], ndjson);
+                        g.flush();
+                    } else {
+                        for (int i = 0; i < n; i++) top.offer(names[i], pMin[i], sMin[i]);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            if (top != null) {
+                int n = top.sort();
+                for (int i = 0; i < n; i++) write(g, top.name[i], top.p[i], top.s[i], ndjson);
+            }
+            if (error != null) {
+                g.writeStartObject();
+                g.writeStringField("error", error);
+                g.writeEndObject();
+                if (ndjson) g.writeRaw('\n');
+            }
+            if (!ndjson) g.writeEndArray();
+            streamedCities.record(total);
+        }
+    }
+
+    private static void write(JsonGenerator g, String place, double p, double s, boolean ndjson) throws IOException {
+        entry(g, place, "P", p, ndjson);
+        entry(g, place, "S", s, ndjson);
+    }
+
+    private static void entry(JsonGenerator g, String place, String type, double minutes, boolean ndjson) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("place", place);
+        g.writeStringField("type", type);
+        g.writeNumberField("minutes", minutes);
+        g.writeEndObject();
+        if (ndjson) g.writeRaw('\n');
+    }
+
+    /**
+     * Cities as {@code {"name":..,"lat":..,"lon":..}} objects (other fields ignored), either in one
+     * top-level array or as a sequence of top-level values.
+     */
+    private static final class CityReader {
+        private final JsonParser p;
+        private boolean inArray;
+        private boolean done;
+        private long count;
+        private IllegalArgumentException pending;
+
+        CityReader(JsonParser p) {
+            this.p = p;
+        }
+
+        /**
+         * Fills up to {@code names.length} cities; returns how many, 0 at the end. A bad city throws,
+         * after the good ones before it have been returned.
+         */
+        int next(String[] names, double[] lat, double[] lon) throws IOException {
+            if (pending != null) throw pending;
+            int n = 0;
+            while (n < names.length && !done) {
+                try {
+                    if (read(names, lat, lon, n)) n++;
+                } catch (IllegalArgumentException e) {
+                    pending = e;
+                } catch (JsonProcessingException e) {
+                    pending = new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+                }
+                if (pending != null) {
+                    done = true;
+                    if (n == 0) throw pending;
+                }
+            }
+            return n;
+        }
+
+        /** Reads the next city into slot {@code n}; false at the end of input. */
+        private boolean read(String[] names, double[] lat, double[] lon, int n) throws IOException {
+            while (true) {
+                JsonToken t = p.nextToken();
+                if (t == null || (inArray && t == JsonToken.END_ARRAY)) {
+                    done = true;
+                    return false;
+                }
+                if (t == JsonToken.START_ARRAY && count == 0 && !inArray) {
+                    inArray = true;
+                    continue;
+                }
+                if (t != JsonToken.START_OBJECT) throw new IllegalArgumentException("city " + (count + 1) + " is not an object");
+                String name = null;
+                double la = Double.NaN, lo = Double.NaN;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken v = p.nextToken();
+                    switch (field) {
+                        case "name" -> name = v == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                        case "lat" -> la = v.isNumeric() ? p.getDoubleValue() : Double.NaN;
+                        case "lon" -> lo = v.isNumeric() ? p.getDoubleValue() : Double.NaN;
+                        default -> p.skipChildren();
+                    }
+                }
+                count++;
+                if (!(Math.abs(la) <= 90) || !(Math.abs(lo) <= 180)) {
+                    throw new IllegalArgumentException("city " + count + " needs numeric lat/lon in range");
+                }
+                names[n] = name;
+                lat[n] = la;
+                lon[n] = lo;
+                return true;
+            }
+        }
+    }
+
+    /** At most K cities with the smallest P time, as a max-heap on P over parallel arrays. */
+    static final class Earliest {
+        final double[] p;
+        final double[] s;
+        final String[] name;
+        private int size;
+
+        Earliest(int k) {
+            p = new double[k];
+            s = new double[k];
+            name = new String[k];
+        }
+
+        void offer(String place, double pMinutes, double sMinutes) {
+            if (size < p.length) {
+                set(size, place, pMinutes, sMinutes);
+                siftUp(size++);
+            } else if (pMinutes < p[0]) {
+                set(0, place, pMinutes, sMinutes);
+                siftDown(0, size);
+            }
+        }
+
+        /** Heap-sorts in place; entries [0, size) are then in ascending P order. Returns size. */
+        int sort() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return size;
+        }
+
+        private void set(int i, String place, double pMinutes, double sMinutes) {
+            name[i] = place;
+            p[i] = pMinutes;
+            s[i] = sMinutes;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (p[parent] >= p[i]) return;
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int n) {
+            while (true) {
+                int l = 2 * i + 1;
+                if (l >= n) return;
+                int big = l + 1 < n && p[l + 1] > p[l] ? l + 1 : l;
+                if (p[i] >= p[big]) return;
+                swap(i, big);
+                i = big;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double tp = p[a]; p[a] = p[b]; p[b] = tp;
+            double ts = s[a]; s[a] = s[b]; s[b] = ts;
+            String tn = name[a]; name[a] = name[b]; name[b] = tn;
+        }
+    }
+}
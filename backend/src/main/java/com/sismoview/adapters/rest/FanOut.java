@@ -0,0 +1,76 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.exception.DeadlineExceededException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-scoped fan-out on virtual threads with shutdown-on-failure semantics: the first failure,
+ * a missed deadline or an interrupt cancels every sibling and is rethrown to the caller.
+ * Same shape as {@code StructuredTaskScope.ShutdownOnFailure}, which is still a preview API in Java 21.
+ *
+ * <p>Closing does not wait for cancelled subtasks. A subtask waiting on a shared cache load stops
+ * waiting at once; the load itself keeps running only if another caller still waits for it.
+ */
+final class FanOut implements AutoCloseable {
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fanout-", 0).factory());
+    private final CompletionService<Object> completions = new ExecutorCompletionService<>(threads);
+    private final List<Future<Object>> forked = new ArrayList<>();
+    private final long deadlineNanos;
+
+    FanOut(long timeoutMs) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Future<T> fork(Callable<? extends T> task) {
+        Future<Object> f = completions.submit((Callable<Object>) task);
+        forked.add(f);
+        return (Future<T>) f;
+    }
+
+    /** Waits for every forked task; afterwards {@link #result} never blocks. */
+    void join() throws InterruptedException {
+        for (int pending = forked.size(); pending > 0; pending--) {
+            Future<Object> done = completions.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                cancelAll();
+                throw new DeadlineExceededException("Simulation did not finish before its deadline");
+            }
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    static <T> T result(Future<T> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("result() called before a successful join()", e);
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<Object> f : forked) f.cancel(true);
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        threads.shutdownNow();
+    }
+}
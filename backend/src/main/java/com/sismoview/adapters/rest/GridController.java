@@ -0,0 +1,57 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.adapters.rest.codec.BinaryMediaTypes;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.service.grid.RasterStore;
+import com.sismoview.service.grid.TileService;
+import com.sismoview.service.grid.TileSet;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping(value = "/api/grids", produces = {MediaType.APPLICATION_JSON_VALUE,
+    BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.MSGPACK_VALUE, BinaryMediaTypes.X_MSGPACK_VALUE})
+public class GridController {
+    /** Grid ids are content-derived, so a tile under a given URL never changes. */
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final RasterStore rasters;
+    private final TileService tiles;
+
+    public GridController(RasterStore rasters, TileService tiles){
+        this.rasters = rasters;
+        this.tiles = tiles;
+    }
+
+    @GetMapping("/{gridId}")
+    public ResponseEntity<Raster> grid(@PathVariable String gridId){
+        return ResponseEntity.of(rasters.find(gridId));
+    }
+
+    /** Zoom range, bounds and value decoding for the tiles of one layer. */
+    @GetMapping("/{gridId}/tiles/{layer}")
+    public ResponseEntity<TileSet> tileSet(@PathVariable String gridId, @PathVariable String layer,
+                                           @RequestParam(defaultValue = "8") int bits){
+        return ResponseEntity.of(tiles.tileSet(gridId, layer, bits));
+    }
+
+    /** Quantized grayscale PNG tile; 404 when the grid is unknown or the tile has no data. */
+    @GetMapping(value = "/{gridId}/tiles/{layer}/{z}/{x}/{y}.png", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> tile(@PathVariable String gridId, @PathVariable String layer,
+                                       @PathVariable int z, @PathVariable int x, @PathVariable int y,
+                                       @RequestParam(defaultValue = "8") int bits, WebRequest request){
+        String etag = TileService.etag(gridId, layer, bits, z, x, y);
+        if (request.checkNotModified(etag)) return null;
+        return tiles.tile(gridId, layer, bits, z, x, y)
+            .map(png -> ResponseEntity.ok().eTag(etag).cacheControl(IMMUTABLE).contentType(MediaType.IMAGE_PNG).body(png))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,132 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.adapters.rest.codec.BinaryMediaTypes;
+import com.sismoview.adapters.rest.dto.SeismicRequest;
+import com.sismoview.domain.TsunamiMode;
+import com.sismoview.service.jobs.JobService;
+import com.sismoview.service.jobs.JobStatus;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Simulations as background jobs: submit, then poll {@code /{id}} or stream {@code /{id}/events},
+ * fetch {@code /{id}/result} once it has succeeded, or DELETE to cancel.
+ */
+@RestController
+@RequestMapping(value = "/api/jobs", produces = {MediaType.APPLICATION_JSON_VALUE,
+    BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.MSGPACK_VALUE, BinaryMediaTypes.X_MSGPACK_VALUE})
+public class JobController {
+    private static final int MAX_PRIORITY = 10;
+
+    private final JobService jobs;
+    private final SimulationFacade simulations;
+    private final long streamTimeoutMs;
+    private final long heartbeatMs;
+
+    public JobController(JobService jobs, SimulationFacade simulations,
+                         @Value("${sismoview.stream.timeout-ms:1800000}") long streamTimeoutMs,
+                         @Value("${sismoview.stream.heartbeat-ms:20000}") long heartbeatMs){
+        this.jobs = jobs;
+        this.simulations = simulations;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    /**
+     * Queues a {@code seismic} or {@code tsunami} run ({@code mode} as on /simulate/tsunami);
+     * 202 with the job, 503 when the queue is full.
+     */
+    @PostMapping("/{kind}")
+    public ResponseEntity<JobStatus> submit(@PathVariable String kind, @Valid @RequestBody SeismicRequest req,
+                                            @RequestParam(defaultValue = "0") int priority,
+                                            @RequestParam(required = false) String mode){
+        if (Math.abs(priority) > MAX_PRIORITY) {
+            throw new IllegalArgumentException("priority must be in [-" + MAX_PRIORITY + ", " + MAX_PRIORITY + "]");
+        }
+        String k = kind.toLowerCase(Locale.ROOT);
+        TsunamiMode tsunamiMode = TsunamiMode.parse(mode);
+        JobService.Work work = switch (k) {
+            case "seismic" -> progress -> simulations.seismic(req);
+            case "tsunami" -> progress -> simulations.tsunami(req, tsunamiMode, progress);
+            default -> throw new IllegalArgumentException("Unknown job kind '" + kind + "' (seismic or tsunami)");
+        };
+        JobStatus status = jobs.submit(k, priority, work);
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + status.id())).body(status);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> status(@PathVariable String id){
+        return ResponseEntity.of(jobs.status(id));
+    }
+
+    /** The response the job produced; 409 with the job's status while it is not (or never will be) done. */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> result(@PathVariable String id){
+        var result = jobs.result(id);
+        if (result.isPresent()) return ResponseEntity.ok(result.get());
+        return jobs.status(id)
+            .<ResponseEntity<?>>map(s -> ResponseEntity.status(HttpStatus.CONFLICT).body(s))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<JobStatus> cancel(@PathVariable String id){
+        return ResponseEntity.of(jobs.cancel(id));
+    }
+
+    /** One {@code status} event per change, the last one terminal; the stream then closes. */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String id){
+        var first = jobs.status(id);
+        if (first.isEmpty()) return ResponseEntity.notFound().build();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Thread watcher = Thread.ofVirtual().name("job-events-" + id).start(() -> watch(id, first.get(), emitter));
+        emitter.onCompletion(watcher::interrupt);
+        emitter.onTimeout(watcher::interrupt);
+        emitter.onError(e -> watcher.interrupt());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void watch(String id, JobStatus status, SseEmitter emitter) {
+        try {
+            send(emitter, status);
+            while (!status.state().isTerminal()) {
+                var next = jobs.awaitChange(id, status.version(), heartbeatMs);
+                if (next.isEmpty()) break;
+                if (next.get().version() == status.version()) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                    continue;
+                }
+                status = next.get();
+                send(emitter, status);
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void send(SseEmitter emitter, JobStatus status) throws IOException {
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(status.version()))
+            .name("status")
+            .data(status, MediaType.APPLICATION_JSON));
+    }
+}
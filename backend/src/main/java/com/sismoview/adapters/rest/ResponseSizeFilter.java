@@ -0,0 +1,108 @@
+package com.sismoview.adapters.rest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the body size of /api responses before compression, tagged by route template so the
+ * metric stays low-cardinality. Streaming (async) responses are not measured.
+ */
+@Component
+public class ResponseSizeFilter extends OncePerRequestFilter {
+    private final MeterRegistry registry;
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        chain.doFilter(request, counting);
+        if (request.isAsyncStarted()) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("sismoview.http.response.size")
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .tag("method", request.getMethod())
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(counting.bytes());
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private CountingStream stream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            return stream == null ? 0 : stream.count;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) stream = new CountingStream(super.getOutputStream());
+            return stream;
+        }
+    }
+
+    private static final class CountingStream extends ServletOutputStream {
+        private final ServletOutputStream out;
+        private long count;
+
+        CountingStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            out.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.domain.models.City;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cache key for a simulation: inputs snapped to grid indices (so keys compare exactly) plus a
+ * digest of the city list. SHA-256 keeps a crafted city list from colliding with someone else's.
+ */
+record ScenarioKey(long lat, long lon, long depth, long magnitude, String cities) {
+
+    /** Snapping steps; {@link #value} maps an index back to the input actually simulated. */
+    record Steps(double latLonDeg, double depthKm, double magnitude) {
+
+        ScenarioKey key(double lat, double lon, double depthKm, double mag, String citiesDigest) {
+            return new ScenarioKey(index(lat, latLonDeg), index(lon, latLonDeg), index(depthKm, this.depthKm),
+                index(mag, magnitude), citiesDigest);
+        }
+
+        double lat(ScenarioKey k) { return value(k.lat, latLonDeg); }
+
+        double lon(ScenarioKey k) { return value(k.lon, latLonDeg); }
+
+        double depthKm(ScenarioKey k) { return value(k.depth, depthKm); }
+
+        double magnitude(ScenarioKey k) { return value(k.magnitude, magnitude); }
+
+        private static long index(double v, double step) {
+            return Math.round(v / step);
+        }
+
+        /** Index times step, rounded to the step's decimals so 0.01 * 471 prints as 4.71. */
+        private static double value(long index, double step) {
+            double scale = Math.pow(10, Math.max(0, Math.ceil(-Math.log10(step)) + 1));
+            return Math.round(index * step * scale) / scale;
+        }
+    }
+
+    static String digest(List<City> cities) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            ByteBuffer coords = ByteBuffer.allocate(16);
+            for (City c : cities) {
+                String name = c.getName() == null ? "" : c.getName();
+                sha.update(name.getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0);
+                coords.clear();
+                coords.putDouble(c.getLat()).putDouble(c.getLon());
+                sha.update(coords.array());
+            }
+            return HexFormat.of().formatHex(sha.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
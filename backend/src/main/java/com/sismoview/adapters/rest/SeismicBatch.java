@@ -0,0 +1,184 @@
+package com.sismoview.adapters.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sismoview.adapters.rest.dto.BatchLine;
+import com.sismoview.adapters.rest.dto.SeismicRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs newline-delimited {@link SeismicRequest}s through the facade and streams one
+ * {@link BatchLine} per input line back.
+ *
+ * <p>Lines are read one at a time and each runs on its own virtual thread. A semaphore caps the
+ * records in flight, so however long the catalog, at most {@code concurrency} requests and
+ * results are held and reading simply pauses while they are busy. Results are written and
+ * flushed in completion order, tagged with their 1-based input line; blank lines are skipped.
+ * A bad line gets an error line and the batch goes on; a client that stops reading ends it.
+ */
+@Component
+class SeismicBatch {
+    private static final Logger log = LoggerFactory.getLogger(SeismicBatch.class);
+    private static final byte[] TOO_LONG = new byte[0];
+
+    private final SimulationFacade simulations;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Validator validator;
+    private final int concurrency;
+    private final int maxLineBytes;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    SeismicBatch(SimulationFacade simulations, ObjectMapper mapper, Validator validator, MeterRegistry registry,
+                 @Value("${sismoview.batch.concurrency:8}") int concurrency,
+                 @Value("${sismoview.batch.max-line-bytes:1048576}") int maxLineBytes) {
+        if (concurrency < 1 || maxLineBytes < 1) throw new IllegalArgumentException("sismoview.batch limits must be positive");
+        this.simulations = simulations;
+        this.reader = mapper.readerFor(SeismicRequest.class);
+        this.writer = mapper.writerFor(BatchLine.class);
+        this.validator = validator;
+        this.concurrency = concurrency;
+        this.maxLineBytes = maxLineBytes;
+        this.succeeded = registry.counter("sismoview.batch.records", "outcome", "ok");
+        this.failed = registry.counter("sismoview.batch.records", "outcome", "error");
+    }
+
+    void run(InputStream in, OutputStream out) throws IOException {
+        Semaphore slots = new Semaphore(concurrency);
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        LineReader lines = new LineReader(in, maxLineBytes);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            long number = 0;
+            for (byte[] line; (line = lines.next()) != null; ) {
+                number++;
+                if (line != TOO_LONG && isBlank(line)) continue;
+                slots.acquire();
+                if (writeFailure.get() != null) {
+                    slots.release();
+                    break;
+                }
+                long n = number;
+                byte[] record = line;
+                threads.execute(() -> {
+                    try {
+                        write(out, process(n, record), writeFailure);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("batch interrupted");
+        }
+        if (writeFailure.get() != null) throw writeFailure.get();
+    }
+
+    private BatchLine process(long line, byte[] record) {
+        if (record == TOO_LONG) return error(line, "line is longer than " + maxLineBytes + " bytes");
+        SeismicRequest req;
+        try {
+            req = reader.readValue(record);
+        } catch (JsonProcessingException e) {
+            return error(line, "invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            return error(line, "invalid JSON: " + e.getMessage());
+        }
+        Set<ConstraintViolation<SeismicRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return error(line, violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        try {
+            BatchLine ok = new BatchLine(line, simulations.seismic(req), null);
+            succeeded.increment();
+            return ok;
+        } catch (IllegalArgumentException e) {
+            return error(line, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Batch line {} failed", line, e);
+            return error(line, "internal error");
+        }
+    }
+
+    private BatchLine error(long line, String message) {
+        failed.increment();
+        return new BatchLine(line, null, message);
+    }
+
+    private void write(OutputStream out, BatchLine line, AtomicReference<IOException> failure) {
+        try {
+            byte[] bytes = writer.writeValueAsBytes(line);
+            synchronized (out) {
+                if (failure.get() != null) return;
+                out.write(bytes);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') return false;
+        }
+        return true;
+    }
+
+    /** Splits a byte stream on '\n' without ever holding more than {@code max} bytes of one line. */
+    static final class LineReader {
+        private final InputStream in;
+        private final int max;
+        private byte[] buf = new byte[8192];
+
+        LineReader(InputStream in, int max) {
+            this.in = new BufferedInputStream(in, 1 << 16);
+            this.max = max;
+        }
+
+        /** The next line without its terminator, null at the end, {@link #TOO_LONG} for a line over the limit. */
+        byte[] next() throws IOException {
+            int len = 0, b;
+            boolean overflow = false;
+            while ((b = in.read()) != -1 && b != '\n') {
+                if (overflow) continue;
+                if (len == max) {
+                    overflow = true;
+                    continue;
+                }
+                if (len == buf.length) buf = Arrays.copyOf(buf, (int) Math.min(max, 2L * buf.length));
+                buf[len++] = (byte) b;
+            }
+            if (overflow) return TOO_LONG;
+            if (b == -1 && len == 0) return null;
+            if (len > 0 && buf[len - 1] == '\r') len--;
+            return Arrays.copyOf(buf, len);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sismoview.adapters.rest;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.sismoview.service.Progress;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Loads into an {@link AsyncCache} that are shared by concurrent callers without computing under
+ * the cache's map lock.
+ *
+ * <p>A miss only inserts an incomplete future and starts the computation on {@code executor};
+ * every caller of that key, the first included, then waits on the future. Waiting is
+ * interruptible: an interrupted caller stops waiting with a {@link CancellationException}, and the
+ * computation is interrupted only once no caller is waiting for it any more, so cancelling one
+ * job or request never fails another. Progress reports go to every caller still waiting. Failed
+ * and cancelled loads leave the cache (Caffeine drops failed futures), so the next caller retries.
+ */
+final class SharedLoads<K, V> {
+    private final AsyncCache<K, V> cache;
+    private final Executor executor;
+
+    SharedLoads(AsyncCache<K, V> cache, Executor executor) {
+        this.cache = cache;
+        this.executor = executor;
+    }
+
+    AsyncCache<K, V> cache() {
+        return cache;
+    }
+
+    /**
+     * The cached value or the shared computation's; validation errors keep their type (and their
+     * 400). {@code compute} gets the key and a progress sink that reaches every waiting caller.
+     */
+    V get(K key, BiFunction<K, Progress, V> compute, Progress progress) {
+        while (true) {
+            CompletableFuture<V> future = cache.get(key, (k, e) -> {
+                Load<K, V> load = new Load<>();
+                executor.execute(() -> load.run(compute, k));
+                return load;
+            });
+            if (!(future instanceof Load<?, ?> running)) return unwrap(future);
+            @SuppressWarnings("unchecked")
+            Load<K, V> load = (Load<K, V>) running;
+            if (load.attach(progress)) return load.await(progress);
+            // abandoned by its last waiter and about to fail; start over with a fresh load
+            cache.asMap().remove(key, load);
+        }
+    }
+
+    private static <V> V unwrap(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException re) throw re;
+        if (cause instanceof Error err) throw err;
+        throw new IllegalStateException(cause);
+    }
+
+    /** One computation in flight, with the callers waiting for it. */
+    private static final class Load<K, V> extends CompletableFuture<V> implements Progress {
+        private final List<Progress> watchers = new CopyOnWriteArrayList<>();
+        private int waiters;
+        private boolean abandoned;
+        private Thread worker;
+
+        void run(BiFunction<K, Progress, V> compute, K key) {
+            synchronized (this) {
+                if (abandoned) {
+                    completeExceptionally(new CancellationException("cancelled"));
+                    return;
+                }
+                worker = Thread.currentThread();
+            }
+            try {
+                complete(compute.apply(key, this));
+            } catch (Throwable t) {
+                completeExceptionally(t);
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                }
+            }
+        }
+
+        @Override
+        public void update(double fraction) {
+            for (Progress p : watchers) p.update(fraction);
+        }
+
+        synchronized boolean attach(Progress progress) {
+            if (abandoned) return false;
+            waiters++;
+            if (progress != Progress.NONE) watchers.add(progress);
+            return true;
+        }
+
+        V await(Progress progress) {
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("cancelled");
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } finally {
+                detach(progress);
+            }
+        }
+
+        private synchronized void detach(Progress progress) {
+            watchers.remove(progress);
+            if (--waiters > 0 || isDone()) return;
+            abandoned = true;
+            if (worker != null) worker.interrupt();
+        }
+    }
+}
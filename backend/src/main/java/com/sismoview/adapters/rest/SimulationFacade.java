@@ -0,0 +1,231 @@
+package com.sismoview.adapters.rest;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sismoview.adapters.rest.dto.EventResponse;
+import com.sismoview.adapters.rest.dto.GridLayer;
+import com.sismoview.adapters.rest.dto.SeismicRequest;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.adapters.rest.dto.TsunamiResponse;
+import com.sismoview.domain.TsunamiMode;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.IntensityResult;
+import com.sismoview.domain.models.RingSegment;
+import com.sismoview.exception.SimulationRejectedException;
+import com.sismoview.service.CityGazetteer;
+import com.sismoview.service.Progress;
+import com.sismoview.service.SeismicService;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.IntensityGridService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the /simulate responses and caches them by scenario.
+ *
+ * <p>Inputs are snapped to {@code sismoview.cache.*} steps and the simulation runs on the snapped
+ * values, so a cached response is exactly the one its key would produce. Misses load through
+ * {@link SharedLoads}: concurrent misses for the same key wait on that one future, outside any map
+ * lock, and each waiter can give up on interrupt without failing the others. A seismic miss runs
+ * on a virtual thread of its own. Tsunami misses go to a fixed pool of
+ * {@code sismoview.tsunami.solver.threads} platform threads, since the solver joins ForkJoinPool
+ * work every step and a virtual thread would go back to the end of the scheduler queue each time;
+ * past {@code solver.queue} waiting solves a miss is rejected with
+ * {@link SimulationRejectedException} (503). Metrics are exported as {@code cache.*} and
+ * {@code sismoview.tsunami.solver.{queue.depth,rejected}}.
+ */
+@Component
+public class SimulationFacade {
+    static final City DEFAULT_CITY = new City("Bogotá", 4.7110, -74.0721);
+    private static final String NO_CITIES = "";
+
+    private final SeismicService seismic;
+    private final TsunamiService tsunami;
+    private final IntensityGridService grids;
+    private final CityGazetteer gazetteer;
+    private final ScenarioKey.Steps steps;
+    private final ExecutorService seismicLoads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sim-seismic-", 0).factory());
+    private final ThreadPoolExecutor tsunamiLoads;
+    private final SharedLoads<ScenarioKey, SeismicResponse> seismicResults;
+    private final SharedLoads<ScenarioKey, TsunamiResponse> tsunamiResults;
+    private final SharedLoads<ScenarioKey, TsunamiResponse> tsunamiEtaResults;
+    private final DistributionSummary requestCities;
+
+    public SimulationFacade(SeismicService seismic, TsunamiService tsunami, IntensityGridService grids, CityGazetteer gazetteer,
+                            MeterRegistry registry,
+                            @Value("${sismoview.cache.lat-lon-step:0.01}") double latLonStep,
+                            @Value("${sismoview.cache.depth-step-km:1}") double depthStepKm,
+                            @Value("${sismoview.cache.magnitude-step:0.1}") double magnitudeStep,
+                            @Value("${sismoview.cache.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${sismoview.cache.max-entries:10000}") long maxEntries,
+                            @Value("${sismoview.tsunami.solver.threads:2}") int solverThreads,
+                            @Value("${sismoview.tsunami.solver.queue:16}") int solverQueue) {
+        if (latLonStep <= 0 || depthStepKm <= 0 || magnitudeStep <= 0) {
+            throw new IllegalArgumentException("sismoview.cache steps must be positive");
+        }
+        if (solverThreads < 1 || solverQueue < 1) throw new IllegalArgumentException("sismoview.tsunami.solver threads and queue must be positive");
+        Counter rejected = registry.counter("sismoview.tsunami.solver.rejected");
+        this.tsunamiLoads = new ThreadPoolExecutor(solverThreads, solverThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(solverQueue),
+            Thread.ofPlatform().name("sim-tsunami-", 0).daemon(true).factory(),
+            (task, pool) -> {
+                rejected.increment();
+                throw new SimulationRejectedException("Tsunami solvers are busy (" + solverQueue + " waiting)");
+            });
+        this.seismic = seismic;
+        this.tsunami = tsunami;
+        this.grids = grids;
+        this.gazetteer = gazetteer;
+        this.steps = new ScenarioKey.Steps(latLonStep, depthStepKm, magnitudeStep);
+        Gauge.builder("sismoview.tsunami.solver.queue.depth", tsunamiLoads, e -> e.getQueue().size())
+            .description("Tsunami misses waiting for a solver")
+            .register(registry);
+        this.seismicResults = newCache(ttlSeconds, maxEntries, seismicLoads);
+        this.tsunamiResults = newCache(ttlSeconds, maxEntries, tsunamiLoads);
+        this.tsunamiEtaResults = newCache(ttlSeconds, maxEntries, tsunamiLoads);
+        CaffeineCacheMetrics.monitor(registry, seismicResults.cache(), "simulate.seismic");
+        CaffeineCacheMetrics.monitor(registry, tsunamiResults.cache(), "simulate.tsunami");
+        CaffeineCacheMetrics.monitor(registry, tsunamiEtaResults.cache(), "simulate.tsunami.eta");
+        this.requestCities = DistributionSummary.builder("sismoview.request.cities")
+            .description("Cities per simulation request")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static <V> SharedLoads<ScenarioKey, V> newCache(long ttlSeconds, long maxEntries, Executor loads) {
+        AsyncCache<ScenarioKey, V> cache = Caffeine.newBuilder()
+            .executor(Runnable::run)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(maxEntries)
+            .recordStats()
+            .buildAsync();
+        return new SharedLoads<>(cache, loads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        seismicLoads.shutdownNow();
+        tsunamiLoads.shutdownNow();
+    }
+
+    public SeismicResponse seismic(SeismicRequest req) {
+        List<City> cities = cities(req);
+        ScenarioKey key = steps.key(req.getLat(), req.getLon(), req.getDepthKm(), req.getMagnitude(), ScenarioKey.digest(cities));
+        return seismicResults.get(key, (k, p) -> buildSeismic(k, cities), Progress.NONE);
+    }
+
+    public TsunamiResponse tsunami(SeismicRequest req) {
+        return tsunami(req, Progress.NONE);
+    }
+
+    /**
+     * Tsunami response reporting solver progress. An interrupt stops this caller's wait with a
+     * {@link java.util.concurrent.CancellationException}; the solver itself stops, and nothing is
+     * cached, only when no other caller is waiting for the same scenario.
+     */
+    public TsunamiResponse tsunami(SeismicRequest req, Progress progress) {
+        return tsunami(req, TsunamiMode.WAVE, progress);
+    }
+
+    /** Wave and ETA-only responses are cached apart, since the same scenario yields different ones. */
+    public TsunamiResponse tsunami(SeismicRequest req, TsunamiMode mode, Progress progress) {
+        ScenarioKey key = steps.key(req.getLat(), req.getLon(), req.getDepthKm(), req.getMagnitude(), NO_CITIES);
+        return mode == TsunamiMode.ETA
+            ? tsunamiEtaResults.get(key, (k, p) -> buildTsunami(k, TsunamiMode.ETA, p), progress)
+            : tsunamiResults.get(key, (k, p) -> buildTsunami(k, TsunamiMode.WAVE, p), progress);
+    }
+
+    /** The request's cities, its gazetteer selection around the epicenter, or {@link #DEFAULT_CITY}. */
+    private List<City> cities(SeismicRequest req) {
+        List<City> cities;
+        if (req.getCitiesWithinKm() != null) {
+            if (req.getCities() != null) throw new IllegalArgumentException("Send either cities or citiesWithinKm, not both");
+            long minPopulation = req.getMinPopulation() != null ? req.getMinPopulation() : 0;
+            cities = gazetteer.cities(req.getLat(), req.getLon(), req.getCitiesWithinKm(), minPopulation, req.getMaxCities());
+        } else {
+            if (req.getMinPopulation() != null || req.getMaxCities() != null) {
+                throw new IllegalArgumentException("minPopulation and maxCities select gazetteer cities and need citiesWithinKm");
+            }
+            cities = req.getCities() != null ? req.getCities() : List.of(DEFAULT_CITY);
+        }
+        requestCities.record(cities.size());
+        return cities;
+    }
+
+    /**
+     * Rings, arrivals, city and grid intensity and tsunami for one scenario, each on its own virtual thread.
+     * The first failure or a missed deadline ({@code timeoutMs}) cancels the remaining parts.
+     */
+    public EventResponse event(SeismicRequest req, long timeoutMs) {
+        List<City> cities = cities(req);
+        ScenarioKey key = steps.key(req.getLat(), req.getLon(), req.getDepthKm(), req.getMagnitude(), NO_CITIES);
+        try (FanOut scope = new FanOut(timeoutMs)) {
+            var rings = scope.fork(() -> rings(key));
+            var arrivals = scope.fork(() -> arrivals(key, cities));
+            var cityIntensity = scope.fork(() -> cityIntensity(key, cities));
+            var intensity = scope.fork(() -> intensity(key));
+            var tsunamiPart = scope.fork(() -> tsunamiResults.get(key, (k, p) -> buildTsunami(k, TsunamiMode.WAVE, p), Progress.NONE));
+            scope.join();
+
+            EventResponse res = new EventResponse();
+            res.setRings(FanOut.result(rings));
+            res.setArrivals(FanOut.result(arrivals));
+            res.setCityIntensity(FanOut.result(cityIntensity));
+            res.setIntensity(FanOut.result(intensity));
+            res.setTsunami(FanOut.result(tsunamiPart));
+            return res;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        }
+    }
+
+    private SeismicResponse buildSeismic(ScenarioKey key, List<City> cities) {
+        return new SeismicResponse(rings(key), arrivals(key, cities), cityIntensity(key, cities), intensity(key));
+    }
+
+    private Map<String, List<RingSegment>> rings(ScenarioKey key) {
+        List<RingSegment> p = new ArrayList<>(), s = new ArrayList<>();
+        for (RingSegment r : seismic.ringsMinutes(10, steps.depthKm(key))) {
+            if ("P".equals(r.type())) p.add(r); else s.add(r);
+        }
+        return Map.of("P", p, "S", s);
+    }
+
+    private List<Arrival> arrivals(ScenarioKey key, List<City> cities) {
+        return seismic.arrivalsForCities(steps.lat(key), steps.lon(key), steps.depthKm(key), steps.magnitude(key), cities);
+    }
+
+    private List<CityIntensity> cityIntensity(ScenarioKey key, List<City> cities) {
+        return seismic.intensityForCities(steps.lat(key), steps.lon(key), steps.depthKm(key), steps.magnitude(key), cities);
+    }
+
+    private IntensityResult intensity(ScenarioKey key) {
+        var grid = grids.intensityGrid(steps.lat(key), steps.lon(key), steps.depthKm(key), steps.magnitude(key));
+        return seismic.intensityLegend(grid.getId());
+    }
+
+    private TsunamiResponse buildTsunami(ScenarioKey key, TsunamiMode mode, Progress progress) {
+        var t = tsunami.simulate(steps.lat(key), steps.lon(key), steps.magnitude(key), steps.depthKm(key), mode, progress);
+        GridLayer height = t.getHeightLegend() == null ? null : new GridLayer(t.getGridId(), t.getHeightLegend());
+        return new TsunamiResponse(new GridLayer(t.getGridId(), t.getEtaLegend()), height, t.getCoastArrivals());
+    }
+}
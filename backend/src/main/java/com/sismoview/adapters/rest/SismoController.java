@@ -1,69 +1,148 @@
 package com.sismoview.adapters.rest;
 
+import com.sismoview.adapters.rest.codec.BinaryMediaTypes;
+import com.sismoview.adapters.rest.dto.EventResponse;
 import com.sismoview.adapters.rest.dto.SeismicRequest;
 import com.sismoview.adapters.rest.dto.SeismicResponse;
 import com.sismoview.adapters.rest.dto.TsunamiResponse;
-import com.sismoview.domain.models.Arrival;
-import com.sismoview.domain.models.IntensityResult;
-import com.sismoview.domain.models.RingSegment;
-import com.sismoview.domain.models.LegendItem;
-import com.sismoview.domain.models.City;
+import com.sismoview.domain.TsunamiMode;
+import com.sismoview.domain.models.Place;
 import com.sismoview.domain.models.Quake;
-import com.sismoview.domain.ports.QuakeFeedPort;
-import com.sismoview.service.SeismicService;
-import com.sismoview.service.TsunamiService;
+import com.sismoview.domain.models.QuakeQuery;
+import com.sismoview.service.CityGazetteer;
+import com.sismoview.service.Progress;
+import com.sismoview.service.QuakeQueryService;
+import com.sismoview.service.live.QuakeStreamService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
-@RequestMapping(value = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/api", produces = {MediaType.APPLICATION_JSON_VALUE,
+    BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.MSGPACK_VALUE, BinaryMediaTypes.X_MSGPACK_VALUE})
 public class SismoController {
 
-    private final SeismicService seismic;
-    private final TsunamiService tsunami;
-    private final QuakeFeedPort quakes;
+    private final SimulationFacade simulations;
+    private final SeismicBatch batch;
+    private final ArrivalStream arrivals;
+    private final QuakeQueryService quakes;
+    private final QuakeStreamService stream;
+    private final CityGazetteer gazetteer;
+    private final long streamTimeoutMs;
+    private final long eventDeadlineMs;
 
-    public SismoController(SeismicService seismic, TsunamiService tsunami, QuakeFeedPort quakes){
-        this.seismic = seismic; this.tsunami = tsunami; this.quakes = quakes;
+    public SismoController(SimulationFacade simulations, SeismicBatch batch, ArrivalStream arrivals, QuakeQueryService quakes,
+                           QuakeStreamService stream, CityGazetteer gazetteer,
+                           @Value("${sismoview.stream.timeout-ms:1800000}") long streamTimeoutMs,
+                           @Value("${sismoview.event.deadline-ms:30000}") long eventDeadlineMs){
+        this.simulations = simulations; this.batch = batch; this.arrivals = arrivals; this.quakes = quakes;
+        this.stream = stream; this.gazetteer = gazetteer; this.streamTimeoutMs = streamTimeoutMs; this.eventDeadlineMs = eventDeadlineMs;
     }
 
     @PostMapping("/simulate/seismic")
     public SeismicResponse simulateSeismic(@Valid @RequestBody SeismicRequest req){
-        List<RingSegment> at10 = seismic.ringsMinutes(10);
-        Map<String, List<RingSegment>> rings = new HashMap<>();
-        List<RingSegment> p = new ArrayList<>(), s = new ArrayList<>();
-        for(RingSegment r: at10){
-            if("P".equals(r.getType())) p.add(r); else s.add(r);
-        }
-        rings.put("P", p); rings.put("S", s);
+        return simulations.seismic(req);
+    }
 
-        List<City> cities = req.getCities()!=null ? req.getCities() : List.of(new City("Bogotá",4.7110,-74.0721));
-        List<Arrival> arrivals = seismic.arrivalsForCities(req.getLat(), req.getLon(), req.getMagnitude(), cities);
-        IntensityResult intensity = seismic.intensityLegend("grid-intensity-demo");
+    /**
+     * Many seismic scenarios in one request: one {@code SeismicRequest} per NDJSON line in, one
+     * {@code {"line":n,"result":...}} or {@code {"line":n,"error":"..."}} per line out as soon as
+     * it is done, in completion order. Neither side is buffered whole.
+     */
+    @PostMapping(value = "/simulate/seismic/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulateSeismicBatch(HttpServletRequest request){
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> batch.run(request.getInputStream(), out));
+    }
 
-        SeismicResponse res = new SeismicResponse();
-        res.setRings(rings);
-        res.setArrivals(arrivals);
-        res.setIntensity(intensity);
-        return res;
+    /**
+     * P and S arrivals for a city set of any size. The body is a JSON array or NDJSON of
+     * {@code {"name","lat","lon"}}; the response (JSON array, or NDJSON when asked for) is written
+     * as cities are read, chunk by chunk. {@code earliest=K} returns only the K cities reached
+     * first, in arrival order.
+     */
+    @PostMapping(value = "/simulate/arrivals",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamArrivals(@RequestParam double lat, @RequestParam double lon,
+                                                                @RequestParam(defaultValue = "0") double depthKm,
+                                                                @RequestParam(required = false) Integer earliest,
+                                                                @RequestHeader(value = "Accept", required = false) String accept,
+                                                                HttpServletRequest request){
+        ArrivalStream.Query query = arrivals.query(lat, lon, depthKm, earliest);
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+            .anyMatch(t -> t.isCompatibleWith(MediaType.APPLICATION_NDJSON) && !t.isWildcardType());
+        return ResponseEntity.ok()
+            .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(out -> arrivals.run(query, request.getInputStream(), out, ndjson));
     }
 
+    /**
+     * {@code mode=wave} (default) runs the wave solver for ETA and heights; {@code mode=eta} only
+     * arrival times, by fast marching, plus the earliest coast arrivals.
+     */
     @PostMapping("/simulate/tsunami")
-    public TsunamiResponse simulateTsunami(@Valid @RequestBody SeismicRequest req){
-        var t = tsunami.simulate(req.getLat(), req.getLon(), req.getMagnitude(), req.getDepthKm());
-        Map<String,Object> eta = new HashMap<>(), rh = new HashMap<>();
-        eta.put("gridId", t.getGridId()); eta.put("legend", t.getEtaLegend());
-        rh.put("gridId", t.getGridId()); rh.put("legend", t.getHeightLegend());
-        TsunamiResponse res = new TsunamiResponse(); res.setEta(eta); res.setRelativeHeight(rh); return res;
+    public TsunamiResponse simulateTsunami(@Valid @RequestBody SeismicRequest req,
+                                           @RequestParam(required = false) String mode){
+        return simulations.tsunami(req, TsunamiMode.parse(mode), Progress.NONE);
+    }
+
+    /**
+     * Seismic and tsunami results in one call, computed concurrently. {@code deadlineMs} can only
+     * shorten the configured deadline; past it the request fails with 504.
+     */
+    @PostMapping("/simulate/event")
+    public EventResponse simulateEvent(@Valid @RequestBody SeismicRequest req,
+                                       @RequestParam(required = false) Long deadlineMs){
+        long timeout = deadlineMs == null ? eventDeadlineMs : Math.min(deadlineMs, eventDeadlineMs);
+        if (timeout <= 0) throw new IllegalArgumentException("deadlineMs must be positive");
+        return simulations.event(req, timeout);
+    }
+
+    /** Gazetteer places within {@code radiusKm} of a point, largest first; 400 without a gazetteer. */
+    @GetMapping("/cities")
+    public List<Place> cities(@RequestParam double lat, @RequestParam double lon, @RequestParam double radiusKm,
+                              @RequestParam(defaultValue = "0") long minPopulation,
+                              @RequestParam(required = false) Integer limit){
+        return gazetteer.select(lat, lon, radiusKm, minPopulation, limit);
     }
 
     @GetMapping("/live/earthquakes")
-    public List<Quake> live(@RequestParam(defaultValue = "day") String window){
-        return quakes.getLiveQuakes(window);
+    public List<Quake> live(@RequestParam(defaultValue = "day") String window,
+                            @RequestParam(required = false) Double minLat,
+                            @RequestParam(required = false) Double maxLat,
+                            @RequestParam(required = false) Double minLon,
+                            @RequestParam(required = false) Double maxLon,
+                            @RequestParam(required = false) Double lat,
+                            @RequestParam(required = false) Double lon,
+                            @RequestParam(required = false) Double radiusKm,
+                            @RequestParam(required = false) Double minMagnitude,
+                            @RequestParam(required = false) Integer nearest){
+        QuakeQuery query = new QuakeQuery(minLat, maxLat, minLon, maxLon, lat, lon, radiusKm, minMagnitude, nearest);
+        return quakes.query(window, query);
+    }
+
+    /**
+     * Live deltas for a feed window. The first event is a {@code reset} with the whole window,
+     * then one {@code delta} per changed snapshot; reconnecting with {@code Last-Event-ID}
+     * resumes after that event, or starts over with a reset if the server restarted since.
+     */
+    @GetMapping(value = "/live/earthquakes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveStream(@RequestParam(defaultValue = "day") String window,
+                                 @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        var subscription = stream.subscribe(window, lastEventId, new SseDeltaSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
     }
 }
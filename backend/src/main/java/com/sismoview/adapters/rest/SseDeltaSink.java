@@ -0,0 +1,34 @@
+package com.sismoview.adapters.rest;
+
+import com.sismoview.domain.models.QuakeDelta;
+import com.sismoview.service.live.DeltaSink;
+import java.io.IOException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Writes deltas as {@code delta} / {@code reset} events with the stream's {@code epoch:seq} id. */
+final class SseDeltaSink implements DeltaSink {
+    private final SseEmitter emitter;
+
+    SseDeltaSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String id, QuakeDelta delta) throws IOException {
+        emitter.send(SseEmitter.event()
+            .id(id)
+            .name(delta.reset() ? "reset" : "delta")
+            .data(delta, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("ping"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,16 @@
+package com.sismoview.adapters.rest.codec;
+
+import org.springframework.http.MediaType;
+
+/** Media types of the binary encodings offered next to JSON. */
+public final class BinaryMediaTypes {
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final String MSGPACK_VALUE = "application/msgpack";
+    /** Pre-registration name still sent by many MessagePack clients. */
+    public static final String X_MSGPACK_VALUE = "application/x-msgpack";
+    public static final MediaType CBOR = MediaType.valueOf(CBOR_VALUE);
+    public static final MediaType MSGPACK = MediaType.valueOf(MSGPACK_VALUE);
+    public static final MediaType X_MSGPACK = MediaType.valueOf(X_MSGPACK_VALUE);
+
+    private BinaryMediaTypes() {}
+}
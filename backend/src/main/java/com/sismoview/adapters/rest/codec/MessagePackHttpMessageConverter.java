@@ -0,0 +1,12 @@
+package com.sismoview.adapters.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/** Jackson-backed MessagePack converter, the counterpart of Spring's CBOR converter. */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public MessagePackHttpMessageConverter(ObjectMapper messagePackMapper) {
+        super(messagePackMapper, BinaryMediaTypes.MSGPACK, BinaryMediaTypes.X_MSGPACK);
+    }
+}
@@ -0,0 +1,186 @@
+package com.sismoview.adapters.rest.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.CoastArrival;
+import com.sismoview.domain.models.Quake;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Binary-only response shapes: {@code float[]} (raster layers) becomes a packed float32 array, and
+ * arrival, city-intensity, coast-arrival and quake lists become one object of columns, strings as
+ * arrays and numbers packed.
+ * Registered only on the CBOR / MessagePack mappers, so JSON keeps its object-list shape.
+ *
+ * <pre>
+ * arrivals: { place: [..], type: [..], minutes: f32[] }
+ * cityIntensity: { place: [..], hypocentralKm: f32[], pgaG: f32[], pgvCmS: f32[], mmi: f32[] }
+ * coastArrivals: { lat: f32[], lon: f32[], minutes: f32[] }
+ * quakes:   { id: [..], timeUtc: [..], lat: f32[], lon: f32[], depthKm: f32[], magnitude: f32[], place: [..] }
+ * </pre>
+ * Coordinates in float32 keep about a metre of precision, well below the feed's own.
+ */
+public class PackedArraysModule extends SimpleModule {
+
+    public PackedArraysModule() {
+        super("sismoview-packed-arrays");
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addSerializers(new PackedSerializers());
+    }
+
+    private static final class PackedSerializers extends Serializers.Base {
+        @Override
+        public JsonSerializer<?> findArraySerializer(SerializationConfig config, ArrayType type, BeanDescription beanDesc,
+                                                     TypeSerializer elementTypeSerializer, JsonSerializer<Object> elementValueSerializer) {
+            return type.getContentType().hasRawClass(float.class) ? new FloatsSerializer() : null;
+        }
+
+        @Override
+        public JsonSerializer<?> findCollectionSerializer(SerializationConfig config, CollectionType type, BeanDescription beanDesc,
+                                                          TypeSerializer elementTypeSerializer, JsonSerializer<Object> elementValueSerializer) {
+            if (!List.class.isAssignableFrom(type.getRawClass())) return null;
+            if (type.getContentType().hasRawClass(Arrival.class)) return new ArrivalColumnsSerializer();
+            if (type.getContentType().hasRawClass(CityIntensity.class)) return new CityIntensityColumnsSerializer();
+            if (type.getContentType().hasRawClass(CoastArrival.class)) return new CoastArrivalColumnsSerializer();
+            if (type.getContentType().hasRawClass(Quake.class)) return new QuakeColumnsSerializer();
+            return null;
+        }
+    }
+
+    private static final class FloatsSerializer extends StdSerializer<float[]> {
+        FloatsSerializer() {
+            super(float[].class);
+        }
+
+        @Override
+        public void serialize(float[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            PackedFloats.write(gen, value, value.length);
+        }
+    }
+
+    private static final class ArrivalColumnsSerializer extends StdSerializer<List<Arrival>> {
+        ArrivalColumnsSerializer() {
+            super(List.class, false);
+        }
+
+        @Override
+        public void serialize(List<Arrival> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int n = list.size();
+            float[] minutes = new float[n];
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("place");
+            for (Arrival a : list) gen.writeString(a.place());
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("type");
+            for (Arrival a : list) gen.writeString(a.type());
+            gen.writeEndArray();
+            for (int i = 0; i < n; i++) minutes[i] = (float) list.get(i).minutes();
+            gen.writeFieldName("minutes");
+            PackedFloats.write(gen, minutes, n);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class CityIntensityColumnsSerializer extends StdSerializer<List<CityIntensity>> {
+        CityIntensityColumnsSerializer() {
+            super(List.class, false);
+        }
+
+        @Override
+        public void serialize(List<CityIntensity> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int n = list.size();
+            float[] column = new float[n];
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("place");
+            for (CityIntensity c : list) gen.writeString(c.place());
+            gen.writeEndArray();
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).hypocentralKm();
+            gen.writeFieldName("hypocentralKm");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).pgaG();
+            gen.writeFieldName("pgaG");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).pgvCmS();
+            gen.writeFieldName("pgvCmS");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).mmi();
+            gen.writeFieldName("mmi");
+            PackedFloats.write(gen, column, n);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class CoastArrivalColumnsSerializer extends StdSerializer<List<CoastArrival>> {
+        CoastArrivalColumnsSerializer() {
+            super(List.class, false);
+        }
+
+        @Override
+        public void serialize(List<CoastArrival> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int n = list.size();
+            float[] column = new float[n];
+            gen.writeStartObject();
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).lat();
+            gen.writeFieldName("lat");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).lon();
+            gen.writeFieldName("lon");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).minutes();
+            gen.writeFieldName("minutes");
+            PackedFloats.write(gen, column, n);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class QuakeColumnsSerializer extends StdSerializer<List<Quake>> {
+        QuakeColumnsSerializer() {
+            super(List.class, false);
+        }
+
+        @Override
+        public void serialize(List<Quake> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int n = list.size();
+            float[] column = new float[n];
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("id");
+            for (Quake q : list) gen.writeString(q.getId());
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("timeUtc");
+            for (Quake q : list) gen.writeString(q.getTimeUtc());
+            gen.writeEndArray();
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).getLat();
+            gen.writeFieldName("lat");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).getLon();
+            gen.writeFieldName("lon");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).getDepthKm();
+            gen.writeFieldName("depthKm");
+            PackedFloats.write(gen, column, n);
+            for (int i = 0; i < n; i++) column[i] = (float) list.get(i).getMagnitude();
+            gen.writeFieldName("magnitude");
+            PackedFloats.write(gen, column, n);
+            gen.writeArrayFieldStart("place");
+            for (Quake q : list) gen.writeString(q.getPlace());
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sismoview.adapters.rest.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writes float32 arrays as one little-endian byte string instead of a list of numbers.
+ * In CBOR the bytes carry the RFC 8746 typed-array tag 85, so decoders that know it (cbor-x,
+ * for one) hand back a {@code Float32Array} directly; MessagePack gets a plain bin.
+ */
+final class PackedFloats {
+    /** RFC 8746: float32, little endian. */
+    static final int CBOR_TAG_FLOAT32_LE = 85;
+
+    private PackedFloats() {}
+
+    static void write(JsonGenerator gen, float[] values, int count) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(count * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(values, 0, count);
+        if (gen instanceof CBORGenerator cbor) cbor.writeTag(CBOR_TAG_FLOAT32_LE);
+        gen.writeBinary(buf.array());
+    }
+
+    static float[] read(byte[] packed) {
+        float[] out = new float[packed.length / Float.BYTES];
+        ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(out);
+        return out;
+    }
+}
@@ -0,0 +1,245 @@
+package com.sismoview.adapters.rest.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.sismoview.adapters.rest.dto.GridLayer;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.adapters.rest.dto.TsunamiResponse;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.CoastArrival;
+import com.sismoview.domain.models.IntensityResult;
+import com.sismoview.domain.models.LegendItem;
+import com.sismoview.domain.models.RingSegment;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hand-written serializers for the simulation responses and their element records. They write the
+ * same shape as Jackson's record serialization, without per-property reflection or boxing each
+ * double, and field names go out pre-encoded. Null fields are written only when the mapper's
+ * default inclusion is {@code ALWAYS}; the application uses {@code non_null}.
+ *
+ * <p>Legends are a handful of constant lists in the services. Each distinct list is serialized
+ * once to UTF-8 and copied raw into JSON output; binary formats and pretty-printed JSON write the
+ * items. List-valued fields are looked up by their declared type, so {@link PackedArraysModule}
+ * still turns them into columns on the binary mappers.
+ */
+public class ResponseModule extends SimpleModule {
+    private static final TypeFactory TYPES = TypeFactory.defaultInstance();
+    private static final JavaType RINGS = TYPES.constructMapType(Map.class, TYPES.constructType(String.class),
+        TYPES.constructCollectionType(List.class, RingSegment.class));
+    private static final JavaType ARRIVALS = TYPES.constructCollectionType(List.class, Arrival.class);
+    private static final JavaType CITY_INTENSITY = TYPES.constructCollectionType(List.class, CityIntensity.class);
+    private static final JavaType COAST_ARRIVALS = TYPES.constructCollectionType(List.class, CoastArrival.class);
+    private static final JavaType INTENSITY = TYPES.constructType(IntensityResult.class);
+    private static final JavaType LAYER = TYPES.constructType(GridLayer.class);
+    private static final JavaType LEGEND = TYPES.constructCollectionType(List.class, LegendItem.class);
+
+    private static final SerializableString PLACE = name("place"), TYPE = name("type"), MINUTES = name("minutes"),
+        RADIUS_KM = name("radiusKm"), LABEL = name("label"), COLOR_HEX = name("colorHex"), GRID_ID = name("gridId"),
+        LEGEND_FIELD = name("legend"), HYPOCENTRAL_KM = name("hypocentralKm"), PGA_G = name("pgaG"),
+        PGV_CM_S = name("pgvCmS"), MMI = name("mmi"), LAT = name("lat"), LON = name("lon"), RINGS_FIELD = name("rings"),
+        ARRIVALS_FIELD = name("arrivals"), CITY_INTENSITY_FIELD = name("cityIntensity"),
+        INTENSITY_FIELD = name("intensity"), ETA = name("eta"), RELATIVE_HEIGHT = name("relativeHeight"),
+        COAST_ARRIVALS_FIELD = name("coastArrivals");
+
+    public ResponseModule() {
+        super("sismoview-responses");
+        addSerializer(Arrival.class, new RecordSerializer<>(Arrival.class, (a, gen, p) -> {
+            string(gen, p, PLACE, a.place());
+            string(gen, p, TYPE, a.type());
+            number(gen, MINUTES, a.minutes());
+        }));
+        addSerializer(RingSegment.class, new RecordSerializer<>(RingSegment.class, (r, gen, p) -> {
+            string(gen, p, TYPE, r.type());
+            number(gen, MINUTES, r.minutes());
+            number(gen, RADIUS_KM, r.radiusKm());
+        }));
+        addSerializer(LegendItem.class, new RecordSerializer<>(LegendItem.class, ResponseModule::legendItem));
+        addSerializer(CityIntensity.class, new RecordSerializer<>(CityIntensity.class, (c, gen, p) -> {
+            string(gen, p, PLACE, c.place());
+            number(gen, HYPOCENTRAL_KM, c.hypocentralKm());
+            number(gen, PGA_G, c.pgaG());
+            number(gen, PGV_CM_S, c.pgvCmS());
+            number(gen, MMI, c.mmi());
+        }));
+        addSerializer(CoastArrival.class, new RecordSerializer<>(CoastArrival.class, (c, gen, p) -> {
+            number(gen, LAT, c.lat());
+            number(gen, LON, c.lon());
+            number(gen, MINUTES, c.minutes());
+        }));
+        addSerializer(IntensityResult.class, new RecordSerializer<>(IntensityResult.class, (r, gen, p) -> {
+            string(gen, p, GRID_ID, r.getGridId());
+            field(gen, p, LEGEND_FIELD, r.getLegend(), LEGEND);
+        }));
+        addSerializer(GridLayer.class, new RecordSerializer<>(GridLayer.class, (l, gen, p) -> {
+            string(gen, p, GRID_ID, l.gridId());
+            field(gen, p, LEGEND_FIELD, l.legend(), LEGEND);
+        }));
+        addSerializer(SeismicResponse.class, new RecordSerializer<>(SeismicResponse.class, (r, gen, p) -> {
+            field(gen, p, RINGS_FIELD, r.rings(), RINGS);
+            field(gen, p, ARRIVALS_FIELD, r.arrivals(), ARRIVALS);
+            field(gen, p, CITY_INTENSITY_FIELD, r.cityIntensity(), CITY_INTENSITY);
+            field(gen, p, INTENSITY_FIELD, r.intensity(), INTENSITY);
+        }));
+        addSerializer(TsunamiResponse.class, new RecordSerializer<>(TsunamiResponse.class, (r, gen, p) -> {
+            field(gen, p, ETA, r.eta(), LAYER);
+            field(gen, p, RELATIVE_HEIGHT, r.relativeHeight(), LAYER);
+            field(gen, p, COAST_ARRIVALS_FIELD, r.coastArrivals(), COAST_ARRIVALS);
+        }));
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addSerializers(new LegendSerializers(new LegendSerializer()));
+    }
+
+    private static SerializableString name(String name) {
+        SerializedString s = new SerializedString(name);
+        s.asQuotedUTF8();
+        return s;
+    }
+
+    private static boolean writesNulls(SerializerProvider provider) {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion().getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private static void string(JsonGenerator gen, SerializerProvider provider, SerializableString name, String value) throws IOException {
+        if (value == null && !writesNulls(provider)) return;
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void number(JsonGenerator gen, SerializableString name, double value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private static void field(JsonGenerator gen, SerializerProvider provider, SerializableString name, Object value, JavaType type)
+            throws IOException {
+        if (value == null) {
+            if (!writesNulls(provider)) return;
+            gen.writeFieldName(name);
+            gen.writeNull();
+            return;
+        }
+        gen.writeFieldName(name);
+        provider.findTypedValueSerializer(type, true, null).serialize(value, gen, provider);
+    }
+
+    private static void legendItem(LegendItem item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        string(gen, provider, LABEL, item.label());
+        string(gen, provider, COLOR_HEX, item.colorHex());
+    }
+
+    @FunctionalInterface
+    private interface Fields<T> {
+        void write(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+
+    private static final class RecordSerializer<T> extends StdSerializer<T> {
+        private final Fields<T> fields;
+
+        RecordSerializer(Class<T> type, Fields<T> fields) {
+            super(type);
+            this.fields = fields;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            fields.write(value, gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class LegendSerializers extends Serializers.Base {
+        private final LegendSerializer legend;
+
+        LegendSerializers(LegendSerializer legend) {
+            this.legend = legend;
+        }
+
+        @Override
+        public JsonSerializer<?> findCollectionSerializer(SerializationConfig config, CollectionType type, BeanDescription beanDesc,
+                                                          TypeSerializer elementTypeSerializer, JsonSerializer<Object> elementValueSerializer) {
+            return List.class.isAssignableFrom(type.getRawClass()) && type.getContentType().hasRawClass(LegendItem.class) ? legend : null;
+        }
+    }
+
+    /** Legend lists, raw from a per-list UTF-8 fragment on compact JSON output. */
+    private static final class LegendSerializer extends StdSerializer<List<LegendItem>> {
+        /** Legends are constants; anything past this many distinct lists is written item by item. */
+        private static final int MAX_FRAGMENTS = 64;
+        private static final JsonFactory JSON = new JsonFactory();
+
+        private final Map<List<LegendItem>, SerializableString> fragments = new ConcurrentHashMap<>();
+
+        LegendSerializer() {
+            super(List.class, false);
+        }
+
+        @Override
+        public void serialize(List<LegendItem> legend, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null) {
+                SerializableString raw = fragments.get(legend);
+                if (raw == null && fragments.size() < MAX_FRAGMENTS) {
+                    raw = fragment(legend, provider);
+                    fragments.putIfAbsent(List.copyOf(legend), raw);
+                }
+                if (raw != null) {
+                    gen.writeRawValue(raw);
+                    return;
+                }
+            }
+            write(legend, gen, provider);
+        }
+
+        private static SerializableString fragment(List<LegendItem> legend, SerializerProvider provider) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator gen = JSON.createGenerator(out)) {
+                write(legend, gen, provider);
+            }
+            SerializedString s = new SerializedString(out.toString(StandardCharsets.UTF_8));
+            s.asUnquotedUTF8();
+            return s;
+        }
+
+        private static void write(List<LegendItem> legend, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(legend, legend.size());
+            for (int i = 0, n = legend.size(); i < n; i++) {
+                LegendItem item = legend.get(i);
+                if (item == null) {
+                    gen.writeNull();
+                    continue;
+                }
+                gen.writeStartObject();
+                legendItem(item, gen, provider);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.sismoview.adapters.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** One output line of a batch: its 1-based input line number and either its result or why it failed. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchLine(long line, SeismicResponse result, String error) {}
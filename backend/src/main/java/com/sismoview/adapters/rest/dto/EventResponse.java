@@ -0,0 +1,28 @@
+package com.sismoview.adapters.rest.dto;
+
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.IntensityResult;
+import com.sismoview.domain.models.RingSegment;
+import java.util.List;
+import java.util.Map;
+
+public class EventResponse {
+    private Map<String, List<RingSegment>> rings;
+    private List<Arrival> arrivals;
+    private List<CityIntensity> cityIntensity;
+    private IntensityResult intensity;
+    private TsunamiResponse tsunami;
+
+    public Map<String, List<RingSegment>> getRings(){ return rings; }
+    public List<Arrival> getArrivals(){ return arrivals; }
+    public List<CityIntensity> getCityIntensity(){ return cityIntensity; }
+    public IntensityResult getIntensity(){ return intensity; }
+    public TsunamiResponse getTsunami(){ return tsunami; }
+
+    public void setRings(Map<String, List<RingSegment>> r){ this.rings=r; }
+    public void setArrivals(List<Arrival> a){ this.arrivals=a; }
+    public void setCityIntensity(List<CityIntensity> c){ this.cityIntensity=c; }
+    public void setIntensity(IntensityResult i){ this.intensity=i; }
+    public void setTsunami(TsunamiResponse t){ this.tsunami=t; }
+}
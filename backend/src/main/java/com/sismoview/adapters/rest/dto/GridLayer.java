@@ -0,0 +1,7 @@
+package com.sismoview.adapters.rest.dto;
+
+import com.sismoview.domain.models.LegendItem;
+import java.util.List;
+
+/** A raster layer served from {@code /api/grids/{gridId}} and the legend to colour it with. */
+public record GridLayer(String gridId, List<LegendItem> legend) {}
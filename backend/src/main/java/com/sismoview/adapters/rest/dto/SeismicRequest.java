@@ -12,16 +12,26 @@ public class SeismicRequest {
     @NotNull @Min(0) private Double depthKm;
     @NotNull @Min(0) @Max(10) private Double magnitude;
     private List<City> cities;
+    /** Instead of {@code cities}: gazetteer places this close to the epicenter, largest first. */
+    @Min(0) private Double citiesWithinKm;
+    @Min(0) private Long minPopulation;
+    @Min(1) private Integer maxCities;
 
     public Double getLat(){ return lat; }
     public Double getLon(){ return lon; }
     public Double getDepthKm(){ return depthKm; }
     public Double getMagnitude(){ return magnitude; }
     public List<City> getCities(){ return cities; }
+    public Double getCitiesWithinKm(){ return citiesWithinKm; }
+    public Long getMinPopulation(){ return minPopulation; }
+    public Integer getMaxCities(){ return maxCities; }
 
     public void setLat(Double v){ this.lat=v; }
     public void setLon(Double v){ this.lon=v; }
     public void setDepthKm(Double v){ this.depthKm=v; }
     public void setMagnitude(Double v){ this.magnitude=v; }
     public void setCities(List<City> c){ this.cities=c; }
+    public void setCitiesWithinKm(Double v){ this.citiesWithinKm=v; }
+    public void setMinPopulation(Long v){ this.minPopulation=v; }
+    public void setMaxCities(Integer v){ this.maxCities=v; }
 }
@@ -1,16 +1,7 @@
 package com.sismoview.adapters.rest.dto;
 
-import com.sismoview.domain.models.LegendItem;
+import com.sismoview.domain.models.CoastArrival;
 import java.util.List;
-import java.util.Map;
 
-public class TsunamiResponse {
-    private Map<String,Object> eta;
-    private Map<String,Object> relativeHeight;
-
-    public Map<String,Object> getEta(){ return eta; }
-    public Map<String,Object> getRelativeHeight(){ return relativeHeight; }
-
-    public void setEta(Map<String,Object> m){ this.eta=m; }
-    public void setRelativeHeight(Map<String,Object> m){ this.relativeHeight=m; }
-}
+/** Tsunami simulation result; {@code relativeHeight} is null in ETA-only mode. */
+public record TsunamiResponse(GridLayer eta, GridLayer relativeHeight, List<CoastArrival> coastArrivals) {}
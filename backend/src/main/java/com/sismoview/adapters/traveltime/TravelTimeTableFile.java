@@ -0,0 +1,96 @@
+package com.sismoview.adapters.traveltime;
+
+import com.sismoview.domain.traveltime.TravelTimeTable;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.domain.traveltime.VelocityModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * P and S travel-time tables on disk, read whole at startup (about 1 MB).
+ *
+ * <pre>
+ * offset  size  field (little-endian)
+ *      0     8  magic "SVTTIME1"
+ *      8     4  distances (columns)
+ *     12     4  depths (rows)
+ *     16     8  distance step (degrees)
+ *     24     8  depth step (km)
+ *     32    32  reserved
+ *     64        depths * distances float32 minutes for P, depth-major, then the same for S
+ * </pre>
+ *
+ * Usage: {@code gradle buildTravelTimes --args="out.svtt"} writes the ak135 tables.
+ */
+public final class TravelTimeTableFile {
+    static final byte[] MAGIC = "SVTTIME1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 64;
+
+    private TravelTimeTableFile() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: TravelTimeTableFile <out>");
+            System.exit(2);
+        }
+        Path out = Path.of(args[0]);
+        TravelTimes tables = TravelTimes.build(VelocityModel.ak135());
+        write(out, tables);
+        System.out.printf(Locale.ROOT, "%s: %d distances x %d depths, %d bytes%n", out,
+            tables.p().distances(), tables.p().depths(), Files.size(out));
+    }
+
+    /** Writes to a sibling temp file first, so a reader never sees half a table. */
+    public static void write(Path out, TravelTimes tables) throws IOException {
+        TravelTimeTable p = tables.p();
+        int cells = p.distances() * p.depths();
+        ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES + 8 * cells).order(ByteOrder.LITTLE_ENDIAN);
+        b.put(MAGIC).putInt(p.distances()).putInt(p.depths()).putDouble(p.distanceStepDeg()).putDouble(p.depthStepKm());
+        b.position(HEADER_BYTES);
+        b.asFloatBuffer().put(p.values()).put(tables.s().values());
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, out.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, b.array());
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public static TravelTimes read(Path in) throws IOException {
+        try (FileChannel ch = FileChannel.open(in, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ch.read(head, 0);
+            byte[] magic = new byte[MAGIC.length];
+            head.get(0, magic);
+            if (!Arrays.equals(MAGIC, magic)) throw new IOException("not a SismoView travel-time table");
+            int distances = head.getInt(8), depths = head.getInt(12);
+            double distanceStep = head.getDouble(16), depthStep = head.getDouble(24);
+            if (distances < 2 || depths < 1 || (long) distances * depths > 1 << 24) throw new IOException("invalid table header");
+            int cells = distances * depths;
+            ByteBuffer data = ByteBuffer.allocate(8 * cells).order(ByteOrder.LITTLE_ENDIAN);
+            while (data.hasRemaining()) {
+                if (ch.read(data, HEADER_BYTES + data.position()) < 0) throw new IOException("table file is truncated");
+            }
+            float[] p = new float[cells], s = new float[cells];
+            data.flip().asFloatBuffer().get(p).get(s);
+            try {
+                return new TravelTimes(new TravelTimeTable(p, distances, depths, distanceStep, depthStep),
+                    new TravelTimeTable(s, distances, depths, distanceStep, depthStep));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("invalid table header: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.sismoview.adapters.tsunami;
+
+import com.sismoview.adapters.bathy.BathymetryMockAdapter;
+import com.sismoview.adapters.bathy.GriddedBathymetryAdapter;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.domain.ports.BathymetryPort;
+import com.sismoview.domain.spatial.IntList;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.RasterStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Offline batch mode: runs the tsunami solver once per unit source of a catalog and stores ETA
+ * and height per metre of uplift at the forecast points in a {@link UnitSourceFile}.
+ *
+ * <p>The catalog is a text file of {@code lat,lon} lines ({@code #} starts a comment). The forecast
+ * grid covers the catalog plus half the solver span on every side, and its forecast points are
+ * the cells with water under them. Each unit is run exactly as {@link TsunamiService} would run a
+ * M{@value #UNIT_MAGNITUDE} quake at {@value #UNIT_DEPTH_KM} km, on the service's default grid.
+ *
+ * <p>Usage: {@code gradle buildTsunamiScenarios --args="catalog.csv out.svts [--bathymetry=grid.svb] [--forecast-cell=0.25]"}.
+ */
+public final class UnitSourceCatalogBuilder {
+    static final double UNIT_MAGNITUDE = 7.5;
+    static final double UNIT_DEPTH_KM = 0.0;
+    private static final double SPAN_DEG = 30;
+    private static final double CELL_DEG = 0.1;
+    private static final int MAX_CELLS = 1_000_000;
+    private static final int MAX_STEPS = 20_000;
+    private static final double DURATION_MINUTES = 240;
+
+    private UnitSourceCatalogBuilder() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: UnitSourceCatalogBuilder <catalog.csv> <out> [--bathymetry=<grid>] [--forecast-cell=<deg>]");
+            System.exit(2);
+        }
+        BathymetryPort bathy = new BathymetryMockAdapter();
+        double forecastCell = 0.25;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--bathymetry=")) bathy = new GriddedBathymetryAdapter(Path.of(args[i].substring(13)));
+            else if (args[i].startsWith("--forecast-cell=")) forecastCell = Double.parseDouble(args[i].substring(16));
+            else throw new IllegalArgumentException("unknown option " + args[i]);
+        }
+        List<double[]> catalog = readCatalog(Path.of(args[0]));
+        TsunamiService solver = new TsunamiService(bathy, new RasterStore(64), new SimpleMeterRegistry(),
+            SPAN_DEG, CELL_DEG, MAX_CELLS, MAX_STEPS, DURATION_MINUTES);
+        Path out = Path.of(args[1]);
+        UnitSourceFile.Header h = build(catalog, solver, bathy, SPAN_DEG, forecastCell, out, (unit, total) ->
+            System.out.printf(Locale.ROOT, "unit %d/%d%n", unit + 1, total));
+        System.out.printf(Locale.ROOT, "%s: %d units x %d forecast points, %d bytes%n", out, h.units(), h.points(), Files.size(out));
+    }
+
+    static List<double[]> readCatalog(Path in) throws IOException {
+        List<double[]> units = new ArrayList<>();
+        int n = 0;
+        for (String line : Files.readAllLines(in)) {
+            n++;
+            int hash = line.indexOf('#');
+            String s = (hash >= 0 ? line.substring(0, hash) : line).trim();
+            if (s.isEmpty()) continue;
+            String[] parts = s.split("[,\\s]+");
+            if (parts.length < 2) throw new IOException("line " + n + ": expected lat,lon");
+            double lat = Double.parseDouble(parts[0]), lon = Double.parseDouble(parts[1]);
+            if (Math.abs(lat) > 90 || Math.abs(lon) > 180) throw new IOException("line " + n + ": coordinates out of range");
+            units.add(new double[] {lat, lon});
+        }
+        if (units.isEmpty()) throw new IOException("catalog " + in + " has no unit sources");
+        return units;
+    }
+
+    /** Solves every unit on {@code solver} and writes the database to {@code out}. */
+    static UnitSourceFile.Header build(List<double[]> catalog, TsunamiService solver, BathymetryPort bathy,
+                                       double spanDeg, double forecastCellDeg, Path out, Listener listener) throws IOException {
+        GridSpec grid = forecastGrid(catalog, spanDeg, forecastCellDeg);
+        float[] depth = new float[grid.cells()];
+        bathy.sampleGrid(grid, depth);
+        IntList wet = new IntList();
+        for (int c = 0; c < depth.length; c++) {
+            if (depth[c] > 0) wet.add(c);
+        }
+        int[] cells = wet.toArray();
+        if (cells.length == 0) throw new IOException("the forecast grid has no water cells");
+
+        int units = catalog.size();
+        double[] lat = new double[units], lon = new double[units];
+        for (int u = 0; u < units; u++) {
+            lat[u] = catalog.get(u)[0];
+            lon[u] = catalog.get(u)[1];
+        }
+        UnitSourceFile.Header header = new UnitSourceFile.Header(units, cells.length, grid,
+            (float) UNIT_MAGNITUDE, (float) UNIT_DEPTH_KM);
+        UnitSourceFile.write(out, header, cells, lat, lon, (u, eta, height) -> {
+            listener.unit(u, units);
+            Raster r = solver.simulateGrid(lat[u], lon[u], UNIT_MAGNITUDE, UNIT_DEPTH_KM);
+            sample(r, grid, cells, eta, height);
+        });
+        return header;
+    }
+
+    /** Nearest solver cell for each forecast point; points off the solver grid never see the wave. */
+    private static void sample(Raster r, GridSpec grid, int[] cells, float[] eta, float[] height) {
+        GridSpec s = r.getSpec();
+        float[] rEta = r.layer(TsunamiService.ETA_MINUTES), rRel = r.layer(TsunamiService.RELATIVE_HEIGHT);
+        for (int i = 0; i < cells.length; i++) {
+            int row = (int) Math.round((grid.lat(cells[i] / grid.cols()) - s.lat0()) / s.dLat());
+            int col = (int) Math.round((grid.lon(cells[i] % grid.cols()) - s.lon0()) / s.dLon());
+            if (row < 0 || row >= s.rows() || col < 0 || col >= s.cols()) {
+                eta[i] = Float.NaN;
+                height[i] = 0f;
+            } else {
+                eta[i] = rEta[s.index(row, col)];
+                height[i] = rRel[s.index(row, col)];
+            }
+        }
+    }
+
+    private static GridSpec forecastGrid(List<double[]> catalog, double spanDeg, double cellDeg) {
+        double south = 90, north = -90, west = 180, east = -180;
+        for (double[] u : catalog) {
+            south = Math.min(south, u[0]);
+            north = Math.max(north, u[0]);
+            west = Math.min(west, u[1]);
+            east = Math.max(east, u[1]);
+        }
+        double half = spanDeg / 2;
+        south = Math.max(-90 + cellDeg / 2, south - half);
+        north = Math.min(90 - cellDeg / 2, north + half);
+        west -= half;
+        east += half;
+        int rows = (int) Math.floor((north - south) / cellDeg) + 1;
+        int cols = (int) Math.floor((east - west) / cellDeg) + 1;
+        return new GridSpec(south, west, cellDeg, cellDeg, rows, cols);
+    }
+
+    @FunctionalInterface
+    interface Listener {
+        void unit(int unit, int units);
+    }
+}
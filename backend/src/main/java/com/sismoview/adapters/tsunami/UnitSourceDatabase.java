@@ -0,0 +1,121 @@
+package com.sismoview.adapters.tsunami;
+
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.ports.TsunamiScenarioPort;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link TsunamiScenarioPort} over a memory-mapped {@link UnitSourceFile}. Forecast cells and unit
+ * positions are read to the heap; the per-unit results stay in the mapping and are paged in as
+ * scenarios touch them. Large files are mapped as windows of whole units, at most 1 GB each.
+ * Reads use absolute offsets only, so concurrent readers need no locking.
+ */
+@Component
+@ConditionalOnExpression("!'${sismoview.tsunami.scenarios.file:}'.isEmpty()")
+public class UnitSourceDatabase implements TsunamiScenarioPort {
+    private static final Logger log = LoggerFactory.getLogger(UnitSourceDatabase.class);
+    private static final long MAX_WINDOW = 1L << 30;
+
+    private final UnitSourceFile.Header header;
+    private final int[] cells;
+    private final double[] lats;
+    private final double[] lons;
+    private final ByteBuffer[] windows;
+    private final int unitsPerWindow;
+
+    public UnitSourceDatabase(@Value("${sismoview.tsunami.scenarios.file}") Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(UnitSourceFile.HEADER_BYTES);
+            ch.read(head, 0);
+            this.header = UnitSourceFile.Header.decode(head);
+            long unitBytes = header.unitBytes();
+            if (ch.size() < header.dataOffset() + unitBytes * header.units()) {
+                throw new IOException("database file is shorter than its header declares");
+            }
+            if (unitBytes > MAX_WINDOW) throw new IOException("a single unit exceeds " + (MAX_WINDOW >> 20) + " MB");
+
+            ByteBuffer index = ch.map(FileChannel.MapMode.READ_ONLY, UnitSourceFile.HEADER_BYTES,
+                header.dataOffset() - UnitSourceFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.cells = new int[header.points()];
+            index.asIntBuffer().get(cells);
+            this.lats = new double[header.units()];
+            this.lons = new double[header.units()];
+            index.position(4 * header.points());
+            for (int u = 0; u < header.units(); u++) {
+                lats[u] = index.getDouble();
+                lons[u] = index.getDouble();
+            }
+
+            this.unitsPerWindow = (int) Math.min(header.units(), MAX_WINDOW / unitBytes);
+            this.windows = new ByteBuffer[(header.units() + unitsPerWindow - 1) / unitsPerWindow];
+            for (int w = 0; w < windows.length; w++) {
+                int first = w * unitsPerWindow;
+                long len = unitBytes * Math.min(unitsPerWindow, header.units() - first);
+                MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, header.dataOffset() + unitBytes * first, len);
+                windows[w] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map unit-source database " + file, e);
+        }
+        log.info("Mapped unit-source database {} ({} units x {} forecast points, {} MB)", file, header.units(),
+            header.points(), (header.unitBytes() * header.units()) >> 20);
+    }
+
+    @Override
+    public GridSpec forecastGrid() {
+        return header.grid();
+    }
+
+    @Override
+    public int[] forecastCells() {
+        return cells.clone();
+    }
+
+    @Override
+    public int units() {
+        return header.units();
+    }
+
+    @Override
+    public double unitLat(int unit) {
+        return lats[unit];
+    }
+
+    @Override
+    public double unitLon(int unit) {
+        return lons[unit];
+    }
+
+    @Override
+    public double unitMagnitude() {
+        return header.unitMagnitude();
+    }
+
+    @Override
+    public double unitDepthKm() {
+        return header.unitDepthKm();
+    }
+
+    @Override
+    public void read(int unit, float[] etaMinutes, float[] heightPerMetre) {
+        int n = header.points();
+        if (etaMinutes.length < n || heightPerMetre.length < n) throw new IllegalArgumentException("output buffers smaller than the point count");
+        ByteBuffer w = windows[unit / unitsPerWindow];
+        int base = (int) ((unit % unitsPerWindow) * header.unitBytes());
+        for (int i = 0; i < n; i++) etaMinutes[i] = UnitSourceFile.decodeEta(w.getShort(base + 2 * i));
+        base += 2 * n;
+        for (int i = 0; i < n; i++) heightPerMetre[i] = Float.float16ToFloat(w.getShort(base + 2 * i));
+    }
+}
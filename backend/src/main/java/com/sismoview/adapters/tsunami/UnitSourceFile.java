@@ -0,0 +1,137 @@
+package com.sismoview.adapters.tsunami;
+
+import com.sismoview.domain.grid.GridSpec;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Unit-source tsunami database read by {@link UnitSourceDatabase}.
+ *
+ * <pre>
+ * offset  size  field (little-endian)
+ *      0     8  magic "SVTSUNI1"
+ *      8     4  units
+ *     12     4  points (forecast points)
+ *     16     4  rows  (forecast grid)
+ *     20     4  cols
+ *     24     8  lat0  (centre of the southernmost row, degrees)
+ *     32     8  lon0  (centre of the westernmost column, degrees)
+ *     40     8  dLat  (degrees)
+ *     48     8  dLon  (degrees)
+ *     56     4  unit magnitude (float)
+ *     60     4  unit depth km (float)
+ *     64        points * int32: forecast cell indices, row-major, ascending
+ *               units * (float64 lat, float64 lon)
+ *               per unit: points * uint16 ETA in tenths of a minute (0xFFFF = no arrival),
+ *                         then points * float16 peak height per metre of uplift
+ * </pre>
+ * Four bytes per unit and point keep a thousand units over 50 000 points at 200 MB.
+ */
+final class UnitSourceFile {
+    static final byte[] MAGIC = "SVTSUNI1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 64;
+    static final int NO_ARRIVAL = 0xFFFF;
+    /** Longest ETA the uint16 encoding holds, in minutes. */
+    static final double MAX_ETA_MINUTES = (NO_ARRIVAL - 1) / 10.0;
+
+    private UnitSourceFile() {}
+
+    record Header(int units, int points, GridSpec grid, float unitMagnitude, float unitDepthKm) {
+
+        long unitsOffset() {
+            return HEADER_BYTES + 4L * points;
+        }
+
+        long dataOffset() {
+            return unitsOffset() + 16L * units;
+        }
+
+        long unitBytes() {
+            return 4L * points;
+        }
+
+        ByteBuffer encode() {
+            ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            b.put(MAGIC).putInt(units).putInt(points).putInt(grid.rows()).putInt(grid.cols())
+                .putDouble(grid.lat0()).putDouble(grid.lon0()).putDouble(grid.dLat()).putDouble(grid.dLon())
+                .putFloat(unitMagnitude).putFloat(unitDepthKm);
+            return b.position(0);
+        }
+
+        static Header decode(ByteBuffer b) throws IOException {
+            b.order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[MAGIC.length];
+            b.get(0, magic);
+            if (!Arrays.equals(MAGIC, magic)) throw new IOException("not a SismoView unit-source database");
+            int units = b.getInt(8), points = b.getInt(12), rows = b.getInt(16), cols = b.getInt(20);
+            if (units <= 0 || points <= 0 || rows <= 0 || cols <= 0 || points > (long) rows * cols) {
+                throw new IOException("invalid unit-source header");
+            }
+            double dLat = b.getDouble(40), dLon = b.getDouble(48);
+            if (!(dLat > 0) || !(dLon > 0)) throw new IOException("invalid unit-source header");
+            GridSpec grid = new GridSpec(b.getDouble(24), b.getDouble(32), dLat, dLon, rows, cols);
+            return new Header(units, points, grid, b.getFloat(56), b.getFloat(60));
+        }
+    }
+
+    static short encodeEta(float minutes) {
+        if (Float.isNaN(minutes)) return (short) NO_ARRIVAL;
+        return (short) Math.round(Math.max(0, Math.min(MAX_ETA_MINUTES, minutes)) * 10.0);
+    }
+
+    static float decodeEta(short raw) {
+        int v = raw & 0xFFFF;
+        return v == NO_ARRIVAL ? Float.NaN : v / 10f;
+    }
+
+    /**
+     * Streams a database to a sibling temp file, one unit at a time, then moves it into place so a
+     * reader never maps half a file.
+     */
+    static void write(Path out, Header header, int[] cells, double[] unitLat, double[] unitLon, UnitSource units)
+            throws IOException {
+        if (cells.length != header.points() || unitLat.length != header.units() || unitLon.length != header.units()) {
+            throw new IllegalArgumentException("point and unit arrays do not match the header");
+        }
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, out.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+                os.write(header.encode().array());
+                ByteBuffer b = ByteBuffer.allocate((int) Math.max(header.unitBytes(), 16L * header.units()))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                for (int c : cells) b.putInt(c);
+                os.write(b.array(), 0, b.position());
+                b.clear();
+                for (int u = 0; u < header.units(); u++) b.putDouble(unitLat[u]).putDouble(unitLon[u]);
+                os.write(b.array(), 0, b.position());
+
+                float[] eta = new float[header.points()], height = new float[header.points()];
+                for (int u = 0; u < header.units(); u++) {
+                    units.unit(u, eta, height);
+                    b.clear();
+                    for (float v : eta) b.putShort(encodeEta(v));
+                    for (float v : height) b.putShort(Float.floatToFloat16(v));
+                    os.write(b.array(), 0, b.position());
+                }
+            }
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @FunctionalInterface
+    interface UnitSource {
+        void unit(int unit, float[] etaMinutes, float[] heightPerMetre) throws IOException;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sismoview.adapters.usgs;
+
+import com.sismoview.domain.models.Quake;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Last parsed version of one USGS feed window plus the validators needed to revalidate it
+ * with a conditional GET. Instances are never mutated: a refresh publishes a new snapshot.
+ */
+record FeedSnapshot(List<Quake> quakes, String etag, String lastModified, Instant fetchedAt, Instant checkedAt) {
+
+    FeedSnapshot {
+        quakes = List.copyOf(quakes);
+    }
+
+    /** Same content, confirmed fresh by a 304 at {@code now}. */
+    FeedSnapshot revalidated(Instant now) {
+        return new FeedSnapshot(quakes, etag, lastModified, fetchedAt, now);
+    }
+}
@@ -1,50 +1,231 @@
 package com.sismoview.adapters.usgs;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.sismoview.domain.models.FeedRefreshed;
 import com.sismoview.domain.models.Quake;
 import com.sismoview.domain.ports.QuakeFeedPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+/**
+ * USGS GeoJSON feed behind an in-memory snapshot per window ("day", "week").
+ * Snapshots are refreshed on a schedule with conditional GETs (ETag / If-Modified-Since),
+ * so requests never wait on the remote site once the first snapshot exists. Every snapshot
+ * with new content is announced once as a {@link FeedRefreshed} event.
+ */
 @Component
 public class QuakeFeedAdapter implements QuakeFeedPort {
-    private final RestClient http = RestClient.create();
-    private final ObjectMapper om = new ObjectMapper();
+    private static final Logger log = LoggerFactory.getLogger(QuakeFeedAdapter.class);
+    static final List<String> WINDOWS = List.of("day", "week");
+
+    private final RestClient http;
+    private final String baseUrl;
+    private final UsgsFeedParser parser = new UsgsFeedParser(new JsonFactory());
+    private final Map<String, FeedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<FeedSnapshot>> coldStarts = new ConcurrentHashMap<>();
+    private final Map<String, List<Quake>> announced = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher events;
+
+    private final MeterRegistry registry;
+    private final Counter modified;
+    private final Counter notModified;
+    private final Counter failed;
+
+    public QuakeFeedAdapter(RestClient.Builder http,
+                            @Value("${sismoview.feed.base-url:https://earthquake.usgs.gov/earthquakes/feed/v1.0/summary}") String baseUrl,
+                            MeterRegistry registry,
+                            ApplicationEventPublisher events) {
+        this.http = http.build();
+        this.baseUrl = baseUrl;
+        this.events = events;
+        this.registry = registry;
+        this.modified = registry.counter("sismoview.feed.checks", "result", "modified");
+        this.notModified = registry.counter("sismoview.feed.checks", "result", "not_modified");
+        this.failed = registry.counter("sismoview.feed.checks", "result", "error");
+        Gauge.builder("sismoview.feed.not_modified.ratio", this, QuakeFeedAdapter::notModifiedRatio)
+            .description("Share of conditional GETs answered with 304")
+            .register(registry);
+        for (String window : WINDOWS) {
+            Gauge.builder("sismoview.feed.snapshot.age", this, a -> a.snapshotAge(window).toMillis() / 1000.0)
+                .tag("window", window)
+                .baseUnit("seconds")
+                .register(registry);
+            Gauge.builder("sismoview.feed.snapshot.size", this, a -> a.snapshotSize(window))
+                .tag("window", window)
+                .description("Quakes in the current snapshot")
+                .register(registry);
+        }
+    }
 
     @Override
     public List<Quake> getLiveQuakes(String window) {
-        String feed;
-        if ("week".equalsIgnoreCase(window)) {
-            feed = "https://earthquake.usgs.gov/earthquakes/feed/v1.0/summary/4.5_week.geojson";
-        } else {
-            feed = "https://earthquake.usgs.gov/earthquakes/feed/v1.0/summary/4.5_day.geojson";
+        String key = normalize(window);
+        FeedSnapshot snap = snapshots.get(key);
+        return (snap != null ? snap : coldStart(key)).quakes();
+    }
+
+    /**
+     * First snapshot of a window. Only the first caller downloads, outside any map lock; the rest
+     * wait on its future and share its snapshot or its failure.
+     */
+    private FeedSnapshot coldStart(String window) {
+        CompletableFuture<FeedSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<FeedSnapshot> loading = coldStarts.putIfAbsent(window, mine);
+        if (loading != null) return await(window, loading);
+        try {
+            FeedSnapshot snap = snapshots.get(window);
+            if (snap == null) {
+                FeedSnapshot fetched = fetch(window, null);
+                // a scheduled refresh may have landed meanwhile; keep the snapshot it stored
+                snap = Objects.requireNonNullElse(snapshots.putIfAbsent(window, fetched), fetched);
+                announce(window, snap);
+            }
+            mine.complete(snap);
+            return snap;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            coldStarts.remove(window, mine);
         }
-        String body = http.get().uri(feed).retrieve().body(String.class);
-        List<Quake> out = new ArrayList<>();
+    }
+
+    private static FeedSnapshot await(String window, CompletableFuture<FeedSnapshot> loading) {
         try {
-            JsonNode root = om.readTree(body);
-            for (JsonNode f : root.get("features")) {
-                JsonNode props = f.get("properties");
-                JsonNode geom = f.get("geometry");
-                String id = f.get("id").asText();
-                double lon = geom.get("coordinates").get(0).asDouble();
-                double lat = geom.get("coordinates").get(1).asDouble();
-                double depth = geom.get("coordinates").get(2).asDouble();
-                double mag = props.get("mag").asDouble();
-                long timeMs = props.get("time").asLong();
-                String place = props.get("place").asText();
-                String timeUtc = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timeMs).atOffset(ZoneOffset.UTC));
-                out.add(new Quake(id, timeUtc, lat, lon, depth, mag, place));
+            return loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for USGS feed '" + window + "'", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sismoview.feed.refresh-ms:60000}")
+    public void refreshAll() {
+        for (String window : WINDOWS) {
+            try {
+                refresh(window);
+            } catch (RuntimeException e) {
+                log.warn("USGS feed '{}' refresh failed, keeping previous snapshot: {}", window, e.getMessage());
             }
-        } catch (Exception e) {
-            return out;
         }
-        return out;
+    }
+
+    void refresh(String window) {
+        FeedSnapshot next = fetch(window, snapshots.get(window));
+        snapshots.put(window, next);
+        announce(window, next);
+    }
+
+    /** Publishes a snapshot the first time its quake list is seen; 304 revalidations keep the same list. */
+    private void announce(String window, FeedSnapshot snap) {
+        List<Quake> previous = announced.put(window, snap.quakes());
+        if (previous != snap.quakes()) {
+            events.publishEvent(new FeedRefreshed(window, previous == null ? List.of() : previous, snap.quakes()));
+        }
+    }
+
+    /** Time since the window was last confirmed fresh, or zero if it was never loaded. */
+    Duration snapshotAge(String window) {
+        FeedSnapshot snap = snapshots.get(window);
+        return snap == null ? Duration.ZERO : Duration.between(snap.checkedAt(), Instant.now());
+    }
+
+    int snapshotSize(String window) {
+        FeedSnapshot snap = snapshots.get(window);
+        return snap == null ? 0 : snap.quakes().size();
+    }
+
+    double notModifiedRatio() {
+        double total = modified.count() + notModified.count();
+        return total == 0 ? 0.0 : notModified.count() / total;
+    }
+
+    private FeedSnapshot fetch(String window, FeedSnapshot previous) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            FeedSnapshot next = http.get()
+                .uri(feedUrl(window))
+                .headers(h -> {
+                    if (previous != null && previous.etag() != null) {
+                        h.setIfNoneMatch(previous.etag());
+                    }
+                    if (previous != null && previous.lastModified() != null) {
+                        h.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                    }
+                })
+                .exchange((req, res) -> {
+                    boolean notModifiedStatus = res.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+                    boolean answered = res.getStatusCode().is2xxSuccessful() || notModifiedStatus;
+                    sample.stop(timer("sismoview.feed.fetch", window, answered ? "success" : "error"));
+                    Instant now = Instant.now();
+                    if (notModifiedStatus && previous != null) {
+                        notModified.increment();
+                        return previous.revalidated(now);
+                    }
+                    if (!res.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("USGS feed '" + window + "' answered " + res.getStatusCode());
+                    }
+                    CountingInputStream body = new CountingInputStream(res.getBody());
+                    Timer.Sample parse = Timer.start(registry);
+                    List<Quake> quakes = parser.parse(body);
+                    parse.stop(timer("sismoview.feed.parse", window, "success"));
+                    DistributionSummary.builder("sismoview.feed.payload")
+                        .tag("window", window)
+                        .baseUnit("bytes")
+                        .register(registry)
+                        .record(body.count());
+                    modified.increment();
+                    HttpHeaders headers = res.getHeaders();
+                    return new FeedSnapshot(quakes, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), now, now);
+                });
+            sample.stop(timer("sismoview.feed.refresh", window, "success"));
+            return next;
+        } catch (RuntimeException e) {
+            failed.increment();
+            sample.stop(timer("sismoview.feed.refresh", window, "error"));
+            throw e;
+        }
+    }
+
+    /**
+     * fetch: until response headers; parse: body read and parsed as it streams in; refresh: both.
+     */
+    private Timer timer(String name, String window, String outcome) {
+        return Timer.builder(name)
+            .tag("window", window)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private String feedUrl(String window) {
+        return baseUrl + "/4.5_" + window + ".geojson";
+    }
+
+    private static String normalize(String window) {
+        return "week".equalsIgnoreCase(window) ? "week" : "day";
     }
 }
@@ -0,0 +1,116 @@
+package com.sismoview.adapters.usgs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sismoview.domain.models.Quake;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streaming reader for USGS GeoJSON summary feeds. Walks the token stream once and builds
+ * {@link Quake} objects directly; properties we do not use are skipped without being
+ * materialized. A feature that lacks an id, coordinates or magnitude is dropped on its own
+ * instead of failing the whole batch.
+ */
+final class UsgsFeedParser {
+    private static final Logger log = LoggerFactory.getLogger(UsgsFeedParser.class);
+
+    private final JsonFactory factory;
+
+    UsgsFeedParser(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    List<Quake> parse(InputStream in) throws IOException {
+        try (JsonParser p = factory.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "USGS feed is not a GeoJSON object");
+            }
+            List<Quake> out = new ArrayList<>();
+            int skipped = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        Quake q = readFeature(p);
+                        if (q != null) {
+                            out.add(q);
+                        } else {
+                            skipped++;
+                        }
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (skipped > 0) {
+                log.debug("USGS feed: skipped {} incomplete features", skipped);
+            }
+            return out;
+        }
+    }
+
+    /** Reads one feature object; the parser is positioned on its START_OBJECT. */
+    private Quake readFeature(JsonParser p) throws IOException {
+        String id = null;
+        String place = null;
+        double mag = Double.NaN;
+        long timeMs = Long.MIN_VALUE;
+        double lon = Double.NaN, lat = Double.NaN, depth = 0.0;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("id".equals(name)) {
+                id = value == JsonToken.VALUE_NULL ? null : p.getText();
+            } else if ("properties".equals(name) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String prop = p.currentName();
+                    JsonToken v = p.nextToken();
+                    switch (prop) {
+                        case "mag" -> mag = v.isNumeric() ? p.getDoubleValue() : Double.NaN;
+                        case "time" -> timeMs = v.isNumeric() ? p.getLongValue() : Long.MIN_VALUE;
+                        case "place" -> place = v == JsonToken.VALUE_STRING ? p.getText() : null;
+                        default -> p.skipChildren();
+                    }
+                }
+            } else if ("geometry".equals(name) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken v = p.nextToken();
+                    if ("coordinates".equals(field) && v == JsonToken.START_ARRAY) {
+                        int i = 0;
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            if (p.currentToken().isNumeric()) {
+                                if (i == 0) lon = p.getDoubleValue();
+                                else if (i == 1) lat = p.getDoubleValue();
+                                else if (i == 2) depth = p.getDoubleValue();
+                            }
+                            p.skipChildren();
+                            i++;
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+
+        if (id == null || Double.isNaN(lat) || Double.isNaN(lon) || Double.isNaN(mag)) {
+            return null;
+        }
+        String timeUtc = timeMs == Long.MIN_VALUE ? null : DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timeMs));
+        return new Quake(id, timeUtc, lat, lon, depth, mag, place);
+    }
+}
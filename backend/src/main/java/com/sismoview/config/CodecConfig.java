@@ -0,0 +1,46 @@
+package com.sismoview.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sismoview.adapters.rest.codec.MessagePackHttpMessageConverter;
+import com.sismoview.adapters.rest.codec.PackedArraysModule;
+import com.sismoview.adapters.rest.codec.ResponseModule;
+import java.util.List;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CBOR and MessagePack next to JSON, picked by the {@code Accept} header. Both mappers start from
+ * the application's Jackson settings and add {@link PackedArraysModule}; JSON keeps its shape
+ * and stays the default for clients that accept anything. {@link ResponseModule} is a bean, so
+ * Spring Boot installs it on every mapper.
+ */
+@Configuration
+public class CodecConfig implements WebMvcConfigurer {
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper messagePackMapper;
+
+    public CodecConfig(Jackson2ObjectMapperBuilder jackson) {
+        jackson.modulesToInstall(modules -> modules.add(new PackedArraysModule()));
+        this.cborMapper = jackson.factory(new CBORFactory()).build();
+        this.messagePackMapper = jackson.factory(new MessagePackFactory()).build();
+    }
+
+    /** Static so building the mappers above does not need this configuration first. */
+    @Bean
+    public static ResponseModule responseModule() {
+        return new ResponseModule();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new MessagePackHttpMessageConverter(messagePackMapper));
+    }
+}
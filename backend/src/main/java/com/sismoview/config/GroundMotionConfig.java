@@ -0,0 +1,17 @@
+package com.sismoview.config;
+
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.ground.GroundMotionModels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** The ground-motion relation behind city and grid intensities, chosen by {@code sismoview.ground-motion.model}. */
+@Configuration
+public class GroundMotionConfig {
+
+    @Bean
+    public GroundMotionModel groundMotionModel(@Value("${sismoview.ground-motion.model:bjf97-worden12}") String id) {
+        return GroundMotionModels.byId(id);
+    }
+}
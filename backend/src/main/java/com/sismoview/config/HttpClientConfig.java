@@ -0,0 +1,36 @@
+package com.sismoview.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Outbound HTTP on the JDK client. With {@code spring.threads.virtual.enabled} the callers
+ * (scheduled feed refreshes, request threads) are virtual, so a slow remote parks the virtual
+ * thread instead of holding a platform thread; the client's own async work runs on virtual threads too.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public RestClientCustomizer jdkHttpClient(Environment env,
+                                              @Value("${sismoview.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                              @Value("${sismoview.http.read-timeout-ms:15000}") long readTimeoutMs) {
+        HttpClient.Builder client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL);
+        if (Threading.VIRTUAL.isActive(env)) {
+            client.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client.build());
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return builder -> builder.requestFactory(factory);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sismoview.config;
+
+import com.sismoview.adapters.traveltime.TravelTimeTableFile;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.domain.traveltime.VelocityModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Travel-time tables for arrivals, rings and grids. With {@code sismoview.traveltime.file} set the
+ * tables are read from it, or built and saved there on the first start; otherwise they are built
+ * in memory (about a second).
+ */
+@Configuration
+public class TravelTimeConfig {
+    private static final Logger log = LoggerFactory.getLogger(TravelTimeConfig.class);
+
+    @Bean
+    public TravelTimes travelTimes(@Value("${sismoview.traveltime.file:}") String file) {
+        if (file.isBlank()) return TravelTimes.standard();
+        Path path = Path.of(file);
+        try {
+            if (Files.exists(path)) {
+                TravelTimes tables = TravelTimeTableFile.read(path);
+                log.info("Loaded travel-time tables from {}", path);
+                return tables;
+            }
+            TravelTimes tables = TravelTimes.build(VelocityModel.ak135());
+            TravelTimeTableFile.write(path, tables);
+            log.info("Built travel-time tables into {}", path);
+            return tables;
+        } catch (IOException e) {
+            log.warn("Travel-time tables unavailable at {} ({}); building in memory", path, e.getMessage());
+            return TravelTimes.standard();
+        }
+    }
+}
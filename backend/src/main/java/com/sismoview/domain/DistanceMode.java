@@ -0,0 +1,11 @@
+package com.sismoview.domain;
+
+/** Accuracy/speed trade-off for surface distances, see {@link PreparedSource}. */
+public enum DistanceMode {
+    /** Haversine with polynomial sin/asin; within 1 m of {@link #HAVERSINE} anywhere on the sphere. */
+    FAST,
+    /** Spherical great-circle distance on a sphere of radius {@link EarthGeometry#R_KM}. */
+    HAVERSINE,
+    /** Geodesic on the WGS84 ellipsoid (Vincenty inverse); up to ~0.5% different from the sphere. */
+    WGS84
+}
@@ -1,7 +1,7 @@
 package com.sismoview.domain;
 
 public final class EarthGeometry {
-    private static final double R_KM = 6371.0;
+    public static final double R_KM = 6371.0;
 
     private EarthGeometry() {}
 
@@ -14,4 +14,40 @@ public final class EarthGeometry {
                    Math.cos(phi1)*Math.cos(phi2)*Math.sin(dLam/2)*Math.sin(dLam/2);
         return 2 * R_KM * Math.asin(Math.sqrt(a));
     }
+
+    /** Origin with cached trig terms, for bulk distance/azimuth queries. */
+    public static PreparedSource prepare(double lat, double lon) {
+        return new PreparedSource(lat, lon);
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2, DistanceMode mode) {
+        return mode == DistanceMode.HAVERSINE ? haversineKm(lat1, lon1, lat2, lon2) : prepare(lat1, lon1).distanceKm(lat2, lon2, mode);
+    }
+
+    /**
+     * Fills {@code lats}/{@code lons} with evenly spaced points on the great circle from
+     * point 1 to point 2, both endpoints included (spherical linear interpolation).
+     */
+    public static void greatCircle(double lat1, double lon1, double lat2, double lon2, double[] lats, double[] lons) {
+        int n = lats.length;
+        if (lons.length != n) throw new IllegalArgumentException("lat/lon buffers differ in length");
+        double p1 = toRad(lat1), l1 = toRad(lon1), p2 = toRad(lat2), l2 = toRad(lon2);
+        double x1 = Math.cos(p1) * Math.cos(l1), y1 = Math.cos(p1) * Math.sin(l1), z1 = Math.sin(p1);
+        double x2 = Math.cos(p2) * Math.cos(l2), y2 = Math.cos(p2) * Math.sin(l2), z2 = Math.sin(p2);
+        double delta = haversineKm(lat1, lon1, lat2, lon2) / R_KM;
+        double sinDelta = Math.sin(delta);
+        for (int i = 0; i < n; i++) {
+            double f = n == 1 ? 0 : i / (double) (n - 1);
+            double a, b;
+            if (sinDelta < 1e-12) {
+                a = 1 - f; b = f;
+            } else {
+                a = Math.sin((1 - f) * delta) / sinDelta;
+                b = Math.sin(f * delta) / sinDelta;
+            }
+            double x = a * x1 + b * x2, y = a * y1 + b * y2, z = a * z1 + b * z2;
+            lats[i] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+            lons[i] = Math.toDegrees(Math.atan2(y, x));
+        }
+    }
 }
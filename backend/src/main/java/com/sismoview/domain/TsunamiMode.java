@@ -0,0 +1,21 @@
+package com.sismoview.domain;
+
+import java.util.Locale;
+
+/** What a tsunami run computes, see {@code TsunamiService}. */
+public enum TsunamiMode {
+    /** Shallow-water solver (or unit-source forecast): arrival times and wave heights. */
+    WAVE,
+    /** Eikonal fast marching: arrival times only, over a wider grid and far faster. */
+    ETA;
+
+    /** Case-insensitive; a null or blank value is {@link #WAVE}. */
+    public static TsunamiMode parse(String value) {
+        if (value == null || value.isBlank()) return WAVE;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown tsunami mode '" + value + "' (wave or eta)");
+        }
+    }
+}
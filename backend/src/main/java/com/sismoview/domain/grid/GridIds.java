@@ -0,0 +1,34 @@
+package com.sismoview.domain.grid;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Content-derived grid ids: the same kind, model version, inputs and grid always hash alike. */
+public final class GridIds {
+    private GridIds() {}
+
+    public static String of(String kind, int modelVersion, GridSpec spec, double... inputs) {
+        return of(kind, "", modelVersion, spec, inputs);
+    }
+
+    /** Ids for kinds computed with interchangeable models, told apart by {@code variant}. */
+    public static String of(String kind, String variant, int modelVersion, GridSpec spec, double... inputs) {
+        ByteBuffer buf = ByteBuffer.allocate(8 * (inputs.length + 6) + 4);
+        buf.putInt(modelVersion);
+        for (double v : inputs) buf.putDouble(v);
+        buf.putDouble(spec.lat0()).putDouble(spec.lon0()).putDouble(spec.dLat()).putDouble(spec.dLon());
+        buf.putDouble(spec.rows()).putDouble(spec.cols());
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(kind.getBytes(StandardCharsets.UTF_8));
+            if (!variant.isEmpty()) sha.update(("/" + variant).getBytes(StandardCharsets.UTF_8));
+            byte[] digest = sha.digest(buf.array());
+            return kind + "-" + HexFormat.of().formatHex(digest, 0, 10);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
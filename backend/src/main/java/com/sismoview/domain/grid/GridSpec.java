@@ -0,0 +1,30 @@
+package com.sismoview.domain.grid;
+
+/**
+ * Regular lat/lon grid. Cell {@code (row, col)} is centred on
+ * {@code (lat0 + row * dLat, lon0 + col * dLon)}; cells are stored row-major, south to north.
+ */
+public record GridSpec(double lat0, double lon0, double dLat, double dLon, int rows, int cols) {
+
+    public GridSpec {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("grid needs at least one row and column");
+        if (!(dLat > 0) || !(dLon > 0)) throw new IllegalArgumentException("grid spacing must be positive");
+    }
+
+    /** Grid of {@code rows x cols} cells spanning {@code spanDeg} degrees centred on a point. */
+    public static GridSpec around(double lat, double lon, double spanDeg, int rows, int cols) {
+        double dLat = spanDeg / rows, dLon = spanDeg / cols;
+        double south = Math.max(-90 + dLat / 2, lat - spanDeg / 2 + dLat / 2);
+        double north = Math.min(90 - dLat / 2, south + (rows - 1) * dLat);
+        south = Math.max(-90 + dLat / 2, north - (rows - 1) * dLat);
+        return new GridSpec(south, lon - spanDeg / 2 + dLon / 2, dLat, dLon, rows, cols);
+    }
+
+    public int cells() { return rows * cols; }
+
+    public double lat(int row) { return lat0 + row * dLat; }
+
+    public double lon(int col) { return lon0 + col * dLon; }
+
+    public int index(int row, int col) { return row * cols + col; }
+}
@@ -0,0 +1,71 @@
+package com.sismoview.domain.grid;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computed grid with one or more named float layers over the same {@link GridSpec}.
+ * The id is derived from the inputs that produced it, so equal scenarios share an id.
+ * Layers are handed out as-is; callers must treat them as read-only.
+ */
+public final class Raster {
+    private final String id;
+    private final String kind;
+    private final GridSpec spec;
+    private final Map<String, float[]> layers;
+    private final Map<String, Range> ranges;
+
+    /** Finite value range of a layer; (0, 0) if it holds no finite value. */
+    public record Range(double min, double max) {}
+
+    public Raster(String id, String kind, GridSpec spec, Map<String, float[]> layers) {
+        for (Map.Entry<String, float[]> e : layers.entrySet()) {
+            if (e.getValue().length != spec.cells()) {
+                throw new IllegalArgumentException("layer '" + e.getKey() + "' does not match the grid size");
+            }
+        }
+        this.id = id;
+        this.kind = kind;
+        this.spec = spec;
+        this.layers = Collections.unmodifiableMap(new LinkedHashMap<>(layers));
+        // layers are read-only, so their ranges are computed once and live as long as the raster
+        Map<String, Range> ranges = new HashMap<>();
+        for (Map.Entry<String, float[]> e : this.layers.entrySet()) ranges.put(e.getKey(), finiteRange(e.getValue()));
+        this.ranges = ranges;
+    }
+
+    private static Range finiteRange(float[] values) {
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (float v : values) {
+            if (Float.isFinite(v)) {
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+        }
+        return min > max ? new Range(0, 0) : new Range(min, max);
+    }
+
+    public String getId(){ return id; }
+    public String getKind(){ return kind; }
+    public GridSpec getSpec(){ return spec; }
+    public Map<String, float[]> getLayers(){ return layers; }
+
+    public float[] layer(String name) {
+        float[] values = layers.get(name);
+        if (values == null) throw new IllegalArgumentException("unknown layer '" + name + "' for grid " + id);
+        return values;
+    }
+
+    public Range range(String layer) {
+        Range range = ranges.get(layer);
+        if (range == null) throw new IllegalArgumentException("unknown layer '" + layer + "' for grid " + id);
+        return range;
+    }
+
+    /** Approximate heap footprint, used to bound raster caches by size. */
+    public long sizeBytes() {
+        return 64L + (long) layers.size() * (16L + 4L * spec.cells());
+    }
+}
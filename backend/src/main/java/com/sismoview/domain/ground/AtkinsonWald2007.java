@@ -0,0 +1,38 @@
+package com.sismoview.domain.ground;
+
+/**
+ * Intensity straight from magnitude and distance, the California intensity prediction equation
+ * of Atkinson &amp; Wald (2007):
+ * {@code MMI = c1 + c2 (M-6) + c3 (M-6)² + c4 log R + c5 R + c6 B + c7 M log R},
+ * {@code R = sqrt(D² + h²)}, {@code B = max(0, log(R / Rt))}, with D the hypocentral distance.
+ * PGA and PGV are the motions {@link Worden2012} maps to that intensity.
+ */
+public final class AtkinsonWald2007 implements GroundMotionModel {
+    public static final String ID = "aw07";
+
+    private static final double C1 = 12.27, C2 = 2.270, C3 = 0.1304, C4 = -1.30, C5 = -0.0007070, C6 = 1.95, C7 = -0.577;
+    private static final double H2 = 14.0 * 14.0;
+    private static final double LOG_RT = Math.log10(30.0);
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Source prepare(double magnitude, double depthKm) {
+        double dm = magnitude - 6.0;
+        double constant = C1 + C2 * dm + C3 * dm * dm;
+        double logR = C4 + C7 * magnitude;
+        return (hypo, from, to, pgaG, pgvCmS, mmi) -> {
+            for (int i = from; i < to; i++) {
+                double r = Math.sqrt(hypo[i] * hypo[i] + H2);
+                double lr = Math.log10(r);
+                double m = GroundMotionModel.clampMmi(constant + logR * lr + C5 * r + C6 * Math.max(0.0, lr - LOG_RT));
+                mmi[i] = m;
+                if (pgaG != null) pgaG[i] = Math.pow(10, Worden2012.log10PgaFromMmi(m) - Worden2012.LOG10_G_CMS2);
+                if (pgvCmS != null) pgvCmS[i] = Math.pow(10, Worden2012.log10PgvFromMmi(m));
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.sismoview.domain.ground;
+
+/**
+ * One peak-motion attenuation relation in the common point-source form
+ * {@code ln Y = c0 + c1 (M - 6) + c2 (M - 6)² + cLnR ln r + cR r}, with
+ * {@code r = sqrt(R² + h²)} and R the hypocentral distance in km. Site terms are folded into c0.
+ */
+record Attenuation(double c0, double c1, double c2, double cLnR, double cR, double h) {
+    private static final double LN10 = Math.log(10);
+
+    /**
+     * Boore, Joyner &amp; Fumal (1997) PGA in g, random horizontal component, unspecified
+     * mechanism, on rock: V<sub>S30</sub> = 760 m/s against V<sub>A</sub> = 1396 m/s.
+     */
+    static final Attenuation BJF97_PGA = new Attenuation(-0.242 - 0.371 * Math.log(760.0 / 1396.0),
+        0.527, 0.0, -0.778, 0.0, 5.57);
+
+    /** Joyner &amp; Boore (1988) PGV in cm/s on rock, {@code log v = 2.09 + 0.49 (M - 6) - log r - 0.0026 r}. */
+    static final Attenuation JB88_PGV = new Attenuation(2.09 * LN10, 0.49 * LN10, 0.0, -1.0, -0.0026 * LN10, 4.0);
+
+    /** The source part of ln Y, computed once per scenario. */
+    double sourceTerm(double magnitude) {
+        double dm = magnitude - 6.0;
+        return c0 + c1 * dm + c2 * dm * dm;
+    }
+
+    /** ln Y for a site at {@code hypocentralKm²}, given {@link #sourceTerm}. */
+    double lnMedian(double sourceTerm, double hypocentralKm2) {
+        double r2 = hypocentralKm2 + h * h;
+        double ln = sourceTerm + cLnR * 0.5 * Math.log(r2);
+        return cR == 0.0 ? ln : ln + cR * Math.sqrt(r2);
+    }
+}
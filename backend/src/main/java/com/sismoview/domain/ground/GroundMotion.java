@@ -0,0 +1,4 @@
+package com.sismoview.domain.ground;
+
+/** Predicted shaking at one site: PGA in g, PGV in cm/s and Modified Mercalli intensity. */
+public record GroundMotion(double pgaG, double pgvCmS, double mmi) {}
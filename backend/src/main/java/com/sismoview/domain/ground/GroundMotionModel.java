@@ -0,0 +1,44 @@
+package com.sismoview.domain.ground;
+
+/**
+ * A ground-motion relation: peak ground acceleration and velocity and Modified Mercalli intensity
+ * at a site, from the source magnitude and the site's hypocentral distance.
+ *
+ * <p>Everything that depends only on the source is done once in {@link #prepare}; the returned
+ * {@link Source} then costs a handful of flops and one or two logarithms per site, so a scenario
+ * can be evaluated over millions of sites.
+ */
+public interface GroundMotionModel {
+    /** Lowest and highest intensity reported; the relations are not calibrated beyond X. */
+    double MIN_MMI = 1.0;
+    double MAX_MMI = 10.0;
+
+    /** Short name used in configuration and grid ids. */
+    String id();
+
+    /**
+     * Binds the relation to one source. {@code depthKm} is there for relations with a depth term;
+     * the ones here see depth only through the hypocentral distance.
+     */
+    Source prepare(double magnitude, double depthKm);
+
+    /** A relation bound to one source; immutable and shared by every site of the scenario. */
+    interface Source {
+        /**
+         * Fills {@code pgaG[i]} (g), {@code pgvCmS[i]} (cm/s) and {@code mmi[i]} for the site
+         * {@code hypocentralKm[i]} away, for i in [from, to). {@code pgaG} and {@code pgvCmS} may be
+         * null when only intensity is wanted.
+         */
+        void evaluate(double[] hypocentralKm, int from, int to, double[] pgaG, double[] pgvCmS, double[] mmi);
+
+        default GroundMotion at(double hypocentralKm) {
+            double[] pga = new double[1], pgv = new double[1], mmi = new double[1];
+            evaluate(new double[] {hypocentralKm}, 0, 1, pga, pgv, mmi);
+            return new GroundMotion(pga[0], pgv[0], mmi[0]);
+        }
+    }
+
+    static double clampMmi(double mmi) {
+        return Math.max(MIN_MMI, Math.min(MAX_MMI, mmi));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sismoview.domain.ground;
+
+import java.util.Locale;
+
+/** The built-in relations by {@link GroundMotionModel#id()}. */
+public final class GroundMotionModels {
+    private static final GroundMotionModel PEAK_MOTION = new PeakMotionModel();
+    private static final GroundMotionModel AW07 = new AtkinsonWald2007();
+
+    private GroundMotionModels() {}
+
+    /** PGA/PGV relations with an intensity conversion; the default. */
+    public static GroundMotionModel standard() {
+        return PEAK_MOTION;
+    }
+
+    public static GroundMotionModel byId(String id) {
+        return switch (id.trim().toLowerCase(Locale.ROOT)) {
+            case PeakMotionModel.ID -> PEAK_MOTION;
+            case AtkinsonWald2007.ID -> AW07;
+            default -> throw new IllegalArgumentException("Unknown ground-motion model '" + id + "' ("
+                + PeakMotionModel.ID + " or " + AtkinsonWald2007.ID + ")");
+        };
+    }
+}
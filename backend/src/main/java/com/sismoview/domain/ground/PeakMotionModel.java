@@ -0,0 +1,42 @@
+package com.sismoview.domain.ground;
+
+/**
+ * PGA from Boore, Joyner &amp; Fumal (1997) and PGV from Joyner &amp; Boore (1988), both on rock,
+ * converted to intensity with {@link Worden2012}. As in ShakeMap, PGA sets the intensity below V,
+ * PGV above VII, and the two are blended linearly in between. The relations are used as point
+ * sources on hypocentral distance and extrapolated beyond their calibration range (about M5-7.5,
+ * R under 100-200 km); intensity is clamped to [I, X].
+ */
+public final class PeakMotionModel implements GroundMotionModel {
+    public static final String ID = "bjf97-worden12";
+
+    private static final double INV_LN10 = 1.0 / Math.log(10);
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Source prepare(double magnitude, double depthKm) {
+        double pgaTerm = Attenuation.BJF97_PGA.sourceTerm(magnitude);
+        double pgvTerm = Attenuation.JB88_PGV.sourceTerm(magnitude);
+        return (hypo, from, to, pgaG, pgvCmS, mmi) -> {
+            for (int i = from; i < to; i++) {
+                double r2 = hypo[i] * hypo[i];
+                double lnPga = Attenuation.BJF97_PGA.lnMedian(pgaTerm, r2);
+                double lnPgv = Attenuation.JB88_PGV.lnMedian(pgvTerm, r2);
+                if (pgaG != null) pgaG[i] = Math.exp(lnPga);
+                if (pgvCmS != null) pgvCmS[i] = Math.exp(lnPgv);
+                mmi[i] = combine(Worden2012.mmiFromPga(lnPga * INV_LN10 + Worden2012.LOG10_G_CMS2),
+                    Worden2012.mmiFromPgv(lnPgv * INV_LN10));
+            }
+        };
+    }
+
+    /** PGA-based intensity up to V, PGV-based from VII, a linear blend weighted on the PGA value between. */
+    static double combine(double fromPga, double fromPgv) {
+        double w = Math.max(0.0, Math.min(1.0, (fromPga - 5.0) * 0.5));
+        return GroundMotionModel.clampMmi(fromPga + w * (fromPgv - fromPga));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sismoview.domain.ground;
+
+/**
+ * Ground-motion to intensity conversion of Worden, Gerstenberger, Rhoades &amp; Wald (2012),
+ * the bilinear form without distance or magnitude terms, and its inverse. Peak values are
+ * given as log10 of cm/s² (PGA) or cm/s (PGV).
+ */
+public final class Worden2012 {
+    private static final double PGA_C1 = 1.78, PGA_C2 = 1.55, PGA_C3 = -1.60, PGA_C4 = 3.70, PGA_T1 = 1.57, PGA_T2 = 4.22;
+    private static final double PGV_C1 = 3.78, PGV_C2 = 1.47, PGV_C3 = 2.89, PGV_C4 = 3.16, PGV_T1 = 0.53, PGV_T2 = 4.56;
+
+    /** log10 of 1 g in cm/s². */
+    public static final double LOG10_G_CMS2 = Math.log10(980.665);
+
+    private Worden2012() {}
+
+    public static double mmiFromPga(double log10CmS2) {
+        return log10CmS2 <= PGA_T1 ? PGA_C1 + PGA_C2 * log10CmS2 : PGA_C3 + PGA_C4 * log10CmS2;
+    }
+
+    public static double mmiFromPgv(double log10CmS) {
+        return log10CmS <= PGV_T1 ? PGV_C1 + PGV_C2 * log10CmS : PGV_C3 + PGV_C4 * log10CmS;
+    }
+
+    public static double log10PgaFromMmi(double mmi) {
+        return mmi <= PGA_T2 ? (mmi - PGA_C1) / PGA_C2 : (mmi - PGA_C3) / PGA_C4;
+    }
+
+    public static double log10PgvFromMmi(double mmi) {
+        return mmi <= PGV_T2 ? (mmi - PGV_C1) / PGV_C2 : (mmi - PGV_C3) / PGV_C4;
+    }
+}
@@ -0,0 +1,4 @@
+package com.sismoview.domain.models;
+
+/** Predicted shaking at a city: hypocentral distance, PGA (g), PGV (cm/s) and Modified Mercalli intensity. */
+public record CityIntensity(String place, double hypocentralKm, double pgaG, double pgvCmS, double mmi) {}
@@ -0,0 +1,4 @@
+package com.sismoview.domain.models;
+
+/** Tsunami arrival at a coast cell: the cell centre and minutes after origin time. */
+public record CoastArrival(double lat, double lon, double minutes) {}
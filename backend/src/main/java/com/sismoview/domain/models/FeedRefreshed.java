@@ -0,0 +1,6 @@
+package com.sismoview.domain.models;
+
+import java.util.List;
+
+/** Published when a live feed window is replaced by a newly downloaded snapshot. */
+public record FeedRefreshed(String window, List<Quake> previous, List<Quake> current) {}
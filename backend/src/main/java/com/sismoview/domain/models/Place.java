@@ -0,0 +1,9 @@
+package com.sismoview.domain.models;
+
+/** A gazetteer place and its great-circle distance from the query point. */
+public record Place(String name, String countryCode, double lat, double lon, long population, double distanceKm) {
+
+    public City toCity() {
+        return new City(name, lat, lon);
+    }
+}
@@ -1,5 +1,7 @@
 package com.sismoview.domain.models;
 
+import java.util.Objects;
+
 public class Quake {
     private String id;
     private String timeUtc;
@@ -30,4 +32,16 @@ public class Quake {
     public void setDepthKm(double v){ this.depthKm=v; }
     public void setMagnitude(double v){ this.magnitude=v; }
     public void setPlace(String s){ this.place=s; }
+
+    @Override
+    public boolean equals(Object o){
+        if (this == o) return true;
+        if (!(o instanceof Quake q)) return false;
+        return Double.compare(lat, q.lat) == 0 && Double.compare(lon, q.lon) == 0
+            && Double.compare(depthKm, q.depthKm) == 0 && Double.compare(magnitude, q.magnitude) == 0
+            && Objects.equals(id, q.id) && Objects.equals(timeUtc, q.timeUtc) && Objects.equals(place, q.place);
+    }
+
+    @Override
+    public int hashCode(){ return Objects.hash(id, timeUtc, lat, lon, depthKm, magnitude, place); }
 }
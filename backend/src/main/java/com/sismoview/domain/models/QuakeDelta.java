@@ -0,0 +1,15 @@
+package com.sismoview.domain.models;
+
+import java.util.List;
+
+/**
+ * Changes to one live feed window between two snapshots. {@code seq} increases by one per
+ * delta and, after the process epoch, makes up the SSE event id. A {@code reset} delta carries
+ * the whole window in {@code added} and replaces whatever the client held.
+ */
+public record QuakeDelta(long seq, String window, boolean reset, List<Quake> added, List<Quake> updated, List<String> removed) {
+
+    public boolean isEmpty() {
+        return !reset && added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
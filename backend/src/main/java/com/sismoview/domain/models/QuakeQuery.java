@@ -0,0 +1,22 @@
+package com.sismoview.domain.models;
+
+/**
+ * Optional filters for live earthquakes. Every field may be null; a null field does not
+ * constrain the result. {@code minLon > maxLon} selects a box that crosses the antimeridian.
+ */
+public record QuakeQuery(Double minLat, Double maxLat, Double minLon, Double maxLon,
+                         Double lat, Double lon, Double radiusKm,
+                         Double minMagnitude, Integer nearest) {
+
+    public boolean hasBox() {
+        return minLat != null || maxLat != null || minLon != null || maxLon != null;
+    }
+
+    public boolean hasCenter() {
+        return lat != null || lon != null;
+    }
+
+    public boolean isEmpty() {
+        return !hasBox() && !hasCenter() && radiusKm == null && minMagnitude == null && nearest == null;
+    }
+}
@@ -1,20 +1,4 @@
 package com.sismoview.domain.models;
 
-public class RingSegment {
-    private String type;
-    private double minutes;
-    private double radiusKm;
-
-    public RingSegment() {}
-    public RingSegment(String type, double minutes, double radiusKm){
-        this.type = type; this.minutes = minutes; this.radiusKm = radiusKm;
-    }
-
-    public String getType(){ return type; }
-    public double getMinutes(){ return minutes; }
-    public double getRadiusKm(){ return radiusKm; }
-
-    public void setType(String t){ this.type = t; }
-    public void setMinutes(double m){ this.minutes = m; }
-    public void setRadiusKm(double r){ this.radiusKm = r; }
-}
+/** P or S wavefront at a time: minutes after origin time and its surface radius. */
+public record RingSegment(String type, double minutes, double radiusKm) {}
@@ -6,6 +6,7 @@ public class TsunamiResult {
     private String gridId;
     private List<LegendItem> etaLegend;
     private List<LegendItem> heightLegend;
+    private List<CoastArrival> coastArrivals;
 
     public TsunamiResult(){}
     public TsunamiResult(String gridId, List<LegendItem> etaLegend, List<LegendItem> heightLegend) {
@@ -13,12 +14,18 @@ public class TsunamiResult {
         this.etaLegend = etaLegend;
         this.heightLegend = heightLegend;
     }
+    public TsunamiResult(String gridId, List<LegendItem> etaLegend, List<LegendItem> heightLegend, List<CoastArrival> coastArrivals) {
+        this(gridId, etaLegend, heightLegend);
+        this.coastArrivals = coastArrivals;
+    }
 
     public String getGridId(){ return gridId; }
     public List<LegendItem> getEtaLegend(){ return etaLegend; }
     public List<LegendItem> getHeightLegend(){ return heightLegend; }
+    public List<CoastArrival> getCoastArrivals(){ return coastArrivals; }
 
     public void setGridId(String g){ this.gridId=g; }
     public void setEtaLegend(List<LegendItem> l){ this.etaLegend=l; }
     public void setHeightLegend(List<LegendItem> l){ this.heightLegend=l; }
+    public void setCoastArrivals(List<CoastArrival> c){ this.coastArrivals=c; }
 }
@@ -1,5 +1,42 @@
 package com.sismoview.domain.ports;
 
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.grid.GridSpec;
+
+/**
+ * Sea depth in metres, positive over water. The bulk methods fill caller-owned buffers so
+ * solvers sample whole grids or paths in one call; adapters override them when they can read
+ * their storage sequentially instead of point by point.
+ */
 public interface BathymetryPort {
     double depthMeters(double lat, double lon);
+
+    /** Depth at every cell centre of {@code spec}, row-major into {@code out}. */
+    default void sampleGrid(GridSpec spec, float[] out) {
+        if (out.length < spec.cells()) throw new IllegalArgumentException("output buffer smaller than the grid");
+        for (int r = 0; r < spec.rows(); r++) {
+            double lat = spec.lat(r);
+            int base = r * spec.cols();
+            for (int c = 0; c < spec.cols(); c++) {
+                out[base + c] = (float) depthMeters(lat, spec.lon(c));
+            }
+        }
+    }
+
+    /** Depth at {@code (lats[i], lons[i])} into {@code out[i]}. */
+    default void samplePoints(double[] lats, double[] lons, float[] out) {
+        if (lons.length != lats.length || out.length < lats.length) {
+            throw new IllegalArgumentException("point and output buffers differ in length");
+        }
+        for (int i = 0; i < lats.length; i++) {
+            out[i] = (float) depthMeters(lats[i], lons[i]);
+        }
+    }
+
+    /** {@code out.length} evenly spaced samples along the great circle from point 1 to point 2. */
+    default void sampleGreatCircle(double lat1, double lon1, double lat2, double lon2, float[] out) {
+        double[] lats = new double[out.length], lons = new double[out.length];
+        EarthGeometry.greatCircle(lat1, lon1, lat2, lon2, lats, lons);
+        samplePoints(lats, lons, out);
+    }
 }
@@ -0,0 +1,21 @@
+package com.sismoview.domain.ports;
+
+/**
+ * World places (cities, towns, villages) as columns. Places are numbered in descending
+ * population order, so place 0 is the most populous and the lowest ids of any subset are its
+ * largest places.
+ */
+public interface GazetteerPort {
+    int places();
+
+    double lat(int place);
+
+    double lon(int place);
+
+    long population(int place);
+
+    String name(int place);
+
+    /** ISO 3166-1 alpha-2 code, empty when unknown. */
+    String countryCode(int place);
+}
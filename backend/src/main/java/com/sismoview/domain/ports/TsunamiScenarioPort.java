@@ -0,0 +1,31 @@
+package com.sismoview.domain.ports;
+
+import com.sismoview.domain.grid.GridSpec;
+
+/**
+ * Precomputed tsunami runs for a catalog of unit sources, each sampled at the same forecast
+ * points: the ocean cells of one forecast grid. Every unit was run at {@link #unitMagnitude()} and
+ * {@link #unitDepthKm()}; heights are stored per metre of initial uplift so they scale linearly.
+ */
+public interface TsunamiScenarioPort {
+    GridSpec forecastGrid();
+
+    /** Row-major indices into {@link #forecastGrid()} of the forecast points, ascending. */
+    int[] forecastCells();
+
+    int units();
+
+    double unitLat(int unit);
+
+    double unitLon(int unit);
+
+    double unitMagnitude();
+
+    double unitDepthKm();
+
+    /**
+     * First-arrival minutes (NaN where the wave never arrived) and peak height per metre of source
+     * uplift at each forecast point, for one unit source.
+     */
+    void read(int unit, float[] etaMinutes, float[] heightPerMetre);
+}
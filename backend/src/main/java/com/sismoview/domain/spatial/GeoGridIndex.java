@@ -0,0 +1,180 @@
+package com.sismoview.domain.spatial;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable lat/lon cell grid over a set of points, stored as primitive arrays in cell order
+ * (CSR layout: {@code cellStart[c]..cellStart[c+1]} are the points of cell {@code c}).
+ * Queries visit only the cells that overlap the query area, so their cost follows the size of
+ * the area and of the result rather than the number of indexed points. Boxes whose
+ * {@code minLon > maxLon} cross the antimeridian; radius queries that reach a pole widen to
+ * the full longitude range.
+ */
+public final class GeoGridIndex {
+    private static final double MAX_ANGLE = Math.PI;
+
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+    private final int[] cellStart;
+    private final int[] ids;
+    private final double[] lats;
+    private final double[] lons;
+    private final int[] slotOf;
+
+    /** Indexes point {@code i} at ({@code lat[i]}, {@code lon[i]}); queries report {@code i}. */
+    public GeoGridIndex(double[] lat, double[] lon, double cellDeg) {
+        if (lat.length != lon.length) throw new IllegalArgumentException("lat/lon length mismatch");
+        if (!(cellDeg > 0 && cellDeg <= 90)) throw new IllegalArgumentException("cellDeg must be in (0, 90]");
+        this.cellDeg = cellDeg;
+        this.rows = (int) Math.ceil(180.0 / cellDeg);
+        this.cols = (int) Math.ceil(360.0 / cellDeg);
+
+        int n = lat.length;
+        int[] cellOf = new int[n];
+        int[] counts = new int[rows * cols + 1];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = row(lat[i]) * cols + col(lon[i]);
+            counts[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) counts[c + 1] += counts[c];
+        this.cellStart = counts.clone();
+
+        this.ids = new int[n];
+        this.lats = new double[n];
+        this.lons = new double[n];
+        this.slotOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int slot = counts[cellOf[i]]++;
+            slotOf[i] = slot;
+            ids[slot] = i;
+            lats[slot] = lat[i];
+            lons[slot] = normalizeLon(lon[i]);
+        }
+    }
+
+    public int size() { return ids.length; }
+
+    /** Bytes held by the index arrays: 24 per point plus 4 per cell. */
+    public long heapBytes() { return 24L * ids.length + 4L * cellStart.length; }
+
+    /** Points inside the box; {@code minLon > maxLon} means the box crosses the antimeridian. */
+    public void withinBox(double minLat, double maxLat, double minLon, double maxLon, IntConsumer out) {
+        if (minLat > maxLat) throw new IllegalArgumentException("minLat must be <= maxLat");
+        double lo = normalizeLon(minLon), hi = normalizeLon(maxLon);
+        boolean fullLon = maxLon - minLon >= 360.0;
+        boolean wraps = !fullLon && lo > hi;
+        scan(minLat, maxLat, lo, hi, fullLon, (slot) -> {
+            double la = lats[slot], lo2 = lons[slot];
+            if (la < minLat || la > maxLat) return false;
+            if (fullLon) return true;
+            return wraps ? (lo2 >= lo || lo2 <= hi) : (lo2 >= lo && lo2 <= hi);
+        }, out);
+    }
+
+    /** Points whose great-circle distance to the center is at most {@code radiusKm}. */
+    public void withinRadius(double lat, double lon, double radiusKm, IntConsumer out) {
+        if (radiusKm < 0) throw new IllegalArgumentException("radiusKm must be >= 0");
+        double ang = radiusKm / EarthGeometry.R_KM;
+        if (ang >= MAX_ANGLE) {
+            for (int id : ids) out.accept(id);
+            return;
+        }
+        double dLat = Math.toDegrees(ang);
+        double minLat = lat - dLat, maxLat = lat + dLat;
+        boolean fullLon;
+        double lo = 0, hi = 0;
+        if (minLat <= -90 || maxLat >= 90) {
+            fullLon = true; // the cap contains a pole
+        } else {
+            double s = Math.sin(ang) / Math.cos(Math.toRadians(lat));
+            fullLon = s >= 1.0;
+            if (!fullLon) {
+                double dLon = Math.toDegrees(Math.asin(s));
+                lo = normalizeLon(lon - dLon);
+                hi = normalizeLon(lon + dLon);
+            }
+        }
+        PreparedSource center = EarthGeometry.prepare(lat, lon);
+        scan(Math.max(-90, minLat), Math.min(90, maxLat), lo, hi, fullLon,
+            (slot) -> center.distanceKm(lats[slot], lons[slot]) <= radiusKm, out);
+    }
+
+    /**
+     * Up to {@code k} points closest to the center that pass {@code filter}, nearest first.
+     * Searches growing radii, so the work stays close to the neighbourhood that holds the answer.
+     */
+    public int[] nearest(double lat, double lon, int k, double maxRadiusKm, IntPredicate filter) {
+        if (k <= 0 || ids.length == 0) return new int[0];
+        double limit = Math.min(maxRadiusKm, MAX_ANGLE * EarthGeometry.R_KM);
+        double r = Math.min(limit, Math.max(cellDeg * 111.2, 50.0));
+        while (true) {
+            IntList found = new IntList();
+            withinRadius(lat, lon, r, id -> {
+                if (filter.test(id)) found.add(id);
+            });
+            if (found.size() >= k || r >= limit) {
+                return closest(found, lat, lon, k);
+            }
+            r = Math.min(limit, r * 2);
+        }
+    }
+
+    /** Sorts candidates by distance using packed (float distance bits, position) keys. */
+    private int[] closest(IntList found, double lat, double lon, int k) {
+        int m = found.size();
+        long[] keyed = new long[m];
+        PreparedSource center = EarthGeometry.prepare(lat, lon);
+        for (int i = 0; i < m; i++) {
+            int slot = slotOf[found.get(i)];
+            float d = (float) center.distanceKm(lats[slot], lons[slot]);
+            // non-negative floats order the same as their raw bits
+            keyed[i] = ((long) Float.floatToRawIntBits(d) << 32) | i;
+        }
+        Arrays.sort(keyed);
+        int[] out = new int[Math.min(k, m)];
+        for (int i = 0; i < out.length; i++) out[i] = found.get((int) keyed[i]);
+        return out;
+    }
+
+    private void scan(double minLat, double maxLat, double lo, double hi, boolean fullLon,
+                      IntPredicate accept, IntConsumer out) {
+        int r0 = row(Math.max(-90, minLat)), r1 = row(Math.min(90, maxLat));
+        int c0 = fullLon ? 0 : col(lo), c1 = fullLon ? cols - 1 : col(hi);
+        for (int r = r0; r <= r1; r++) {
+            if (c0 <= c1) {
+                scanCells(r, c0, c1, accept, out);
+            } else {
+                scanCells(r, c0, cols - 1, accept, out);
+                scanCells(r, 0, c1, accept, out);
+            }
+        }
+    }
+
+    private void scanCells(int r, int c0, int c1, IntPredicate accept, IntConsumer out) {
+        int from = cellStart[r * cols + c0], to = cellStart[r * cols + c1 + 1];
+        for (int slot = from; slot < to; slot++) {
+            if (accept.test(slot)) out.accept(ids[slot]);
+        }
+    }
+
+    private int row(double lat) {
+        int r = (int) Math.floor((lat + 90.0) / cellDeg);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    private int col(double lon) {
+        int c = (int) Math.floor((normalizeLon(lon) + 180.0) / cellDeg);
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    /** Maps any longitude into [-180, 180]. */
+    public static double normalizeLon(double lon) {
+        if (lon >= -180.0 && lon <= 180.0) return lon;
+        return ((lon + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sismoview.domain.spatial;
+
+import java.util.Arrays;
+
+/** Growable list of primitive ints, used to collect query hits without boxing. */
+public final class IntList {
+    private int[] data;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        data = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int v) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size++] = v;
+    }
+
+    public int get(int i) { return data[i]; }
+
+    public int size() { return size; }
+
+    public int[] toArray() { return Arrays.copyOf(data, size); }
+}
@@ -0,0 +1,52 @@
+package com.sismoview.domain.traveltime;
+
+import com.sismoview.domain.EarthGeometry;
+
+/** Minutes against epicentral distance for a fixed source depth; see {@link TravelTimeTable#atDepth}. */
+public final class TravelTimeCurve {
+    private static final double DEG_PER_KM = 180.0 / (Math.PI * EarthGeometry.R_KM);
+
+    private final double[] minutes;
+    private final double stepDeg;
+    private final double kmToIndex;
+
+    TravelTimeCurve(double[] minutes, double stepDeg) {
+        this.minutes = minutes;
+        this.stepDeg = stepDeg;
+        this.kmToIndex = DEG_PER_KM / stepDeg;
+    }
+
+    public double minutes(double distanceDeg) {
+        return at(distanceDeg / stepDeg);
+    }
+
+    /** Same lookup from a great-circle distance in km on the spherical Earth. */
+    public double minutesAtKm(double distanceKm) {
+        return at(distanceKm * kmToIndex);
+    }
+
+    /**
+     * Smallest distance whose first arrival is {@code minutes} away, i.e. the radius of the
+     * wavefront at that time; 180 degrees once the phase has reached the antipode.
+     */
+    public double distanceDegAt(double minutes) {
+        if (!(minutes > this.minutes[0])) return 0;
+        for (int i = 1; i < this.minutes.length; i++) {
+            double hi = this.minutes[i];
+            if (hi >= minutes) {
+                double lo = this.minutes[i - 1];
+                double f = hi > lo ? (minutes - lo) / (hi - lo) : 1;
+                return (i - 1 + f) * stepDeg;
+            }
+        }
+        return (this.minutes.length - 1) * stepDeg;
+    }
+
+    private double at(double x) {
+        int last = minutes.length - 1;
+        if (!(x > 0)) return minutes[0];
+        if (x >= last) return minutes[last];
+        int i = (int) x;
+        return minutes[i] + (minutes[i + 1] - minutes[i]) * (x - i);
+    }
+}
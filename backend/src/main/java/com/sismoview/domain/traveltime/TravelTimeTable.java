@@ -0,0 +1,68 @@
+package com.sismoview.domain.traveltime;
+
+/**
+ * First-arrival minutes of one phase on a regular (epicentral distance, source depth) grid,
+ * stored depth-major: row {@code j} holds depth {@code j * depthStepKm} for distances
+ * {@code 0, distanceStepDeg, ...}. Lookups interpolate bilinearly and clamp to the grid.
+ */
+public final class TravelTimeTable {
+    private final float[] minutes;
+    private final int distances;
+    private final int depths;
+    private final double distanceStepDeg;
+    private final double depthStepKm;
+
+    public TravelTimeTable(float[] minutes, int distances, int depths, double distanceStepDeg, double depthStepKm) {
+        if (distances < 2 || depths < 1 || minutes.length != distances * depths) {
+            throw new IllegalArgumentException("travel-time table size does not match its axes");
+        }
+        if (!(distanceStepDeg > 0) || !(depthStepKm > 0)) throw new IllegalArgumentException("table steps must be positive");
+        this.minutes = minutes;
+        this.distances = distances;
+        this.depths = depths;
+        this.distanceStepDeg = distanceStepDeg;
+        this.depthStepKm = depthStepKm;
+    }
+
+    public int distances() { return distances; }
+
+    public int depths() { return depths; }
+
+    public double distanceStepDeg() { return distanceStepDeg; }
+
+    public double depthStepKm() { return depthStepKm; }
+
+    public double maxDepthKm() { return (depths - 1) * depthStepKm; }
+
+    /** Backing array, depth-major; not copied. */
+    public float[] values() { return minutes; }
+
+    public double minutes(double distanceDeg, double depthKm) {
+        double x = clamp(distanceDeg / distanceStepDeg, distances - 1);
+        double y = clamp(depthKm / depthStepKm, depths - 1);
+        int i0 = Math.min((int) x, distances - 2), j0 = Math.min((int) y, Math.max(0, depths - 2));
+        int j1 = Math.min(j0 + 1, depths - 1);
+        double fx = x - i0, fy = y - j0;
+        int a = j0 * distances + i0, b = j1 * distances + i0;
+        double top = minutes[a] + (minutes[a + 1] - minutes[a]) * fx;
+        double bottom = minutes[b] + (minutes[b + 1] - minutes[b]) * fx;
+        return top + (bottom - top) * fy;
+    }
+
+    /** The table at one source depth, interpolated once so per-site lookups are one-dimensional. */
+    public TravelTimeCurve atDepth(double depthKm) {
+        double y = clamp(depthKm / depthStepKm, depths - 1);
+        int j0 = Math.min((int) y, Math.max(0, depths - 2)), j1 = Math.min(j0 + 1, depths - 1);
+        double fy = y - j0;
+        double[] curve = new double[distances];
+        int a = j0 * distances, b = j1 * distances;
+        for (int i = 0; i < distances; i++) {
+            curve[i] = minutes[a + i] + (minutes[b + i] - minutes[a + i]) * fy;
+        }
+        return new TravelTimeCurve(curve, distanceStepDeg);
+    }
+
+    private static double clamp(double v, int max) {
+        return v < 0 || Double.isNaN(v) ? 0 : Math.min(v, max);
+    }
+}
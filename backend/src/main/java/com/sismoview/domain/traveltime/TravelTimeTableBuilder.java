@@ -0,0 +1,167 @@
+package com.sismoview.domain.traveltime;
+
+import java.util.Arrays;
+
+/**
+ * Builds a first-arrival {@link TravelTimeTable} by shooting rays through a {@link VelocityModel}.
+ *
+ * <p>The model is cut into thin homogeneous shells, in which rays are straight chords: for ray
+ * parameter {@code p} (s/rad) a ray crosses a shell of velocity {@code v} at impact parameter
+ * {@code b = p v}, so both the angle it sweeps and its length have closed forms. A ray that cannot
+ * enter the next shell ({@code b} at least its top radius) turns there. For every source depth a
+ * ray reaches it gives two arrivals: leaving upwards (the path above the source) and leaving
+ * downwards (the full path minus the part above the source). Consecutive rays of the same branch
+ * are joined by straight segments in (distance, time) and each cell keeps the earliest one.
+ *
+ * <p>Where rays stop reaching (the core shadow) times continue from the last arrival with its
+ * slope, which is what a wave diffracted along the core does, for as long as that is earlier
+ * than the core phases behind the shadow.
+ */
+final class TravelTimeTableBuilder {
+    static final double SHELL_KM = 5.0;
+    private static final int RAYS = 8_000;
+    /** Consecutive rays further apart than this jumped a branch (e.g. into the core): not joined. */
+    private static final double MAX_JOIN_RAD = Math.toRadians(2.0);
+    private static final int MAX_GAP_CELLS = 30;
+
+    private TravelTimeTableBuilder() {}
+
+    static TravelTimeTable build(VelocityModel model, boolean shear, int distances, double distanceStepDeg,
+                                 int depths, double depthStepKm) {
+        int shellsPerNode = (int) Math.round(depthStepKm / SHELL_KM);
+        if (Math.abs(shellsPerNode * SHELL_KM - depthStepKm) > 1e-9 || shellsPerNode < 1) {
+            throw new IllegalArgumentException("depth step must be a multiple of " + SHELL_KM + " km");
+        }
+        double radius = model.radiusKm();
+        int shells = (int) Math.ceil(radius / SHELL_KM);
+        double[] top = new double[shells], bottom = new double[shells], v = new double[shells];
+        for (int k = 0; k < shells; k++) {
+            top[k] = radius - k * SHELL_KM;
+            bottom[k] = Math.max(0, radius - (k + 1) * SHELL_KM);
+            double mid = radius - (top[k] + bottom[k]) / 2;
+            v[k] = shear ? model.vs(mid) : model.vp(mid);
+        }
+        double pMax = 0;
+        for (int j = 0; j < depths; j++) {
+            int k = j * shellsPerNode;
+            if (k < shells && v[k] > 0) pMax = Math.max(pMax, top[k] / v[k]);
+        }
+
+        double[] seconds = new double[distances * depths];
+        Arrays.fill(seconds, Double.POSITIVE_INFINITY);
+        double[] nodeAngle = new double[depths], nodeTime = new double[depths];
+        double[] upAngle = new double[depths], upTime = new double[depths];
+        double[] downAngle = new double[depths], downTime = new double[depths];
+        boolean[] hasUp = new boolean[depths], hasDown = new boolean[depths];
+        double step = Math.toRadians(distanceStepDeg);
+
+        for (int ray = 0; ray < RAYS; ray++) {
+            double p = pMax * ray / RAYS;
+            double angle = 0, time = 0;
+            int reached = 0;
+            boolean turned = false;
+            for (int k = 0; k < shells; k++) {
+                while (reached < depths && reached * shellsPerNode == k) {
+                    nodeAngle[reached] = angle;
+                    nodeTime[reached] = time;
+                    reached++;
+                }
+                if (v[k] <= 0) break; // liquid for S: no through ray
+                double b = p * v[k];
+                if (b >= top[k]) {
+                    turned = true;
+                    break;
+                }
+                double r1 = top[k], r2 = Math.max(bottom[k], b);
+                angle += Math.acos(b / r1) - (r2 > 0 ? Math.acos(Math.min(1, b / r2)) : 0);
+                time += (Math.sqrt(r1 * r1 - b * b) - Math.sqrt(Math.max(0, r2 * r2 - b * b))) / v[k];
+                if (r2 == b || bottom[k] == 0) {
+                    turned = true;
+                    break;
+                }
+            }
+
+            for (int j = 0; j < depths; j++) {
+                if (j >= reached) {
+                    hasUp[j] = hasDown[j] = false;
+                    continue;
+                }
+                double a = nodeAngle[j], t = nodeTime[j];
+                if (hasUp[j]) join(seconds, j, distances, step, upAngle[j], upTime[j], a, t);
+                upAngle[j] = a; upTime[j] = t; hasUp[j] = true;
+                if (turned) {
+                    double da = 2 * angle - a, dt = 2 * time - t;
+                    if (hasDown[j]) join(seconds, j, distances, step, downAngle[j], downTime[j], da, dt);
+                    downAngle[j] = da; downTime[j] = dt; hasDown[j] = true;
+                } else {
+                    hasDown[j] = false;
+                }
+            }
+        }
+
+        float[] minutes = new float[seconds.length];
+        for (int j = 0; j < depths; j++) {
+            fillShadow(seconds, j * distances, distances);
+            for (int i = 0; i < distances; i++) minutes[j * distances + i] = (float) (seconds[j * distances + i] / 60.0);
+        }
+        return new TravelTimeTable(minutes, distances, depths, distanceStepDeg, depthStepKm);
+    }
+
+    /** Writes the segment between two rays into every distance cell it spans, keeping the minimum. */
+    private static void join(double[] seconds, int row, int distances, double step,
+                             double a0, double t0, double a1, double t1) {
+        a0 = fold(a0);
+        a1 = fold(a1);
+        if (Math.abs(a1 - a0) > MAX_JOIN_RAD) return;
+        if (a1 < a0) {
+            double a = a0; a0 = a1; a1 = a;
+            double t = t0; t0 = t1; t1 = t;
+        }
+        int from = (int) Math.ceil(a0 / step), to = Math.min(distances - 1, (int) Math.floor(a1 / step));
+        double span = a1 - a0;
+        for (int i = from; i <= to; i++) {
+            double t = span > 1e-12 ? t0 + (t1 - t0) * (i * step - a0) / span : Math.min(t0, t1);
+            int c = row * distances + i;
+            if (t < seconds[c]) seconds[c] = t;
+        }
+    }
+
+    /** Angles past the antipode arrive from the other side. */
+    private static double fold(double angle) {
+        double a = angle % (2 * Math.PI);
+        return a > Math.PI ? 2 * Math.PI - a : a;
+    }
+
+    /**
+     * Short gaps between rays (under {@link #MAX_GAP_CELLS} cells, e.g. next to the epicentre of a
+     * surface source) are interpolated; longer ones are shadows and diffract (see class comment).
+     */
+    private static void fillShadow(double[] seconds, int from, int n) {
+        int end = from + n;
+        int first = from;
+        while (first < end && Double.isInfinite(seconds[first])) first++;
+        if (first == end) throw new IllegalStateException("no ray reached this source depth");
+        for (int i = from; i < first; i++) seconds[i] = seconds[first];
+        double slope = 0;
+        boolean diffracting = false;
+        for (int i = first + 1; i < end; i++) {
+            if (!diffracting && Double.isInfinite(seconds[i])) {
+                int next = i;
+                while (next < end && Double.isInfinite(seconds[next])) next++;
+                if (next < end && next - i <= MAX_GAP_CELLS) {
+                    double t0 = seconds[i - 1], t1 = seconds[next];
+                    for (int g = i; g < next; g++) seconds[g] = t0 + (t1 - t0) * (g - i + 1) / (next - i + 1);
+                    i = next;
+                    continue;
+                }
+                slope = i - 2 >= from ? Math.max(0, seconds[i - 1] - seconds[i - 2]) : 0;
+                diffracting = true;
+            }
+            if (diffracting) {
+                double next = seconds[i - 1] + slope;
+                if (next < seconds[i]) seconds[i] = next;
+                else diffracting = false;
+            }
+        }
+    }
+}
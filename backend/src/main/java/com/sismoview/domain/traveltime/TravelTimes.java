@@ -0,0 +1,36 @@
+package com.sismoview.domain.traveltime;
+
+/**
+ * P and S first-arrival tables against epicentral distance (0-180 degrees) and source depth
+ * (0-700 km), replacing constant crustal velocities: real rays speed up with depth, so distant
+ * stations hear a quake much sooner than a straight line at 6 km/s would predict.
+ */
+public record TravelTimes(TravelTimeTable p, TravelTimeTable s) {
+    public static final double DISTANCE_STEP_DEG = 0.1;
+    public static final double DEPTH_STEP_KM = 10.0;
+    public static final int DISTANCES = 1801;
+    public static final int DEPTHS = 71;
+
+    public TravelTimes {
+        if (p.distances() != s.distances() || p.depths() != s.depths()
+            || p.distanceStepDeg() != s.distanceStepDeg() || p.depthStepKm() != s.depthStepKm()) {
+            throw new IllegalArgumentException("P and S tables must share their axes");
+        }
+    }
+
+    /** Ray-traced tables for {@code model} on the standard axes; takes about a second. */
+    public static TravelTimes build(VelocityModel model) {
+        return new TravelTimes(
+            TravelTimeTableBuilder.build(model, false, DISTANCES, DISTANCE_STEP_DEG, DEPTHS, DEPTH_STEP_KM),
+            TravelTimeTableBuilder.build(model, true, DISTANCES, DISTANCE_STEP_DEG, DEPTHS, DEPTH_STEP_KM));
+    }
+
+    /** ak135 tables, built on first use and shared. */
+    public static TravelTimes standard() {
+        return Standard.TABLES;
+    }
+
+    private static final class Standard {
+        static final TravelTimes TABLES = build(VelocityModel.ak135());
+    }
+}
@@ -0,0 +1,62 @@
+package com.sismoview.domain.traveltime;
+
+/**
+ * Spherically symmetric Earth: P and S velocity against depth, linear between nodes. A depth
+ * listed twice is a discontinuity; the first entry is the value just above it.
+ */
+public record VelocityModel(double[] depthKm, double[] vp, double[] vs) {
+
+    public VelocityModel {
+        if (depthKm.length < 2 || vp.length != depthKm.length || vs.length != depthKm.length) {
+            throw new IllegalArgumentException("velocity model needs matching depth, vp and vs nodes");
+        }
+        for (int i = 1; i < depthKm.length; i++) {
+            if (depthKm[i] < depthKm[i - 1]) throw new IllegalArgumentException("model depths must not decrease");
+        }
+    }
+
+    /** Simplified ak135 (Kennett, Engdahl and Buland 1995); S velocity is zero in the outer core. */
+    public static VelocityModel ak135() {
+        double[][] nodes = {
+            {0, 5.80, 3.46}, {20, 5.80, 3.46},
+            {20, 6.50, 3.85}, {35, 6.50, 3.85},
+            {35, 8.04, 4.48}, {77.5, 8.045, 4.49}, {120, 8.05, 4.50}, {165, 8.175, 4.509},
+            {210, 8.30, 4.518}, {260, 8.482, 4.609}, {310, 8.665, 4.696}, {360, 8.848, 4.783}, {410, 9.03, 4.87},
+            {410, 9.36, 5.08}, {460, 9.528, 5.186}, {510, 9.696, 5.292}, {560, 9.864, 5.398}, {610, 10.032, 5.504},
+            {660, 10.20, 5.609},
+            {660, 10.79, 5.96}, {760, 11.07, 6.09}, {1000, 11.42, 6.36}, {1500, 12.26, 6.73}, {2000, 12.83, 6.96},
+            {2500, 13.37, 7.18}, {2740, 13.65, 7.26}, {2891.5, 13.66, 7.28},
+            {2891.5, 8.00, 0}, {5153.5, 10.29, 0},
+            {5153.5, 11.04, 3.50}, {6371, 11.26, 3.67},
+        };
+        double[] d = new double[nodes.length], p = new double[nodes.length], s = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            d[i] = nodes[i][0];
+            p[i] = nodes[i][1];
+            s[i] = nodes[i][2];
+        }
+        return new VelocityModel(d, p, s);
+    }
+
+    public double radiusKm() {
+        return depthKm[depthKm.length - 1];
+    }
+
+    public double vp(double depth) {
+        return at(vp, depth);
+    }
+
+    public double vs(double depth) {
+        return at(vs, depth);
+    }
+
+    private double at(double[] v, double depth) {
+        int last = depthKm.length - 1;
+        if (depth <= depthKm[0]) return v[0];
+        if (depth >= depthKm[last]) return v[last];
+        int i = 1;
+        while (depthKm[i] <= depth) i++;
+        double d0 = depthKm[i - 1], d1 = depthKm[i];
+        return v[i - 1] + (v[i] - v[i - 1]) * (depth - d0) / (d1 - d0);
+    }
+}
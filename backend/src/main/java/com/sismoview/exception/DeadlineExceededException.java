@@ -0,0 +1,8 @@
+package com.sismoview.exception;
+
+/** A request ran past its deadline; its unfinished subtasks have been cancelled. */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -27,6 +27,34 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceededException(
+            DeadlineExceededException ex, WebRequest request) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        response.put("error", "Gateway Timeout");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false));
+        
+        return new ResponseEntity<>(response, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    @ExceptionHandler({JobRejectedException.class, SimulationRejectedException.class})
+    public ResponseEntity<Map<String, Object>> handleRejectedException(
+            RuntimeException ex, WebRequest request) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGlobalException(
             Exception ex, WebRequest request) {
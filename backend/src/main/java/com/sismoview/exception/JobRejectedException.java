@@ -0,0 +1,8 @@
+package com.sismoview.exception;
+
+/** The job queue is full; the client should retry later. */
+public class JobRejectedException extends RuntimeException {
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
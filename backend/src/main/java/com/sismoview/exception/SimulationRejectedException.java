@@ -0,0 +1,8 @@
+package com.sismoview.exception;
+
+/** Every tsunami solver is busy and its queue is full; the client should retry later. */
+public class SimulationRejectedException extends RuntimeException {
+    public SimulationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.DistanceMode;
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import com.sismoview.domain.traveltime.TravelTimeCurve;
+import com.sismoview.domain.traveltime.TravelTimes;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk P/S arrival times over primitive coordinate arrays. The source is prepared once per
+ * call and the travel-time tables are cut down to its depth, so each site costs a distance and
+ * two linear lookups. Results go straight into caller-owned arrays and large inputs are split
+ * into fixed chunks that run on the common fork/join pool.
+ */
+public final class ArrivalEngine {
+    /** Below this many sites the fork/join hand-off costs more than it saves. */
+    static final int PARALLEL_THRESHOLD = 32_768;
+    private static final int CHUNK = 8_192;
+
+    private final TravelTimes tables;
+    private final DistanceMode mode;
+
+    public ArrivalEngine(TravelTimes tables) {
+        this(tables, DistanceMode.HAVERSINE);
+    }
+
+    public ArrivalEngine(TravelTimes tables, DistanceMode mode) {
+        this.tables = tables;
+        this.mode = mode;
+    }
+
+    /** Fills {@code pMinutes[i]} / {@code sMinutes[i]} for the site at ({@code lat[i]}, {@code lon[i]}). */
+    public void compute(double srcLat, double srcLon, double depthKm, double[] lat, double[] lon,
+                        double[] pMinutes, double[] sMinutes) {
+        int n = lat.length;
+        if (lon.length != n || pMinutes.length < n || sMinutes.length < n) {
+            throw new IllegalArgumentException("coordinate and output arrays must have matching lengths");
+        }
+        PreparedSource src = EarthGeometry.prepare(srcLat, srcLon);
+        TravelTimeCurve p = tables.p().atDepth(depthKm), s = tables.s().atDepth(depthKm);
+        if (n < PARALLEL_THRESHOLD) {
+            range(src, p, s, lat, lon, pMinutes, sMinutes, 0, n);
+        } else {
+            int chunks = (n + CHUNK - 1) / CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(c ->
+                range(src, p, s, lat, lon, pMinutes, sMinutes, c * CHUNK, Math.min(n, (c + 1) * CHUNK)));
+        }
+    }
+
+    /** Distances land in {@code pMinutes} first and are looked up in place, so no scratch array is needed. */
+    private void range(PreparedSource src, TravelTimeCurve p, TravelTimeCurve s, double[] lat, double[] lon,
+                       double[] pMinutes, double[] sMinutes, int from, int to) {
+        src.distancesKm(lat, lon, pMinutes, from, to, mode);
+        for (int i = from; i < to; i++) {
+            double d = pMinutes[i];
+            pMinutes[i] = p.minutesAtKm(d);
+            sMinutes[i] = s.minutesAtKm(d);
+        }
+    }
+}
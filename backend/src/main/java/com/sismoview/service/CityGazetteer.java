@@ -0,0 +1,133 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.models.Place;
+import com.sismoview.domain.ports.GazetteerPort;
+import com.sismoview.domain.spatial.GeoGridIndex;
+import com.sismoview.domain.spatial.IntList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Server-side city selection: places within a radius, above a population, largest first. The
+ * gazetteer's columns stay wherever the {@link GazetteerPort} keeps them; only a
+ * {@link GeoGridIndex} over the coordinates is built on the heap at startup.
+ *
+ * <p>Since places are numbered by descending population, a population threshold is an id bound
+ * found by binary search, and the top K of a radius are its K lowest ids.
+ */
+@Service
+public class CityGazetteer {
+    private static final Logger log = LoggerFactory.getLogger(CityGazetteer.class);
+    private static final double CELL_DEG = 1.0;
+
+    private final GazetteerPort places;
+    private final GeoGridIndex index;
+    private final int defaultLimit;
+    private final int maxResults;
+    private final Timer selectTimer;
+
+    /** No gazetteer; every selection fails. For tests and tools. */
+    public CityGazetteer() {
+        this(Optional.empty(), new SimpleMeterRegistry(), 100, 10_000);
+    }
+
+    @Autowired
+    public CityGazetteer(Optional<GazetteerPort> places, MeterRegistry registry,
+                         @Value("${sismoview.gazetteer.default-limit:100}") int defaultLimit,
+                         @Value("${sismoview.gazetteer.max-results:10000}") int maxResults) {
+        if (defaultLimit < 1 || maxResults < defaultLimit) {
+            throw new IllegalArgumentException("sismoview.gazetteer limits must satisfy 1 <= default-limit <= max-results");
+        }
+        this.places = places.orElse(null);
+        this.defaultLimit = defaultLimit;
+        this.maxResults = maxResults;
+        this.selectTimer = ServiceMetrics.timer(registry, "gazetteer", "select");
+        this.index = this.places == null ? null : buildIndex(this.places);
+        Gauge.builder("sismoview.gazetteer.places", this, g -> g.size()).register(registry);
+    }
+
+    private static GeoGridIndex buildIndex(GazetteerPort places) {
+        long start = System.nanoTime();
+        int n = places.places();
+        double[] lat = new double[n], lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = places.lat(i);
+            lon[i] = places.lon(i);
+        }
+        GeoGridIndex index = new GeoGridIndex(lat, lon, CELL_DEG);
+        log.info("Indexed {} gazetteer places in {} ms ({} MB heap)", n, (System.nanoTime() - start) / 1_000_000,
+            index.heapBytes() >> 20);
+        return index;
+    }
+
+    public boolean available() {
+        return places != null;
+    }
+
+    public int size() {
+        return places == null ? 0 : places.places();
+    }
+
+    /**
+     * Places within {@code radiusKm} of the point with at least {@code minPopulation} inhabitants,
+     * most populous first, at most {@code limit} ({@code sismoview.gazetteer.default-limit} when null).
+     */
+    public List<Place> select(double lat, double lon, double radiusKm, long minPopulation, Integer limit) {
+        if (places == null) throw new IllegalArgumentException("No gazetteer is configured (sismoview.gazetteer.file)");
+        if (!(radiusKm > 0) || Double.isInfinite(radiusKm)) throw new IllegalArgumentException("radiusKm must be positive");
+        if (minPopulation < 0) throw new IllegalArgumentException("minPopulation must not be negative");
+        int k = limit == null ? defaultLimit : limit;
+        if (k < 1 || k > maxResults) throw new IllegalArgumentException("limit must be in [1, " + maxResults + "]");
+        return selectTimer.record(() -> {
+            int bound = countAtLeast(minPopulation);
+            IntList hits = new IntList();
+            index.withinRadius(lat, lon, radiusKm, id -> {
+                if (id < bound) hits.add(id);
+            });
+            int[] ids = hits.toArray();
+            Arrays.sort(ids);
+            int n = Math.min(k, ids.length);
+            PreparedSource center = EarthGeometry.prepare(lat, lon);
+            List<Place> out = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int p = ids[i];
+                double la = places.lat(p), lo = places.lon(p);
+                out.add(new Place(places.name(p), places.countryCode(p), la, lo, places.population(p), center.distanceKm(la, lo)));
+            }
+            return out;
+        });
+    }
+
+    /** {@link #select} as simulation inputs. */
+    public List<City> cities(double lat, double lon, double radiusKm, long minPopulation, Integer limit) {
+        List<Place> selected = select(lat, lon, radiusKm, minPopulation, limit);
+        List<City> out = new ArrayList<>(selected.size());
+        for (Place p : selected) out.add(p.toCity());
+        return out;
+    }
+
+    /** Number of leading places with population >= {@code min}, by binary search on the descending column. */
+    private int countAtLeast(long min) {
+        int lo = 0, hi = places.places();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (places.population(mid) >= min) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
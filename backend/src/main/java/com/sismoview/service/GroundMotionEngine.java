@@ -0,0 +1,64 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.DistanceMode;
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import com.sismoview.domain.ground.GroundMotionModel;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk ground motion over primitive coordinate arrays, the counterpart of {@link ArrivalEngine}:
+ * the source position and the relation's magnitude terms are prepared once per call, so a site
+ * costs a distance, a square root and the relation's one or two logarithms. Large inputs are split
+ * into fixed chunks on the common fork/join pool.
+ */
+public final class GroundMotionEngine {
+    private static final int PARALLEL_THRESHOLD = ArrivalEngine.PARALLEL_THRESHOLD;
+    private static final int CHUNK = 8_192;
+
+    private final GroundMotionModel model;
+    private final DistanceMode mode;
+
+    public GroundMotionEngine(GroundMotionModel model) {
+        this(model, DistanceMode.HAVERSINE);
+    }
+
+    public GroundMotionEngine(GroundMotionModel model, DistanceMode mode) {
+        this.model = model;
+        this.mode = mode;
+    }
+
+    public GroundMotionModel model() {
+        return model;
+    }
+
+    /**
+     * Fills {@code hypocentralKm[i]}, {@code pgaG[i]}, {@code pgvCmS[i]} and {@code mmi[i]} for the
+     * site at ({@code lat[i]}, {@code lon[i]}). {@code pgaG} and {@code pgvCmS} may be null.
+     */
+    public void compute(double srcLat, double srcLon, double depthKm, double magnitude, double[] lat, double[] lon,
+                        double[] hypocentralKm, double[] pgaG, double[] pgvCmS, double[] mmi) {
+        int n = lat.length;
+        if (lon.length != n || hypocentralKm.length < n || mmi.length < n
+            || (pgaG != null && pgaG.length < n) || (pgvCmS != null && pgvCmS.length < n)) {
+            throw new IllegalArgumentException("coordinate and output arrays must have matching lengths");
+        }
+        PreparedSource src = EarthGeometry.prepare(srcLat, srcLon);
+        GroundMotionModel.Source source = model.prepare(magnitude, depthKm);
+        double depth2 = depthKm * depthKm;
+        if (n < PARALLEL_THRESHOLD) {
+            range(src, source, depth2, lat, lon, hypocentralKm, pgaG, pgvCmS, mmi, 0, n);
+        } else {
+            int chunks = (n + CHUNK - 1) / CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(c -> range(src, source, depth2, lat, lon,
+                hypocentralKm, pgaG, pgvCmS, mmi, c * CHUNK, Math.min(n, (c + 1) * CHUNK)));
+        }
+    }
+
+    private void range(PreparedSource src, GroundMotionModel.Source source, double depth2, double[] lat, double[] lon,
+                       double[] hypo, double[] pgaG, double[] pgvCmS, double[] mmi, int from, int to) {
+        src.distancesKm(lat, lon, hypo, from, to, mode);
+        for (int i = from; i < to; i++) hypo[i] = Math.sqrt(hypo[i] * hypo[i] + depth2);
+        source.evaluate(hypo, from, to, pgaG, pgvCmS, mmi);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sismoview.service;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress callback for long computations. Reports are fractions in [0, 1]; implementations
+ * must be cheap, since solvers report every step.
+ */
+@FunctionalInterface
+public interface Progress {
+    Progress NONE = fraction -> {};
+
+    void update(double fraction);
+
+    /** Throws if the running thread was interrupted, i.e. its job was cancelled. */
+    static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("cancelled");
+    }
+}
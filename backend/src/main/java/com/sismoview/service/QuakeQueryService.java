@@ -0,0 +1,164 @@
+package com.sismoview.service;
+
+import com.sismoview.domain.models.Quake;
+import com.sismoview.domain.models.QuakeQuery;
+import com.sismoview.domain.ports.QuakeFeedPort;
+import com.sismoview.domain.spatial.GeoGridIndex;
+import com.sismoview.domain.spatial.IntList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Spatial and magnitude queries over the live feed. Each feed snapshot is indexed once
+ * (the feed hands out the same immutable list until it refreshes) and later queries reuse it.
+ */
+@Service
+public class QuakeQueryService {
+    private static final double CELL_DEG = 1.0;
+    private static final int MAX_NEAREST = 10_000;
+    private static final int RECENT = 4;
+
+    private final QuakeFeedPort feed;
+    private volatile List<IndexedQuakes> recent = List.of();
+
+    public QuakeQueryService(QuakeFeedPort feed) {
+        this.feed = feed;
+    }
+
+    public List<Quake> query(String window, QuakeQuery q) {
+        List<Quake> all = feed.getLiveQuakes(window);
+        if (q == null || q.isEmpty()) return all;
+        validate(q);
+        IndexedQuakes idx = indexFor(all);
+
+        double minMag = q.minMagnitude() != null ? q.minMagnitude() : Double.NEGATIVE_INFINITY;
+        IntPredicate pass = i -> idx.mag[i] >= minMag;
+        if (q.hasBox()) {
+            IntPredicate inBox = idx.boxFilter(q.minLat(), q.maxLat(), q.minLon(), q.maxLon());
+            pass = pass.and(inBox);
+        }
+
+        if (q.nearest() != null) {
+            double maxRadius = q.radiusKm() != null ? q.radiusKm() : Double.POSITIVE_INFINITY;
+            return idx.pick(idx.grid.nearest(q.lat(), q.lon(), q.nearest(), maxRadius, pass), false);
+        }
+        IntList hits = new IntList();
+        IntPredicate accept = pass;
+        if (q.radiusKm() != null) {
+            idx.grid.withinRadius(q.lat(), q.lon(), q.radiusKm(), i -> {
+                if (accept.test(i)) hits.add(i);
+            });
+        } else if (q.hasBox()) {
+            idx.grid.withinBox(q.minLat(), q.maxLat(), q.minLon(), q.maxLon(), i -> {
+                if (accept.test(i)) hits.add(i);
+            });
+        } else {
+            return idx.pick(idx.atLeastMagnitude(minMag), true);
+        }
+        return idx.pick(hits.toArray(), true);
+    }
+
+    private IndexedQuakes indexFor(List<Quake> source) {
+        List<IndexedQuakes> snapshot = recent;
+        for (IndexedQuakes idx : snapshot) {
+            if (idx.source == source) return idx;
+        }
+        IndexedQuakes built = new IndexedQuakes(source);
+        List<IndexedQuakes> next = new ArrayList<>(RECENT);
+        next.add(built);
+        for (int i = 0; i < snapshot.size() && next.size() < RECENT; i++) next.add(snapshot.get(i));
+        recent = List.copyOf(next);
+        return built;
+    }
+
+    private static void validate(QuakeQuery q) {
+        if (q.hasBox() && (q.minLat() == null || q.maxLat() == null || q.minLon() == null || q.maxLon() == null)) {
+            throw new IllegalArgumentException("bbox requires minLat, maxLat, minLon and maxLon");
+        }
+        if (q.hasBox() && (q.minLat() < -90 || q.maxLat() > 90 || q.minLat() > q.maxLat())) {
+            throw new IllegalArgumentException("bbox latitudes must satisfy -90 <= minLat <= maxLat <= 90");
+        }
+        if (q.hasCenter() && (q.lat() == null || q.lon() == null)) {
+            throw new IllegalArgumentException("center requires both lat and lon");
+        }
+        if (q.hasCenter() && (q.lat() < -90 || q.lat() > 90)) {
+            throw new IllegalArgumentException("lat must be within [-90, 90]");
+        }
+        if ((q.radiusKm() != null || q.nearest() != null) && !q.hasCenter()) {
+            throw new IllegalArgumentException("radiusKm and nearest require lat and lon");
+        }
+        if (q.hasCenter() && q.radiusKm() == null && q.nearest() == null) {
+            throw new IllegalArgumentException("lat/lon require radiusKm or nearest");
+        }
+        if (q.radiusKm() != null && q.radiusKm() < 0) {
+            throw new IllegalArgumentException("radiusKm must be >= 0");
+        }
+        if (q.nearest() != null && (q.nearest() < 1 || q.nearest() > MAX_NEAREST)) {
+            throw new IllegalArgumentException("nearest must be within [1, " + MAX_NEAREST + "]");
+        }
+    }
+
+    private static final class IndexedQuakes {
+        final List<Quake> source;
+        final GeoGridIndex grid;
+        final double[] lat;
+        final double[] lon;
+        final double[] mag;
+        final int[] byMagnitudeDesc;
+
+        IndexedQuakes(List<Quake> source) {
+            this.source = source;
+            int n = source.size();
+            lat = new double[n];
+            lon = new double[n];
+            mag = new double[n];
+            long[] keyed = new long[n];
+            for (int i = 0; i < n; i++) {
+                Quake q = source.get(i);
+                lat[i] = q.getLat();
+                lon[i] = q.getLon();
+                mag[i] = q.getMagnitude();
+                // sortable bits of -magnitude in the high word, position in the low word
+                int bits = Float.floatToIntBits((float) -mag[i]);
+                bits ^= (bits >> 31) & 0x7fffffff;
+                keyed[i] = ((long) bits << 32) | i;
+            }
+            Arrays.sort(keyed);
+            byMagnitudeDesc = new int[n];
+            for (int i = 0; i < n; i++) byMagnitudeDesc[i] = (int) keyed[i];
+            grid = new GeoGridIndex(lat, lon, CELL_DEG);
+        }
+
+        /** Ids with magnitude >= minMag, found by binary search on the magnitude order. */
+        int[] atLeastMagnitude(double minMag) {
+            int lo = 0, hi = byMagnitudeDesc.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (mag[byMagnitudeDesc[mid]] >= minMag) lo = mid + 1; else hi = mid;
+            }
+            return Arrays.copyOf(byMagnitudeDesc, lo);
+        }
+
+        IntPredicate boxFilter(double minLat, double maxLat, double minLon, double maxLon) {
+            double lo = GeoGridIndex.normalizeLon(minLon), hi = GeoGridIndex.normalizeLon(maxLon);
+            boolean full = maxLon - minLon >= 360.0;
+            return i -> {
+                if (lat[i] < minLat || lat[i] > maxLat) return false;
+                if (full) return true;
+                double l = GeoGridIndex.normalizeLon(lon[i]);
+                return lo <= hi ? (l >= lo && l <= hi) : (l >= lo || l <= hi);
+            };
+        }
+
+        /** Materializes ids; {@code feedOrder} restores the feed's newest-first order. */
+        List<Quake> pick(int[] ids, boolean feedOrder) {
+            if (feedOrder) Arrays.sort(ids);
+            List<Quake> out = new ArrayList<>(ids.length);
+            for (int id : ids) out.add(source.get(id));
+            return out;
+        }
+    }
+}
@@ -1,50 +1,154 @@
 package com.sismoview.service;
 
+import com.sismoview.domain.DistanceMode;
 import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.ground.GroundMotionModels;
 import com.sismoview.domain.models.*;
+import com.sismoview.domain.traveltime.TravelTimeCurve;
+import com.sismoview.domain.traveltime.TravelTimes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SeismicService {
-    private static final double VP = 6.0;   // km/s
-    private static final double VS = 3.5;   // km/s
+    private static final double KM_PER_DEG = Math.PI * EarthGeometry.R_KM / 180.0;
+    /** Modified Mercalli classes as drawn for the grid's intensity layer. */
+    private static final List<LegendItem> MMI_LEGEND = List.of(
+        new LegendItem("I No sentido", "#ffffff"),
+        new LegendItem("II–III Débil", "#bfccff"),
+        new LegendItem("IV Ligero", "#a0e6ff"),
+        new LegendItem("V Moderado", "#80ffff"),
+        new LegendItem("VI Fuerte", "#7aff93"),
+        new LegendItem("VII Muy fuerte", "#ffff00"),
+        new LegendItem("VIII Severo", "#ffc800"),
+        new LegendItem("IX Violento", "#ff9100"),
+        new LegendItem("X+ Extremo", "#ff0000")
+    );
 
+    private final TravelTimes tables;
+    private final ArrivalEngine engine;
+    private final GroundMotionEngine groundMotion;
+    private final Timer ringsTimer;
+    private final Timer arrivalsTimer;
+    private final Timer groundMotionTimer;
+
+    /**
+     * Haversine arrivals on the standard tables and the standard ground-motion model, metrics kept
+     * in a private registry; for tests and benchmarks.
+     */
+    public SeismicService() {
+        this(DistanceMode.HAVERSINE, TravelTimes.standard(), GroundMotionModels.standard(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public SeismicService(@Value("${sismoview.geometry.arrivals:HAVERSINE}") DistanceMode arrivalDistance,
+                          TravelTimes tables, GroundMotionModel groundMotionModel, MeterRegistry registry) {
+        this.tables = tables;
+        this.engine = new ArrivalEngine(tables, arrivalDistance);
+        this.groundMotion = new GroundMotionEngine(groundMotionModel, arrivalDistance);
+        this.ringsTimer = ServiceMetrics.timer(registry, "seismic", "rings");
+        this.arrivalsTimer = ServiceMetrics.timer(registry, "seismic", "arrivals");
+        this.groundMotionTimer = ServiceMetrics.timer(registry, "seismic", "ground-motion");
+    }
+
+    /** P and S wavefront radii {@code minutes} after a surface source. */
     public List<RingSegment> ringsMinutes(double minutes) {
-        double t = minutes;
-        double rP = VP * 60.0 * t;
-        double rS = VS * 60.0 * t;
+        return ringsMinutes(minutes, 0);
+    }
+
+    /** Surface distance (great-circle km) each wavefront has reached {@code minutes} after origin. */
+    public List<RingSegment> ringsMinutes(double minutes, double depthKm) {
+        return ringsTimer.record(() -> rings(minutes, depthKm));
+    }
+
+    private List<RingSegment> rings(double minutes, double depthKm) {
+        TravelTimeCurve p = tables.p().atDepth(depthKm), s = tables.s().atDepth(depthKm);
         return Arrays.asList(
-            new RingSegment("P", t, rP),
-            new RingSegment("S", t, rS)
+            new RingSegment("P", minutes, p.distanceDegAt(minutes) * KM_PER_DEG),
+            new RingSegment("S", minutes, s.distanceDegAt(minutes) * KM_PER_DEG)
         );
     }
 
+    /** Arrivals from a surface source; see {@link #arrivalsForCities(double, double, double, double, List)}. */
     public List<Arrival> arrivalsForCities(double srcLat, double srcLon, double magnitude, List<City> cities){
-        List<Arrival> out = new ArrayList<>();
-        for(City c : cities){
-            double d = EarthGeometry.haversineKm(srcLat, srcLon, c.getLat(), c.getLon());
-            double tP = d / (VP * 60.0);
-            double tS = d / (VS * 60.0);
-            out.add(new Arrival(c.getName(), "P", tP));
-            out.add(new Arrival(c.getName(), "S", tS));
+        return arrivalsForCities(srcLat, srcLon, 0, magnitude, cities);
+    }
+
+    /**
+     * First P and S arrival, in minutes after origin, at each city for a source {@code depthKm} deep.
+     * Travel times do not depend on magnitude; {@link #intensityForCities} gives the shaking.
+     */
+    public List<Arrival> arrivalsForCities(double srcLat, double srcLon, double depthKm, double magnitude, List<City> cities){
+        long start = System.nanoTime();
+        int n = cities.size();
+        double[] lat = new double[n], lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            City c = cities.get(i);
+            lat[i] = c.getLat();
+            lon[i] = c.getLon();
+        }
+        double[] tP = new double[n], tS = new double[n];
+        engine.compute(srcLat, srcLon, depthKm, lat, lon, tP, tS);
+
+        List<Arrival> out = new ArrayList<>(2 * n);
+        for (int i = 0; i < n; i++) {
+            String name = cities.get(i).getName();
+            out.add(new Arrival(name, "P", tP[i]));
+            out.add(new Arrival(name, "S", tS[i]));
         }
+        arrivalsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return out;
     }
 
+    /** Primitive form of {@link #arrivalsForCities}: P and S minutes per site, no DTOs. */
+    public void arrivalTimes(double srcLat, double srcLon, double[] lat, double[] lon, double[] pMinutes, double[] sMinutes){
+        arrivalTimes(srcLat, srcLon, 0, lat, lon, pMinutes, sMinutes);
+    }
+
+    public void arrivalTimes(double srcLat, double srcLon, double depthKm, double[] lat, double[] lon,
+                             double[] pMinutes, double[] sMinutes){
+        long start = System.nanoTime();
+        engine.compute(srcLat, srcLon, depthKm, lat, lon, pMinutes, sMinutes);
+        arrivalsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /** Predicted PGA, PGV and Modified Mercalli intensity at each city for a source {@code depthKm} deep. */
+    public List<CityIntensity> intensityForCities(double srcLat, double srcLon, double depthKm, double magnitude, List<City> cities){
+        int n = cities.size();
+        double[] lat = new double[n], lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            City c = cities.get(i);
+            lat[i] = c.getLat();
+            lon[i] = c.getLon();
+        }
+        double[] hypo = new double[n], pga = new double[n], pgv = new double[n], mmi = new double[n];
+        groundMotion(srcLat, srcLon, depthKm, magnitude, lat, lon, hypo, pga, pgv, mmi);
+
+        List<CityIntensity> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new CityIntensity(cities.get(i).getName(), hypo[i], pga[i], pgv[i], mmi[i]));
+        }
+        return out;
+    }
+
+    /** Primitive form of {@link #intensityForCities}; {@code pgaG} and {@code pgvCmS} may be null. */
+    public void groundMotion(double srcLat, double srcLon, double depthKm, double magnitude, double[] lat, double[] lon,
+                             double[] hypocentralKm, double[] pgaG, double[] pgvCmS, double[] mmi){
+        long start = System.nanoTime();
+        groundMotion.compute(srcLat, srcLon, depthKm, magnitude, lat, lon, hypocentralKm, pgaG, pgvCmS, mmi);
+        groundMotionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     public IntensityResult intensityLegend(String gridId){
-        List<LegendItem> legend = Arrays.asList(
-            new LegendItem("1 Muy débil", "#4aa5ff"),
-            new LegendItem("2 Débil", "#7fb3ff"),
-            new LegendItem("3 Ligero", "#9de0ff"),
-            new LegendItem("4 Moderado", "#ffc266"),
-            new LegendItem("5 Fuerte", "#ff9f40"),
-            new LegendItem("6 Muy fuerte", "#ff6b6b"),
-            new LegendItem("7 Severo", "#d64562"),
-            new LegendItem("8 Extremo", "#ad2e5c")
-        );
-        return new IntensityResult(gridId, legend);
+        return new IntensityResult(gridId, MMI_LEGEND);
     }
 }
@@ -0,0 +1,22 @@
+package com.sismoview.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * One timer name for every service operation, told apart by two fixed tags, with a percentile
+ * histogram so p99 can be aggregated across instances. Tags never carry request values.
+ */
+public final class ServiceMetrics {
+    public static final String OPERATION_TIMER = "sismoview.service.operation";
+
+    private ServiceMetrics() {}
+
+    public static Timer timer(MeterRegistry registry, String service, String operation) {
+        return Timer.builder(OPERATION_TIMER)
+            .tag("service", service)
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
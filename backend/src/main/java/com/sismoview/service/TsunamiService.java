@@ -1,32 +1,265 @@
 package com.sismoview.service;
 
+import com.sismoview.domain.TsunamiMode;
+import com.sismoview.domain.grid.GridIds;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
 import com.sismoview.domain.ports.BathymetryPort;
+import com.sismoview.domain.ports.TsunamiScenarioPort;
+import com.sismoview.domain.models.CoastArrival;
 import com.sismoview.domain.models.LegendItem;
 import com.sismoview.domain.models.TsunamiResult;
+import com.sismoview.service.grid.RasterStore;
+import com.sismoview.service.tsunami.FastMarchingEta;
+import com.sismoview.service.tsunami.ScenarioForecast;
+import com.sismoview.service.tsunami.ShallowWaterSolver;
+import com.sismoview.service.tsunami.TsunamiSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Tsunami ETA and height rasters. With a unit-source database configured, scenarios near its
+ * catalog are assembled from precomputed runs on the database's forecast grid in milliseconds;
+ * the rest, and every scenario without a database, run the shallow-water solver.
+ *
+ * <p>{@link TsunamiMode#ETA} skips heights altogether: arrival times come from fast marching the
+ * long-wave speed over the bathymetry, on its own (wider) grid, along with the coast cells'
+ * arrivals.
+ */
 @Service
 public class TsunamiService {
+    private static final Logger log = LoggerFactory.getLogger(TsunamiService.class);
+
+    public static final String KIND = "tsu";
+    public static final int MODEL_VERSION = 1;
+    public static final String ETA_MINUTES = "etaMinutes";
+    public static final String MAX_HEIGHT = "maxHeightM";
+    public static final String RELATIVE_HEIGHT = "relativeHeight";
+    /** ETA-mode layer: arrival minutes on coast cells only, NaN elsewhere. */
+    public static final String COAST_ETA = "coastEtaMinutes";
+    /** Grid-id variant for fast-marching runs. */
+    public static final String ETA_VARIANT = "eikonal";
+
+    private static final List<LegendItem> ETA_LEGEND = List.of(
+        new LegendItem("0–30 min", "#4aa5ff"),
+        new LegendItem("30–60 min", "#7fb3ff"),
+        new LegendItem("1–3 h", "#9de0ff"),
+        new LegendItem(">3 h", "#ffc266"));
+    private static final List<LegendItem> HEIGHT_LEGEND = List.of(
+        new LegendItem("Baja", "#7fb3ff"),
+        new LegendItem("Media", "#ff9f40"),
+        new LegendItem("Alta", "#ff6b6b"));
+
     private final BathymetryPort bathy;
+    private final RasterStore store;
+    private final ShallowWaterSolver solver;
+    private final double spanDeg;
+    private final double cellDeg;
+    private final int maxCells;
+    private final double durationMinutes;
+    private final ScenarioForecast scenarios;
+    private final FastMarchingEta marcher = new FastMarchingEta();
+    private final double etaSpanDeg;
+    private final double etaCellDeg;
+    private final int etaMaxCells;
+    private final int maxCoastPoints;
+
+    private final Timer simulateTimer;
+    private final Timer forecastTimer;
+    private final Timer etaTimer;
+    private final Counter scenarioHits;
+    private final Counter scenarioFallbacks;
+    private final Timer bathymetryTimer;
+    private final Timer solveTimer;
+    private final Counter stepCounter;
+    private volatile double lastStepsPerSecond;
 
-    public TsunamiService(BathymetryPort bathy){
+    /**
+     * Solver only, no unit-source database, and ETA mode on the solver's grid; for tests and the
+     * database builder.
+     */
+    public TsunamiService(BathymetryPort bathy, RasterStore store, MeterRegistry registry,
+                          double spanDeg, double cellDeg, int maxCells, int maxSteps, double durationMinutes){
+        this(bathy, Optional.empty(), store, registry, spanDeg, cellDeg, maxCells, maxSteps, durationMinutes, 100,
+            spanDeg, cellDeg, maxCells, 500);
+    }
+
+    @Autowired
+    public TsunamiService(BathymetryPort bathy, Optional<TsunamiScenarioPort> scenarios, RasterStore store, MeterRegistry registry,
+                          @Value("${sismoview.tsunami.span-deg:30}") double spanDeg,
+                          @Value("${sismoview.tsunami.cell-deg:0.1}") double cellDeg,
+                          @Value("${sismoview.tsunami.max-cells:1000000}") int maxCells,
+                          @Value("${sismoview.tsunami.max-steps:20000}") int maxSteps,
+                          @Value("${sismoview.tsunami.duration-minutes:240}") double durationMinutes,
+                          @Value("${sismoview.tsunami.scenarios.max-distance-km:100}") double scenarioMaxDistanceKm,
+                          @Value("${sismoview.tsunami.eta.span-deg:60}") double etaSpanDeg,
+                          @Value("${sismoview.tsunami.eta.cell-deg:0.05}") double etaCellDeg,
+                          @Value("${sismoview.tsunami.eta.max-cells:4000000}") int etaMaxCells,
+                          @Value("${sismoview.tsunami.eta.max-coast-points:500}") int maxCoastPoints){
+        if (maxCoastPoints < 0) throw new IllegalArgumentException("sismoview.tsunami.eta.max-coast-points must not be negative");
         this.bathy = bathy;
+        this.store = store;
+        this.solver = new ShallowWaterSolver(ForkJoinPool.commonPool(), maxSteps);
+        this.spanDeg = spanDeg;
+        this.cellDeg = cellDeg;
+        this.maxCells = maxCells;
+        this.durationMinutes = durationMinutes;
+        this.scenarios = scenarios.map(db -> new ScenarioForecast(db, scenarioMaxDistanceKm)).orElse(null);
+        this.etaSpanDeg = etaSpanDeg;
+        this.etaCellDeg = etaCellDeg;
+        this.etaMaxCells = etaMaxCells;
+        this.maxCoastPoints = maxCoastPoints;
+        this.simulateTimer = ServiceMetrics.timer(registry, "tsunami", "simulate");
+        this.forecastTimer = ServiceMetrics.timer(registry, "tsunami", "forecast");
+        this.etaTimer = ServiceMetrics.timer(registry, "tsunami", "eta");
+        this.scenarioHits = registry.counter("sismoview.tsunami.scenarios", "outcome", "hit");
+        this.scenarioFallbacks = registry.counter("sismoview.tsunami.scenarios", "outcome", "fallback");
+        this.bathymetryTimer = ServiceMetrics.timer(registry, "tsunami", "bathymetry");
+        this.solveTimer = Timer.builder("sismoview.tsunami.solver.run").publishPercentileHistogram().register(registry);
+        this.stepCounter = registry.counter("sismoview.tsunami.solver.steps");
+        Gauge.builder("sismoview.tsunami.solver.steps_per_second", this, t -> t.lastStepsPerSecond)
+            .description("Solver throughput of the most recent run")
+            .register(registry);
     }
 
     public TsunamiResult simulate(double lat, double lon, double magnitude, double depthKm){
-        List<LegendItem> eta = new ArrayList<>();
-        eta.add(new LegendItem("0–30 min", "#4aa5ff"));
-        eta.add(new LegendItem("30–60 min", "#7fb3ff"));
-        eta.add(new LegendItem("1–3 h", "#9de0ff"));
-        eta.add(new LegendItem(">3 h", "#ffc266"));
-
-        List<LegendItem> height = new ArrayList<>();
-        height.add(new LegendItem("Baja", "#7fb3ff"));
-        height.add(new LegendItem("Media", "#ff9f40"));
-        height.add(new LegendItem("Alta", "#ff6b6b"));
-
-        return new TsunamiResult("grid-tsunami-demo", eta, height);
+        return simulate(lat, lon, magnitude, depthKm, Progress.NONE);
+    }
+
+    /** Same as {@link #simulate(double, double, double, double)}, reporting solver progress; cancellable by interrupt. */
+    public TsunamiResult simulate(double lat, double lon, double magnitude, double depthKm, Progress progress){
+        return simulate(lat, lon, magnitude, depthKm, TsunamiMode.WAVE, progress);
+    }
+
+    /**
+     * In {@link TsunamiMode#ETA} the result has no height legend and lists the coast cells the front
+     * reaches, earliest first, at most {@code sismoview.tsunami.eta.max-coast-points} of them.
+     */
+    public TsunamiResult simulate(double lat, double lon, double magnitude, double depthKm, TsunamiMode mode, Progress progress){
+        if (mode == TsunamiMode.WAVE) {
+            Raster raster = simulateGrid(lat, lon, magnitude, depthKm, progress);
+            return new TsunamiResult(raster.getId(), ETA_LEGEND, HEIGHT_LEGEND);
+        }
+        Raster raster = simulateEtaGrid(lat, lon, magnitude, depthKm, progress);
+        return new TsunamiResult(raster.getId(), ETA_LEGEND, null, coastArrivals(raster));
+    }
+
+    /**
+     * ETA / height rasters for the scenario, computed once per distinct scenario and grid: from the
+     * unit-source database when it covers the epicenter, otherwise by the solver.
+     */
+    public Raster simulateGrid(double lat, double lon, double magnitude, double depthKm){
+        return simulateGrid(lat, lon, magnitude, depthKm, Progress.NONE);
+    }
+
+    public Raster simulateGrid(double lat, double lon, double magnitude, double depthKm, Progress progress){
+        return simulateTimer.record(() -> {
+            if (scenarios != null) {
+                if (scenarios.covers(lat, lon)) {
+                    scenarioHits.increment();
+                    String id = GridIds.of(KIND, ScenarioForecast.VARIANT, MODEL_VERSION, scenarios.grid(), lat, lon, magnitude, depthKm);
+                    Raster raster = store.getOrCompute(id, () -> forecastTimer.record(() -> forecast(id, lat, lon, magnitude, depthKm)));
+                    progress.update(1.0);
+                    return raster;
+                }
+                scenarioFallbacks.increment();
+            }
+            GridSpec spec = solverGrid(lat, lon);
+            String id = GridIds.of(KIND, MODEL_VERSION, spec, lat, lon, magnitude, depthKm, durationMinutes);
+            Raster raster = store.getOrCompute(id, () -> solve(id, spec, TsunamiSource.fromQuake(lat, lon, magnitude, depthKm), progress));
+            progress.update(1.0);
+            return raster;
+        });
+    }
+
+    /** {@link #ETA_MINUTES} and {@link #COAST_ETA} rasters by fast marching, computed once per scenario and grid. */
+    public Raster simulateEtaGrid(double lat, double lon, double magnitude, double depthKm, Progress progress){
+        GridSpec spec = squareGrid(lat, lon, etaSpanDeg, etaCellDeg, etaMaxCells);
+        String id = GridIds.of(KIND, ETA_VARIANT, MODEL_VERSION, spec, lat, lon, magnitude, depthKm);
+        Raster raster = store.getOrCompute(id, () -> etaTimer.record(() -> march(id, spec, TsunamiSource.fromQuake(lat, lon, magnitude, depthKm), progress)));
+        progress.update(1.0);
+        return raster;
+    }
+
+    GridSpec solverGrid(double lat, double lon){
+        return squareGrid(lat, lon, spanDeg, cellDeg, maxCells);
+    }
+
+    /** Square grid around the epicenter, coarsened if needed to stay within the cell budget. */
+    private static GridSpec squareGrid(double lat, double lon, double spanDeg, double cellDeg, int maxCells){
+        int side = (int) Math.ceil(spanDeg / cellDeg);
+        int maxSide = (int) Math.floor(Math.sqrt(maxCells));
+        side = Math.max(8, Math.min(side, maxSide));
+        return GridSpec.around(lat, lon, spanDeg, side, side);
+    }
+
+    private Raster march(String id, GridSpec spec, TsunamiSource source, Progress progress){
+        float[] depth = new float[spec.cells()];
+        bathymetryTimer.record(() -> bathy.sampleGrid(spec, depth));
+        FastMarchingEta.Result res = marcher.run(spec, depth, source, progress);
+        log.debug("Fast marching {} reached {} cells in {} s", id, res.reached(), res.wallSeconds());
+        Map<String, float[]> layers = new LinkedHashMap<>();
+        layers.put(ETA_MINUTES, res.etaMinutes());
+        layers.put(COAST_ETA, res.coastEtaMinutes());
+        return new Raster(id, KIND, spec, layers);
+    }
+
+    private List<CoastArrival> coastArrivals(Raster raster){
+        GridSpec spec = raster.getSpec();
+        float[] coast = raster.layer(COAST_ETA);
+        List<CoastArrival> out = new ArrayList<>();
+        for (int i = 0; i < coast.length; i++) {
+            if (Float.isNaN(coast[i])) continue;
+            int row = i / spec.cols();
+            out.add(new CoastArrival(spec.lat(row), spec.lon(i - row * spec.cols()), coast[i]));
+        }
+        out.sort(Comparator.comparingDouble(CoastArrival::minutes));
+        return out.size() > maxCoastPoints ? List.copyOf(out.subList(0, maxCoastPoints)) : out;
+    }
+
+    private Raster forecast(String id, double lat, double lon, double magnitude, double depthKm){
+        ScenarioForecast.Forecast f = scenarios.forecast(lat, lon, magnitude, depthKm);
+        Map<String, float[]> layers = new LinkedHashMap<>();
+        layers.put(ETA_MINUTES, f.etaMinutes());
+        layers.put(MAX_HEIGHT, f.maxHeightM());
+        layers.put(RELATIVE_HEIGHT, f.relativeHeight());
+        return new Raster(id, KIND, scenarios.grid(), layers);
+    }
+
+    private Raster solve(String id, GridSpec spec, TsunamiSource source, Progress progress){
+        int n = spec.cells();
+        float[] depth = new float[n];
+        bathymetryTimer.record(() -> bathy.sampleGrid(spec, depth));
+
+        ShallowWaterSolver.Result res = solveTimer.record(() -> solver.run(spec, depth, source, durationMinutes * 60.0, progress));
+        stepCounter.increment(res.steps());
+        lastStepsPerSecond = res.stepsPerSecond();
+        if (res.stepCapped()) {
+            log.warn("Tsunami run {} hit the step cap after {} steps ({} s simulated)", id, res.steps(), res.simulatedSeconds());
+        }
+
+        float[] relative = new float[n];
+        float a0 = (float) source.amplitudeM();
+        for (int i = 0; i < n; i++) relative[i] = a0 > 0 ? res.maxHeightM()[i] / a0 : 0f;
+
+        Map<String, float[]> layers = new LinkedHashMap<>();
+        layers.put(ETA_MINUTES, res.arrivalMinutes());
+        layers.put(MAX_HEIGHT, res.maxHeightM());
+        layers.put(RELATIVE_HEIGHT, relative);
+        return new Raster(id, KIND, spec, layers);
     }
 }
@@ -0,0 +1,61 @@
+package com.sismoview.service.grid;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal grayscale PNG writer (8 or 16 bits, no alpha). Rows use the "Up" filter, which turns
+ * smooth fields into long runs of small deltas that deflate well; browsers decode it natively.
+ */
+final class GrayPng {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte FILTER_UP = 2;
+
+    private GrayPng() {}
+
+    /** {@code pixels} is row-major, top row first, big-endian for 16-bit samples. */
+    static byte[] encode(byte[] pixels, int width, int height, int bitDepth) {
+        int stride = width * bitDepth / 8;
+        byte[] filtered = new byte[height * (stride + 1)];
+        for (int row = 0, o = 0; row < height; row++) {
+            filtered[o++] = FILTER_UP;
+            int cur = row * stride, prev = cur - stride;
+            for (int i = 0; i < stride; i++) {
+                filtered[o++] = (byte) (pixels[cur + i] - (row == 0 ? 0 : pixels[prev + i]));
+            }
+        }
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream idat = new ByteArrayOutputStream(filtered.length / 4 + 64);
+        try {
+            deflater.setInput(filtered);
+            deflater.finish();
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) idat.write(buf, 0, deflater.deflate(buf));
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer ihdr = ByteBuffer.allocate(13).putInt(width).putInt(height)
+            .put((byte) bitDepth).put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(idat.size() + 64);
+        out.writeBytes(SIGNATURE);
+        chunk(out, "IHDR", ihdr.array());
+        chunk(out, "IDAT", idat.toByteArray());
+        chunk(out, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    private static void chunk(ByteArrayOutputStream out, String type, byte[] data) {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+        out.writeBytes(name);
+        out.writeBytes(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+}
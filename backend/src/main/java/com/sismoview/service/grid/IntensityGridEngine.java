@@ -0,0 +1,133 @@
+package com.sismoview.service.grid;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.ground.GroundMotionModels;
+import com.sismoview.domain.traveltime.TravelTimeCurve;
+import com.sismoview.domain.traveltime.TravelTimes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * P/S first-arrival minutes and predicted PGA, PGV and Modified Mercalli intensity for every cell
+ * of a grid. The grid is cut into square tiles that run as fork/join tasks; per-row and per-column
+ * trig terms, the travel-time curves for the source depth and the ground-motion model's source
+ * terms are computed once, so a cell costs two sqrt, one asin, two table lookups and the model's
+ * per-site work, which runs over a row of a tile at a time.
+ */
+public final class IntensityGridEngine {
+    public static final String KIND = "int";
+    public static final int MODEL_VERSION = 3;
+    public static final String P_MINUTES = "pMinutes";
+    public static final String S_MINUTES = "sMinutes";
+    /** Modified Mercalli intensity, I-X. */
+    public static final String INTENSITY = "intensity";
+    public static final String PGA_G = "pgaG";
+    public static final String PGV_CM_S = "pgvCmS";
+
+    private static final int TILE = 64;
+
+    private final ForkJoinPool pool;
+    private final TravelTimes tables;
+    private final GroundMotionModel groundMotion;
+
+    public IntensityGridEngine(ForkJoinPool pool, TravelTimes tables) {
+        this(pool, tables, GroundMotionModels.standard());
+    }
+
+    public IntensityGridEngine(ForkJoinPool pool, TravelTimes tables, GroundMotionModel groundMotion) {
+        this.pool = pool;
+        this.tables = tables;
+        this.groundMotion = groundMotion;
+    }
+
+    public GroundMotionModel groundMotion() {
+        return groundMotion;
+    }
+
+    public Raster compute(String id, double lat, double lon, double depthKm, double magnitude, GridSpec spec) {
+        int n = spec.cells();
+        float[] p = new float[n], s = new float[n], intensity = new float[n], pga = new float[n], pgv = new float[n];
+
+        double phi1 = Math.toRadians(lat);
+        double cosPhi1 = Math.cos(phi1);
+        double[] rowSinHalf2 = new double[spec.rows()];
+        double[] rowCosLat = new double[spec.rows()];
+        for (int r = 0; r < spec.rows(); r++) {
+            double phi2 = Math.toRadians(spec.lat(r));
+            double h = Math.sin((phi2 - phi1) * 0.5);
+            rowSinHalf2[r] = h * h;
+            rowCosLat[r] = cosPhi1 * Math.cos(phi2);
+        }
+        double[] colSinHalf2 = new double[spec.cols()];
+        for (int c = 0; c < spec.cols(); c++) {
+            double h = Math.sin(Math.toRadians(spec.lon(c) - lon) * 0.5);
+            colSinHalf2[c] = h * h;
+        }
+
+        Cells cells = new Cells(spec.cols(), rowSinHalf2, rowCosLat, colSinHalf2, depthKm * depthKm,
+            groundMotion.prepare(magnitude, depthKm), tables.p().atDepth(depthKm), tables.s().atDepth(depthKm),
+            p, s, intensity, pga, pgv);
+        pool.invoke(new Tile(cells, 0, spec.rows(), 0, spec.cols()));
+
+        Map<String, float[]> layers = new LinkedHashMap<>();
+        layers.put(P_MINUTES, p);
+        layers.put(S_MINUTES, s);
+        layers.put(INTENSITY, intensity);
+        layers.put(PGA_G, pga);
+        layers.put(PGV_CM_S, pgv);
+        return new Raster(id, KIND, spec, layers);
+    }
+
+    private record Cells(int cols, double[] rowSinHalf2, double[] rowCosLat, double[] colSinHalf2,
+                         double depth2, GroundMotionModel.Source source, TravelTimeCurve pCurve, TravelTimeCurve sCurve,
+                         float[] p, float[] s, float[] intensity, float[] pga, float[] pgv) {}
+
+    private final class Tile extends RecursiveAction {
+        private final Cells cells;
+        private final int r0, r1, c0, c1;
+
+        Tile(Cells cells, int r0, int r1, int c0, int c1) {
+            this.cells = cells;
+            this.r0 = r0; this.r1 = r1; this.c0 = c0; this.c1 = c1;
+        }
+
+        @Override
+        protected void compute() {
+            int h = r1 - r0, w = c1 - c0;
+            if (h > TILE || w > TILE) {
+                if (h >= w) {
+                    int mid = r0 + h / 2;
+                    invokeAll(new Tile(cells, r0, mid, c0, c1), new Tile(cells, mid, r1, c0, c1));
+                } else {
+                    int mid = c0 + w / 2;
+                    invokeAll(new Tile(cells, r0, r1, c0, mid), new Tile(cells, r0, r1, mid, c1));
+                }
+                return;
+            }
+            double twoR = 2.0 * EarthGeometry.R_KM;
+            double[] hypo = new double[w], pga = new double[w], pgv = new double[w], mmi = new double[w];
+            for (int r = r0; r < r1; r++) {
+                double sinHalf2 = cells.rowSinHalf2[r], cosLat = cells.rowCosLat[r];
+                int base = r * cells.cols + c0;
+                for (int k = 0; k < w; k++) {
+                    double a = Math.min(1.0, sinHalf2 + cosLat * cells.colSinHalf2[c0 + k]);
+                    double epi = twoR * Math.asin(Math.sqrt(a));
+                    hypo[k] = Math.sqrt(epi * epi + cells.depth2);
+                    cells.p[base + k] = (float) cells.pCurve.minutesAtKm(epi);
+                    cells.s[base + k] = (float) cells.sCurve.minutesAtKm(epi);
+                }
+                cells.source.evaluate(hypo, 0, w, pga, pgv, mmi);
+                for (int k = 0; k < w; k++) {
+                    cells.intensity[base + k] = (float) mmi[k];
+                    cells.pga[base + k] = (float) pga[k];
+                    cells.pgv[base + k] = (float) pgv[k];
+                }
+            }
+        }
+    }
+}
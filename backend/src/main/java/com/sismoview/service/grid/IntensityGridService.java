@@ -0,0 +1,51 @@
+package com.sismoview.service.grid;
+
+import com.sismoview.domain.grid.GridIds;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.service.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class IntensityGridService {
+    private final RasterStore store;
+    private final IntensityGridEngine engine;
+    private final int rows;
+    private final int cols;
+    private final double spanDeg;
+    private final Timer requestTimer;
+    private final Timer computeTimer;
+
+    public IntensityGridService(RasterStore store, TravelTimes tables, GroundMotionModel groundMotion, MeterRegistry registry,
+                                @Value("${sismoview.grid.rows:200}") int rows,
+                                @Value("${sismoview.grid.cols:200}") int cols,
+                                @Value("${sismoview.grid.span-deg:20}") double spanDeg) {
+        if (spanDeg <= 0 || spanDeg > 180) throw new IllegalArgumentException("sismoview.grid.span-deg must be in (0, 180]");
+        this.store = store;
+        this.engine = new IntensityGridEngine(ForkJoinPool.commonPool(), tables, groundMotion);
+        this.rows = rows;
+        this.cols = cols;
+        this.spanDeg = spanDeg;
+        this.requestTimer = ServiceMetrics.timer(registry, "intensity", "grid");
+        this.computeTimer = ServiceMetrics.timer(registry, "intensity", "compute");
+    }
+
+    /**
+     * Travel-time and intensity raster around the epicenter, computed once per distinct scenario.
+     * "grid" times every call, store hits included; "compute" only the engine runs.
+     */
+    public Raster intensityGrid(double lat, double lon, double depthKm, double magnitude) {
+        return requestTimer.record(() -> {
+            GridSpec spec = GridSpec.around(lat, lon, spanDeg, rows, cols);
+            String id = GridIds.of(IntensityGridEngine.KIND, engine.groundMotion().id(), IntensityGridEngine.MODEL_VERSION,
+                spec, lat, lon, depthKm, magnitude);
+            return store.getOrCompute(id, () -> computeTimer.record(() -> engine.compute(id, lat, lon, depthKm, magnitude, spec)));
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.sismoview.service.grid;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sismoview.domain.grid.Raster;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computed rasters by content-derived id, with size-bounded Caffeine (W-TinyLFU) eviction on
+ * total layer size.
+ * Because ids are derived from inputs, a repeated scenario is served from here without recomputing.
+ */
+@Component
+public class RasterStore {
+    private final Cache<String, Raster> rasters;
+    private final Map<String, CompletableFuture<Raster>> computing = new ConcurrentHashMap<>();
+
+    public RasterStore(@Value("${sismoview.grid.store-max-mb:256}") long maxMegabytes) {
+        this.rasters = Caffeine.newBuilder()
+            .maximumWeight(maxMegabytes * 1024 * 1024)
+            .weigher((String id, Raster r) -> (int) Math.min(Integer.MAX_VALUE, r.sizeBytes()))
+            .build();
+    }
+
+    public Optional<Raster> find(String id) {
+        return Optional.ofNullable(rasters.getIfPresent(id));
+    }
+
+    /**
+     * Returns the stored raster or computes it once, even under concurrent requests for the same id.
+     * The computation runs on the first caller's thread outside any map lock (solves take seconds);
+     * the others wait for it interruptibly, and compute themselves if it was cancelled.
+     */
+    public Raster getOrCompute(String id, Supplier<Raster> compute) {
+        while (true) {
+            Raster stored = rasters.getIfPresent(id);
+            if (stored != null) return stored;
+            CompletableFuture<Raster> mine = new CompletableFuture<>();
+            CompletableFuture<Raster> running = computing.putIfAbsent(id, mine);
+            if (running == null) return computeAs(id, mine, compute);
+            try {
+                return running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("cancelled");
+            } catch (CancellationException e) {
+                // another caller's cancellation is not ours: try again
+                continue;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private Raster computeAs(String id, CompletableFuture<Raster> mine, Supplier<Raster> compute) {
+        try {
+            // stored between our miss and our insert by a computation that has just finished
+            Raster raster = rasters.getIfPresent(id);
+            if (raster == null) {
+                raster = compute.get();
+                rasters.put(id, raster);
+            }
+            mine.complete(raster);
+            return raster;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            computing.remove(id, mine);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sismoview.service.grid;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cuts stored rasters into quantized grayscale PNG tiles on demand (see {@link TileSet} for the
+ * pyramid and the value encoding). Tiles are cached by size; since raster ids are derived from
+ * their inputs, a tile's ETag is too, and a revalidation never needs the raster.
+ *
+ * <p>The tile cache evicts with Caffeine's W-TinyLFU rather than strict LRU: a tile has to be
+ * requested more often than the one it would evict to get in, so one client panning across a
+ * whole pyramid does not flush the tiles everyone else keeps asking for. Quantization ranges come
+ * from the {@link Raster} itself and are dropped with it.
+ */
+@Service
+public class TileService {
+    public static final int TILE_SIZE = 256;
+    /** Bump when the tile encoding changes, so old ETags stop matching. */
+    static final int FORMAT_VERSION = 1;
+    private static final int MAX_ZOOM_LIMIT = 12;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RasterStore rasters;
+    private final Cache<TileKey, byte[]> tiles;
+
+    private record TileKey(String gridId, String layer, int bits, int z, int x, int y) {}
+
+    public TileService(RasterStore rasters, MeterRegistry registry,
+                       @Value("${sismoview.tiles.cache-max-mb:64}") long maxMegabytes) {
+        this.rasters = rasters;
+        this.tiles = Caffeine.newBuilder()
+            .maximumWeight(maxMegabytes * 1024 * 1024)
+            .weigher((TileKey k, byte[] png) -> 64 + png.length)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, tiles, "grid.tiles");
+    }
+
+    public Optional<TileSet> tileSet(String gridId, String layer, int bits) {
+        checkBits(bits);
+        return rasters.find(gridId).map(r -> {
+            GridSpec s = r.getSpec();
+            Raster.Range range = r.range(layer);
+            return new TileSet(gridId, layer, bits, TILE_SIZE, 0, maxZoom(s),
+                s.lat0() - s.dLat() / 2, s.lon0() - s.dLon() / 2,
+                s.lat(s.rows() - 1) + s.dLat() / 2, s.lon(s.cols() - 1) + s.dLon() / 2,
+                range.min(), scale(range, bits));
+        });
+    }
+
+    /** PNG bytes of one tile; empty if the grid is unknown or the tile holds no data. */
+    public Optional<byte[]> tile(String gridId, String layer, int bits, int z, int x, int y) {
+        checkBits(bits);
+        if (z < 0 || z > MAX_ZOOM_LIMIT) throw new IllegalArgumentException("z must be in [0, " + MAX_ZOOM_LIMIT + "]");
+        if (x < 0 || x >= 2 << z || y < 0 || y >= 1 << z) throw new IllegalArgumentException("tile " + z + "/" + x + "/" + y + " does not exist");
+        TileKey key = new TileKey(gridId, layer, bits, z, x, y);
+        byte[] png = tiles.getIfPresent(key);
+        if (png == null) {
+            Optional<Raster> raster = rasters.find(gridId);
+            if (raster.isEmpty()) return Optional.empty();
+            png = tiles.get(key, k -> render(raster.get(), k));
+        }
+        return png.length == 0 ? Optional.empty() : Optional.of(png);
+    }
+
+    /** Strong validator for a tile, computed from its coordinates alone. */
+    public static String etag(String gridId, String layer, int bits, int z, int x, int y) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            String key = FORMAT_VERSION + "|" + gridId + "|" + layer + "|" + bits + "|" + z + "/" + x + "/" + y;
+            return "\"" + HexFormat.of().formatHex(sha.digest(key.getBytes(StandardCharsets.UTF_8)), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /** Coarsest zoom whose pixels are at least as fine as the grid cells. */
+    static int maxZoom(GridSpec s) {
+        double cellDeg = Math.min(s.dLat(), s.dLon());
+        int z = (int) Math.ceil(Math.log(180.0 / TILE_SIZE / cellDeg) / Math.log(2));
+        return Math.max(0, Math.min(MAX_ZOOM_LIMIT, z));
+    }
+
+    private static void checkBits(int bits) {
+        if (bits != 8 && bits != 16) throw new IllegalArgumentException("bits must be 8 or 16");
+    }
+
+    private static double scale(Raster.Range range, int bits) {
+        int top = (1 << bits) - 1;
+        return (range.max() - range.min()) / (top - 1);
+    }
+
+    private byte[] render(Raster r, TileKey k) {
+        float[] values = r.layer(k.layer());
+        // the layer's range, not the tile's, so tiles agree at seams
+        Raster.Range range = r.range(k.layer());
+        GridSpec s = r.getSpec();
+        double tileDeg = 180.0 / (1 << k.z());
+        double pixelDeg = tileDeg / TILE_SIZE;
+        double west = -180 + k.x() * tileDeg, north = 90 - k.y() * tileDeg;
+
+        // Nearest cell per pixel column / row; -1 outside the grid. Longitudes wrap around.
+        int[] cols = new int[TILE_SIZE];
+        double gridWest = s.lon0() - s.dLon() / 2, gridSouth = s.lat0() - s.dLat() / 2;
+        for (int px = 0; px < TILE_SIZE; px++) {
+            double d = west + (px + 0.5) * pixelDeg - gridWest;
+            d = ((d % 360) + 360) % 360;
+            int c = (int) (d / s.dLon());
+            cols[px] = c < s.cols() ? c : -1;
+        }
+
+        int top = (1 << k.bits()) - 1;
+        double span = range.max() - range.min();
+        double toLevel = span > 0 ? (top - 1) / span : 0;
+        int bytesPerSample = k.bits() / 8;
+        byte[] pixels = new byte[TILE_SIZE * TILE_SIZE * bytesPerSample];
+        boolean any = false;
+        for (int py = 0; py < TILE_SIZE; py++) {
+            double lat = north - (py + 0.5) * pixelDeg;
+            int row = (int) Math.floor((lat - gridSouth) / s.dLat());
+            if (row < 0 || row >= s.rows()) continue;
+            int base = row * s.cols(), o = py * TILE_SIZE * bytesPerSample;
+            for (int px = 0; px < TILE_SIZE; px++, o += bytesPerSample) {
+                if (cols[px] < 0) continue;
+                float v = values[base + cols[px]];
+                if (!Float.isFinite(v)) continue;
+                int q = 1 + (int) Math.round((v - range.min()) * toLevel);
+                if (bytesPerSample == 1) {
+                    pixels[o] = (byte) q;
+                } else {
+                    pixels[o] = (byte) (q >>> 8);
+                    pixels[o + 1] = (byte) q;
+                }
+                any = true;
+            }
+        }
+        return any ? GrayPng.encode(pixels, TILE_SIZE, TILE_SIZE, k.bits()) : EMPTY;
+    }
+}
@@ -0,0 +1,13 @@
+package com.sismoview.service.grid;
+
+/**
+ * What a client needs to request and decode the tiles of one raster layer.
+ *
+ * <p>Tiles follow the geographic (CRS84) quad pyramid: zoom {@code z} has {@code 2^(z+1)} columns
+ * from 180°W and {@code 2^z} rows from 90°N, each {@code tileSize} pixels square. A pixel value
+ * {@code q} decodes as {@code offset + (q - 1) * scale}; {@code q = 0} is no data. Bounds are
+ * the grid's cell edges; {@code east} exceeds 180 when the grid crosses the antimeridian.
+ */
+public record TileSet(String gridId, String layer, int bits, int tileSize, int minZoom, int maxZoom,
+                      double south, double west, double north, double east, double offset, double scale) {
+}
@@ -0,0 +1,258 @@
+package com.sismoview.service.jobs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sismoview.exception.JobRejectedException;
+import com.sismoview.service.Progress;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs long simulations outside the request that asked for them.
+ *
+ * <p>A fixed number of workers take jobs from a priority queue (higher {@code priority} first,
+ * FIFO within a priority); submissions beyond {@code queue-capacity} waiting jobs are rejected.
+ * Cancelling a queued job drops it, cancelling a running one interrupts its worker, which the
+ * solvers notice between steps. Finished jobs and their results stay in a size- and time-bounded
+ * store; jobs still queued or running are never evicted.
+ *
+ * <p>Metrics: {@code sismoview.jobs.queue.depth}, {@code .running}, {@code .rejected},
+ * {@code .wait{kind}} (queued time), {@code .run{kind,outcome}} and {@code cache.*} for the store.
+ */
+@Service
+public class JobService {
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+    /** Smaller progress moves are not published, so a solver step does not wake every watcher. */
+    private static final double PROGRESS_STEP = 0.01;
+
+    /** The computation behind a job; it should report progress and give up when interrupted. */
+    @FunctionalInterface
+    public interface Work {
+        Object run(Progress progress) throws Exception;
+    }
+
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor workers;
+    private final int queueCapacity;
+    private final Map<String, Job> active = new ConcurrentHashMap<>();
+    private final Cache<String, Job> finished;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter rejected;
+
+    public JobService(MeterRegistry registry,
+                      @Value("${sismoview.jobs.workers:2}") int workers,
+                      @Value("${sismoview.jobs.queue-capacity:100}") int queueCapacity,
+                      @Value("${sismoview.jobs.result-ttl-seconds:900}") long resultTtlSeconds,
+                      @Value("${sismoview.jobs.max-results:1000}") long maxResults) {
+        if (workers < 1 || queueCapacity < 1) throw new IllegalArgumentException("sismoview.jobs workers and queue-capacity must be positive");
+        this.registry = registry;
+        this.queueCapacity = queueCapacity;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), Thread.ofVirtual().name("sim-job-", 0).factory());
+        this.finished = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+            .maximumSize(maxResults)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, finished, "jobs.results");
+        this.rejected = registry.counter("sismoview.jobs.rejected");
+        Gauge.builder("sismoview.jobs.queue.depth", this.workers, e -> e.getQueue().size())
+            .description("Jobs waiting for a worker")
+            .register(registry);
+        Gauge.builder("sismoview.jobs.running", this.workers, ThreadPoolExecutor::getActiveCount)
+            .description("Jobs running on a worker")
+            .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public JobStatus submit(String kind, int priority, Work work) {
+        if (workers.getQueue().size() >= queueCapacity) {
+            rejected.increment();
+            throw new JobRejectedException("Job queue is full (" + queueCapacity + " waiting)");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), kind, priority, sequence.incrementAndGet(), work);
+        active.put(job.id, job);
+        workers.execute(job);
+        return job.status();
+    }
+
+    public Optional<JobStatus> status(String id) {
+        return find(id).map(Job::status);
+    }
+
+    /** The job's result, present once it has succeeded. */
+    public Optional<Object> result(String id) {
+        return find(id).filter(j -> j.state == JobState.SUCCEEDED).map(j -> j.result);
+    }
+
+    /** Cancels a queued or running job; finished jobs are left alone. Empty if the id is unknown. */
+    public Optional<JobStatus> cancel(String id) {
+        return find(id).map(j -> {
+            if (j.cancel()) workers.remove(j);
+            return j.status();
+        });
+    }
+
+    /**
+     * Waits up to {@code timeoutMs} for the job to move past {@code sinceVersion} and returns its
+     * status either way; empty if the id is unknown (or its result was evicted).
+     */
+    public Optional<JobStatus> awaitChange(String id, long sinceVersion, long timeoutMs) throws InterruptedException {
+        Optional<Job> job = find(id);
+        if (job.isEmpty()) return Optional.empty();
+        return Optional.of(job.get().awaitChange(sinceVersion, timeoutMs));
+    }
+
+    private Optional<Job> find(String id) {
+        Job j = active.get(id);
+        return Optional.ofNullable(j != null ? j : finished.getIfPresent(id));
+    }
+
+    private final class Job implements Runnable, Comparable<Job> {
+        final String id;
+        final String kind;
+        final int priority;
+        final long seq;
+        final Work work;
+        final Instant submittedAt = Instant.now();
+        final long submittedNanos = System.nanoTime();
+
+        volatile JobState state = JobState.QUEUED;
+        volatile double progress;
+        Instant startedAt, finishedAt;
+        String error;
+        Object result;
+        Thread runner;
+        boolean cancelRequested;
+        long version;
+
+        Job(String id, String kind, int priority, long seq, Work work) {
+            this.id = id;
+            this.kind = kind;
+            this.priority = priority;
+            this.seq = seq;
+            this.work = work;
+        }
+
+        @Override
+        public int compareTo(Job o) {
+            return priority != o.priority ? Integer.compare(o.priority, priority) : Long.compare(seq, o.seq);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (state != JobState.QUEUED) return;
+                state = JobState.RUNNING;
+                runner = Thread.currentThread();
+                startedAt = Instant.now();
+                changed();
+            }
+            long start = System.nanoTime();
+            Timer.builder("sismoview.jobs.wait").tag("kind", kind).publishPercentileHistogram().register(registry)
+                .record(start - submittedNanos, TimeUnit.NANOSECONDS);
+
+            JobState outcome;
+            Object value = null;
+            String failure = null;
+            try {
+                value = work.run(this::progress);
+                outcome = JobState.SUCCEEDED;
+            } catch (CancellationException | InterruptedException e) {
+                outcome = JobState.CANCELLED;
+            } catch (Exception e) {
+                outcome = JobState.FAILED;
+                failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                log.warn("Job {} ({}) failed", id, kind, e);
+            }
+
+            synchronized (this) {
+                runner = null;
+                Thread.interrupted(); // a late cancel must not leak into the worker's next job
+                if (cancelRequested && outcome != JobState.SUCCEEDED) outcome = JobState.CANCELLED;
+                // recorded before finish() wakes watchers, so a finished job is always counted
+                Timer.builder("sismoview.jobs.run").tag("kind", kind).tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram().register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                finish(outcome, value, outcome == JobState.FAILED ? failure : null);
+            }
+        }
+
+        /** True if the job was still queued and must be removed from the queue. */
+        synchronized boolean cancel() {
+            if (state == JobState.QUEUED) {
+                finish(JobState.CANCELLED, null, null);
+                return true;
+            }
+            if (state == JobState.RUNNING && !cancelRequested) {
+                cancelRequested = true;
+                runner.interrupt();
+            }
+            return false;
+        }
+
+        private void progress(double fraction) {
+            if (fraction < progress + PROGRESS_STEP && fraction < 1) return;
+            synchronized (this) {
+                if (state != JobState.RUNNING || fraction <= progress) return;
+                progress = Math.min(1, fraction);
+                changed();
+            }
+        }
+
+        /** Called with the lock held: publishes the outcome and moves the job to the result store. */
+        private void finish(JobState outcome, Object value, String failure) {
+            state = outcome;
+            result = value;
+            error = failure;
+            finishedAt = Instant.now();
+            if (outcome == JobState.SUCCEEDED) progress = 1;
+            finished.put(id, this);
+            active.remove(id);
+            changed();
+        }
+
+        private void changed() {
+            version++;
+            notifyAll();
+        }
+
+        synchronized JobStatus awaitChange(long sinceVersion, long timeoutMs) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (version <= sinceVersion && !state.isTerminal()) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) break;
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+            return status();
+        }
+
+        synchronized JobStatus status() {
+            return new JobStatus(id, kind, priority, state, progress, version, submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sismoview.service.jobs;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a job. {@code progress} is in [0, 1]; {@code version} grows with every change,
+ * so a client can tell whether anything moved since its last look.
+ */
+public record JobStatus(String id, String kind, int priority, JobState state, double progress, long version,
+                        Instant submittedAt, Instant startedAt, Instant finishedAt, String error) {}
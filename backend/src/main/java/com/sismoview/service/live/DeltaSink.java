@@ -0,0 +1,16 @@
+package com.sismoview.service.live;
+
+import com.sismoview.domain.models.QuakeDelta;
+import java.io.IOException;
+
+/** Transport side of a live subscription; called only from the subscriber's own drain thread. */
+public interface DeltaSink {
+    /** {@code id} is what the client sends back as its last seen position, see {@link QuakeStreamService#subscribe}. */
+    void send(String id, QuakeDelta delta) throws IOException;
+
+    /** Keeps idle connections open and detects clients that went away. */
+    void heartbeat() throws IOException;
+
+    /** Ends the stream; the client may reconnect with its last seen id. */
+    void close();
+}
@@ -0,0 +1,249 @@
+package com.sismoview.service.live;
+
+import com.sismoview.domain.models.FeedRefreshed;
+import com.sismoview.domain.models.Quake;
+import com.sismoview.domain.models.QuakeDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Turns feed refreshes into numbered deltas and fans them out to live subscribers.
+ *
+ * <p>Each window keeps the last {@code history} deltas so a client reconnecting with its last
+ * event id gets exactly what it missed; older gaps get a reset with the full window. Sequence
+ * numbers restart at every process start, so event ids are {@code epoch:seq} with a per-process
+ * epoch, and an id from another epoch also gets a reset.
+ * Every subscriber owns a bounded queue drained by its own virtual thread, so a slow client
+ * only fills its own queue. When the queue is full the subscriber is dropped and can resume.
+ */
+@Service
+public class QuakeStreamService {
+    private static final Logger log = LoggerFactory.getLogger(QuakeStreamService.class);
+
+    private final String epoch;
+    private final int history;
+    private final int buffer;
+    private final long heartbeatMs;
+    private final Map<String, WindowStream> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+
+    @Autowired
+    public QuakeStreamService(MeterRegistry registry,
+                              @Value("${sismoview.stream.history:256}") int history,
+                              @Value("${sismoview.stream.buffer:64}") int buffer,
+                              @Value("${sismoview.stream.heartbeat-ms:20000}") long heartbeatMs) {
+        this(Long.toString(System.currentTimeMillis(), 36), registry, history, buffer, heartbeatMs);
+    }
+
+    QuakeStreamService(String epoch, MeterRegistry registry, int history, int buffer, long heartbeatMs) {
+        this.epoch = epoch;
+        this.history = history;
+        this.buffer = buffer;
+        this.heartbeatMs = heartbeatMs;
+        this.dropped = registry.counter("sismoview.stream.dropped");
+        Gauge.builder("sismoview.stream.subscribers", subscribers, AtomicInteger::get).register(registry);
+    }
+
+    @EventListener
+    public void onFeedRefreshed(FeedRefreshed event) {
+        windowFor(event.window()).publish(event.current());
+    }
+
+    /**
+     * Starts streaming {@code window} into {@code sink}. {@code lastEventId} is the id of the last
+     * event the client saw, or null for a fresh connection (which starts with a reset). An id from
+     * an earlier process gets a reset even if the window is still empty, since what the client
+     * holds may be gone.
+     */
+    public Subscription subscribe(String window, String lastEventId, DeltaSink sink) {
+        WindowStream stream = windowFor(normalize(window));
+        if (lastEventId == null || lastEventId.isBlank()) return stream.subscribe(null, false, sink);
+        String id = lastEventId.trim();
+        int colon = id.lastIndexOf(':');
+        long lastSeq;
+        try {
+            lastSeq = Long.parseLong(id.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Last-Event-ID must be epoch:seq");
+        }
+        boolean sameEpoch = colon >= 0 && id.substring(0, colon).equals(epoch);
+        return sameEpoch ? stream.subscribe(lastSeq, false, sink) : stream.subscribe(null, true, sink);
+    }
+
+    /** The SSE id of {@code delta}: this process's epoch and the sequence number. */
+    String eventId(QuakeDelta delta) {
+        return epoch + ":" + delta.seq();
+    }
+
+    /** Latest sequence number of a window, 0 before the first snapshot. */
+    public long currentSeq(String window) {
+        return windowFor(normalize(window)).seq;
+    }
+
+    /** Same window names as the feed: "week", anything else is "day". */
+    static String normalize(String window) {
+        return "week".equalsIgnoreCase(window) ? "week" : "day";
+    }
+
+    static QuakeDelta diff(long seq, String window, List<Quake> previous, List<Quake> current) {
+        Map<String, Quake> before = new HashMap<>(previous.size() * 2);
+        for (Quake q : previous) before.put(q.getId(), q);
+        List<Quake> added = new ArrayList<>(), updated = new ArrayList<>();
+        Set<String> seen = new HashSet<>(current.size() * 2);
+        for (Quake q : current) {
+            seen.add(q.getId());
+            Quake old = before.get(q.getId());
+            if (old == null) added.add(q);
+            else if (!old.equals(q)) updated.add(q);
+        }
+        List<String> removed = new ArrayList<>();
+        for (Quake q : previous) {
+            if (!seen.contains(q.getId())) removed.add(q.getId());
+        }
+        return new QuakeDelta(seq, window, false, added, updated, removed);
+    }
+
+    private WindowStream windowFor(String window) {
+        return windows.computeIfAbsent(window, WindowStream::new);
+    }
+
+    /** Ring buffer and subscriber set for one window; publish and subscribe share its lock. */
+    private final class WindowStream {
+        final String window;
+        final ArrayDeque<QuakeDelta> ring = new ArrayDeque<>();
+        final Set<Subscription> subs = new HashSet<>();
+        List<Quake> current = List.of();
+        volatile long seq;
+
+        WindowStream(String window) {
+            this.window = window;
+        }
+
+        /** Diffs against the window's own last snapshot, not the feed's idea of it. */
+        synchronized void publish(List<Quake> next) {
+            QuakeDelta delta = diff(seq + 1, window, current, next);
+            current = next;
+            if (delta.isEmpty()) return;
+            seq = delta.seq();
+            ring.addLast(delta);
+            if (ring.size() > history) ring.removeFirst();
+            for (var it = subs.iterator(); it.hasNext(); ) {
+                Subscription s = it.next();
+                if (!s.offer(delta)) {
+                    it.remove();
+                    s.drop();
+                }
+            }
+        }
+
+        synchronized Subscription subscribe(Long lastSeq, boolean forceReset, DeltaSink sink) {
+            Subscription s = new Subscription(this, sink);
+            QuakeDelta oldest = ring.peekFirst();
+            if (lastSeq != null && lastSeq <= seq && (lastSeq == seq || (oldest != null && oldest.seq() <= lastSeq + 1))) {
+                boolean overflow = false;
+                for (QuakeDelta d : ring) {
+                    if (d.seq() > lastSeq && !s.offer(d)) {
+                        overflow = true;
+                        break;
+                    }
+                }
+                if (overflow) { // more missed deltas than the buffer holds: start over from the full window
+                    s.queue.clear();
+                    s.offer(reset());
+                }
+            } else if (seq > 0 || forceReset) {
+                s.offer(reset());
+            }
+            subs.add(s);
+            s.start();
+            return s;
+        }
+
+        synchronized void remove(Subscription s) {
+            subs.remove(s);
+        }
+
+        private QuakeDelta reset() {
+            return new QuakeDelta(seq, window, true, current, List.of(), List.of());
+        }
+    }
+
+    /** One client: a bounded queue and the virtual thread that drains it into the sink. */
+    public final class Subscription {
+        private final WindowStream stream;
+        private final DeltaSink sink;
+        private final BlockingQueue<QuakeDelta> queue = new ArrayBlockingQueue<>(buffer);
+        private volatile Thread drainer;
+        private volatile boolean closed;
+
+        private Subscription(WindowStream stream, DeltaSink sink) {
+            this.stream = stream;
+            this.sink = sink;
+        }
+
+        /** Stops delivery, e.g. when the client disconnects. */
+        public void cancel() {
+            if (closed) return;
+            closed = true;
+            stream.remove(this);
+            Thread t = drainer;
+            if (t != null) t.interrupt();
+        }
+
+        boolean offer(QuakeDelta d) {
+            return queue.offer(d);
+        }
+
+        void drop() {
+            dropped.increment();
+            log.debug("Dropping slow live subscriber on '{}'", stream.window);
+            cancel();
+        }
+
+        void start() {
+            subscribers.incrementAndGet();
+            drainer = Thread.ofVirtual().name("quake-stream-" + stream.window).start(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    QuakeDelta d = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (closed) break;
+                    if (d == null) sink.heartbeat();
+                    else sink.send(eventId(d), d);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                log.debug("Live subscriber on '{}' went away: {}", stream.window, e.getMessage());
+            } finally {
+                closed = true;
+                stream.remove(this);
+                subscribers.decrementAndGet();
+                sink.close();
+            }
+        }
+    }
+}
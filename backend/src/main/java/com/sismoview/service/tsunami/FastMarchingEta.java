@@ -0,0 +1,163 @@
+package com.sismoview.service.tsunami;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.service.Progress;
+import java.util.Arrays;
+
+/**
+ * Tsunami arrival times without wave heights: the eikonal equation {@code |grad T| = 1 / c} with
+ * the long-wave speed {@code c = sqrt(g h)}, solved by first-order fast marching on the lat/lon
+ * grid (cell widths shrink with the cosine of latitude; a grid spanning 360 degrees wraps).
+ *
+ * <p>Cells within the source footprint, where the initial hump exceeds the wave solver's arrival
+ * threshold, start at zero. The front then grows cell by cell in arrival order from a
+ * {@link IndexedMinHeap}; land cells (depth not positive) are barriers the front goes around.
+ * Cost is O(n log front) with a handful of primitive arrays, no per-cell objects. Coast cells
+ * are water cells with a land neighbour.
+ */
+public final class FastMarchingEta {
+    private static final byte FAR = 0, TRIAL = 1, KNOWN = 2, LAND = 3;
+    private static final int CHECK_EVERY = 1 << 16;
+
+    /** Arrival minutes per cell (NaN on land and where the front never gets), the same on coast cells only. */
+    public record Result(float[] etaMinutes, float[] coastEtaMinutes, int reached, double wallSeconds) {}
+
+    public Result run(GridSpec spec, float[] depthM, TsunamiSource source) {
+        return run(spec, depthM, source, Progress.NONE);
+    }
+
+    /** Reports the share of water cells reached; an interrupt stops the march. */
+    public Result run(GridSpec spec, float[] depthM, TsunamiSource source, Progress progress) {
+        int rows = spec.rows(), cols = spec.cols(), n = spec.cells();
+        if (depthM.length != n) throw new IllegalArgumentException("depth grid does not match the spec");
+        long start = System.nanoTime();
+
+        double r = EarthGeometry.R_KM * 1000.0;
+        double dy = r * Math.toRadians(spec.dLat());
+        double dLam = Math.toRadians(spec.dLon());
+        double[] dx = new double[rows];
+        for (int i = 0; i < rows; i++) dx[i] = r * Math.max(Math.cos(Math.toRadians(spec.lat(i))), 1e-3) * dLam;
+        boolean wrap = cols * spec.dLon() >= 360.0 - 1e-9;
+
+        byte[] state = new byte[n];
+        double[] t = new double[n];
+        Arrays.fill(t, Double.POSITIVE_INFINITY);
+        int water = 0;
+        for (int i = 0; i < n; i++) {
+            if (depthM[i] > 0) water++;
+            else state[i] = LAND;
+        }
+        IndexedMinHeap front = new IndexedMinHeap(t);
+        seed(spec, state, t, front, source, dy / 1000.0);
+
+        March m = new March(cols, wrap, dx, dy, depthM, state, t, front);
+        int reached = 0;
+        while (!front.isEmpty()) {
+            int cell = front.poll();
+            state[cell] = KNOWN;
+            if (++reached % CHECK_EVERY == 0) {
+                progress.update((double) reached / water);
+                Progress.checkCancelled();
+            }
+            int row = cell / cols, col = cell - row * cols;
+            if (col > 0) m.relax(cell - 1, row, col - 1);
+            else if (wrap) m.relax(cell + cols - 1, row, cols - 1);
+            if (col < cols - 1) m.relax(cell + 1, row, col + 1);
+            else if (wrap) m.relax(cell - cols + 1, row, 0);
+            if (row > 0) m.relax(cell - cols, row - 1, col);
+            if (row < rows - 1) m.relax(cell + cols, row + 1, col);
+        }
+
+        float[] eta = new float[n], coast = new float[n];
+        Arrays.fill(coast, Float.NaN);
+        for (int i = 0; i < n; i++) {
+            eta[i] = state[i] == KNOWN ? (float) (t[i] / 60.0) : Float.NaN;
+            if (state[i] != LAND && m.touchesLand(i)) coast[i] = eta[i];
+        }
+        progress.update(1.0);
+        return new Result(eta, coast, reached, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Water cells where {@code A exp(-(d/R)²)} reaches the solver's threshold, {@code max(5 mm, 1% A)},
+     * start at t = 0; the footprint is never narrower than one cell.
+     */
+    private static void seed(GridSpec spec, byte[] state, double[] t, IndexedMinHeap front, TsunamiSource source, double cellKm) {
+        double a = source.amplitudeM();
+        double threshold = Math.max(0.005, 0.01 * a);
+        double radiusKm = a > threshold ? source.radiusKm() * Math.sqrt(Math.log(a / threshold)) : 0.0;
+        radiusKm = Math.max(radiusKm, cellKm);
+        double dLatDeg = Math.toDegrees(radiusKm / EarthGeometry.R_KM);
+        double cosLat = Math.max(Math.cos(Math.toRadians(source.lat())), 1e-3);
+        double dLonDeg = Math.min(180.0, dLatDeg / cosLat);
+        int r0 = Math.max(0, (int) Math.floor((source.lat() - dLatDeg - spec.lat0()) / spec.dLat()));
+        int r1 = Math.min(spec.rows() - 1, (int) Math.ceil((source.lat() + dLatDeg - spec.lat0()) / spec.dLat()));
+        int c0 = Math.max(0, (int) Math.floor((source.lon() - dLonDeg - spec.lon0()) / spec.dLon()));
+        int c1 = Math.min(spec.cols() - 1, (int) Math.ceil((source.lon() + dLonDeg - spec.lon0()) / spec.dLon()));
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int i = spec.index(row, col);
+                if (state[i] == LAND) continue;
+                if (EarthGeometry.haversineKm(source.lat(), source.lon(), spec.lat(row), spec.lon(col)) <= radiusKm) {
+                    t[i] = 0.0;
+                    state[i] = TRIAL;
+                    front.offer(i);
+                }
+            }
+        }
+    }
+
+    private record March(int cols, boolean wrap, double[] dx, double dy, float[] depth, byte[] state, double[] t,
+                         IndexedMinHeap front) {
+
+        /** First-order upwind update of a neighbour from its already-known neighbours. */
+        void relax(int cell, int row, int col) {
+            byte s = state[cell];
+            if (s == KNOWN || s == LAND) return;
+            int west = col > 0 ? cell - 1 : wrap ? cell + cols - 1 : -1;
+            int east = col < cols - 1 ? cell + 1 : wrap ? cell - cols + 1 : -1;
+            int south = row > 0 ? cell - cols : -1;
+            int north = cell + cols < t.length ? cell + cols : -1;
+            double a = Math.min(known(west), known(east));
+            double b = Math.min(known(south), known(north));
+            double f = 1.0 / Math.sqrt(ShallowWaterSolver.G * depth[cell]);
+            double hx = dx[row];
+            double next;
+            if (b == Double.POSITIVE_INFINITY) {
+                next = a + f * hx;
+            } else if (a == Double.POSITIVE_INFINITY) {
+                next = b + f * dy;
+            } else {
+                // (T - a)² / hx² + (T - b)² / dy² = f², larger root; one-sided when it is not upwind of both
+                double wx = 1.0 / (hx * hx), wy = 1.0 / (dy * dy);
+                double sa = wx + wy, sb = a * wx + b * wy;
+                double disc = sb * sb - sa * (a * a * wx + b * b * wy - f * f);
+                next = disc >= 0 ? (sb + Math.sqrt(disc)) / sa : Double.POSITIVE_INFINITY;
+                if (!(next >= Math.max(a, b))) next = Math.min(a + f * hx, b + f * dy);
+            }
+            if (next < t[cell]) {
+                t[cell] = next;
+                state[cell] = TRIAL;
+                front.offer(cell);
+            }
+        }
+
+        private double known(int cell) {
+            return cell >= 0 && state[cell] == KNOWN ? t[cell] : Double.POSITIVE_INFINITY;
+        }
+
+        boolean touchesLand(int cell) {
+            int row = cell / cols, col = cell - row * cols;
+            int west = col > 0 ? cell - 1 : wrap ? cell + cols - 1 : -1;
+            int east = col < cols - 1 ? cell + 1 : wrap ? cell - cols + 1 : -1;
+            int south = row > 0 ? cell - cols : -1;
+            int north = cell + cols < t.length ? cell + cols : -1;
+            return land(west) || land(east) || land(south) || land(north);
+        }
+
+        private boolean land(int cell) {
+            return cell >= 0 && state[cell] == LAND;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sismoview.service.tsunami;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices keyed by a caller-owned {@code double[]}, with decrease-key.
+ * Everything lives in two {@code int[]}: the heap itself and each cell's slot in it (-1 when
+ * absent), so a grid of millions of cells is marched without a single boxed node.
+ */
+final class IndexedMinHeap {
+    private final double[] key;
+    private final int[] heap;
+    private final int[] slot;
+    private int size;
+
+    IndexedMinHeap(double[] key) {
+        this.key = key;
+        this.heap = new int[key.length];
+        this.slot = new int[key.length];
+        Arrays.fill(slot, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Inserts {@code cell}, or moves it up after its key has dropped. */
+    void offer(int cell) {
+        int i = slot[cell];
+        if (i < 0) {
+            i = size++;
+            heap[i] = cell;
+            slot[cell] = i;
+        }
+        siftUp(i);
+    }
+
+    int poll() {
+        int top = heap[0];
+        slot[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            slot[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        double k = key[cell];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (key[p] <= k) break;
+            heap[i] = p;
+            slot[p] = i;
+            i = parent;
+        }
+        heap[i] = cell;
+        slot[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        double k = key[cell];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[c]) {
+                child = right;
+                c = heap[child];
+            }
+            if (k <= key[c]) break;
+            heap[i] = c;
+            slot[c] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        slot[cell] = i;
+    }
+}
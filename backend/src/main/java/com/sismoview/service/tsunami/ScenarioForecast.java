@@ -0,0 +1,135 @@
+package com.sismoview.service.tsunami;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.ports.TsunamiScenarioPort;
+import com.sismoview.domain.spatial.GeoGridIndex;
+import com.sismoview.domain.spatial.IntList;
+import java.util.Arrays;
+
+/**
+ * Tsunami forecasts assembled from a {@link TsunamiScenarioPort} instead of a solver run.
+ *
+ * <p>The scenario's initial hump is approximated by the unit sources around it: each unit within
+ * two effective radii gets a Gaussian weight on its distance from the epicenter, where the
+ * effective radius is the scenario's own, or the catalog spacing when that is larger. Because the
+ * shallow-water equations here are linear, unit heights are scaled so the weighted units carry
+ * the scenario's uplift volume ({@code amplitude * radius²}) and summed; summing per-unit peaks
+ * bounds the true peak from above, which suits a warning. ETA is the earliest arrival over the
+ * units inside the effective radius (weight at least {@code 1/e}), since the first wave from an
+ * extended source comes from its nearest part; units in the Gaussian's tail carry too little
+ * uplift to set it. Should none reach that weight, the heaviest unit alone gives the ETA.
+ */
+public final class ScenarioForecast {
+    /** Grid-id variant for forecasts, kept apart from solver runs of the same scenario. */
+    public static final String VARIANT = "unit-sources";
+    /** Units at least this heavy (within one effective radius) take part in the first-arrival ETA. */
+    static final double ETA_MIN_WEIGHT = Math.exp(-1);
+
+    private final TsunamiScenarioPort db;
+    private final double maxDistanceKm;
+    private final GeoGridIndex index;
+    private final int[] cells;
+    private final double unitRadius2;
+    private final double spacingKm;
+
+    public ScenarioForecast(TsunamiScenarioPort db, double maxDistanceKm) {
+        if (!(maxDistanceKm > 0)) throw new IllegalArgumentException("sismoview.tsunami.scenarios.max-distance-km must be positive");
+        this.db = db;
+        this.maxDistanceKm = maxDistanceKm;
+        int n = db.units();
+        double[] lat = new double[n], lon = new double[n];
+        for (int u = 0; u < n; u++) {
+            lat[u] = db.unitLat(u);
+            lon[u] = db.unitLon(u);
+        }
+        this.index = new GeoGridIndex(lat, lon, 1.0);
+        this.cells = db.forecastCells();
+        TsunamiSource unit = TsunamiSource.fromQuake(0, 0, db.unitMagnitude(), db.unitDepthKm());
+        this.unitRadius2 = unit.radiusKm() * unit.radiusKm();
+        this.spacingKm = medianSpacingKm(lat, lon);
+    }
+
+    public GridSpec grid() {
+        return db.forecastGrid();
+    }
+
+    /** Whether a unit source lies within {@code max-distance-km} of the epicenter. */
+    public boolean covers(double lat, double lon) {
+        return index.nearest(lat, lon, 1, maxDistanceKm, u -> true).length > 0;
+    }
+
+    /**
+     * ETA minutes and peak height on the forecast grid, NaN / 0 off the forecast points.
+     * Callers check {@link #covers} first.
+     */
+    public Forecast forecast(double lat, double lon, double magnitude, double depthKm) {
+        TsunamiSource target = TsunamiSource.fromQuake(lat, lon, magnitude, depthKm);
+        double radius = Math.max(target.radiusKm(), spacingKm);
+        PreparedSource center = EarthGeometry.prepare(lat, lon);
+        IntList units = new IntList();
+        index.withinRadius(lat, lon, 2 * radius, units::add);
+        if (units.size() == 0) {
+            int[] nearest = index.nearest(lat, lon, 1, maxDistanceKm, u -> true);
+            if (nearest.length == 0) throw new IllegalArgumentException("scenario is outside the unit-source catalog");
+            units.add(nearest[0]);
+        }
+
+        int k = units.size();
+        double[] weight = new double[k];
+        double sum = 0, heaviest = 0;
+        for (int i = 0; i < k; i++) {
+            double d = center.distanceKm(db.unitLat(units.get(i)), db.unitLon(units.get(i))) / radius;
+            weight[i] = Math.exp(-d * d);
+            sum += weight[i];
+            heaviest = Math.max(heaviest, weight[i]);
+        }
+        double etaCutoff = Math.min(ETA_MIN_WEIGHT, heaviest);
+        // metres of uplift per unit weight, so the weighted unit volumes add up to the scenario's
+        double metres = target.amplitudeM() * target.radiusKm() * target.radiusKm() / (sum * unitRadius2);
+
+        int p = cells.length;
+        double[] height = new double[p];
+        float[] first = new float[p], eta = new float[p], perMetre = new float[p];
+        Arrays.fill(first, Float.NaN);
+        for (int i = 0; i < k; i++) {
+            db.read(units.get(i), eta, perMetre);
+            double scale = weight[i] * metres;
+            boolean timesArrival = weight[i] >= etaCutoff;
+            for (int j = 0; j < p; j++) {
+                height[j] += scale * perMetre[j];
+                if (timesArrival && !Float.isNaN(eta[j]) && (Float.isNaN(first[j]) || eta[j] < first[j])) first[j] = eta[j];
+            }
+        }
+
+        int n = grid().cells();
+        float[] etaGrid = new float[n], heightGrid = new float[n], relative = new float[n];
+        Arrays.fill(etaGrid, Float.NaN);
+        float a = (float) target.amplitudeM();
+        for (int j = 0; j < p; j++) {
+            int c = cells[j];
+            etaGrid[c] = first[j];
+            heightGrid[c] = (float) height[j];
+            relative[c] = a > 0 ? heightGrid[c] / a : 0f;
+        }
+        return new Forecast(etaGrid, heightGrid, relative, k);
+    }
+
+    /** Forecast layers on {@link #grid()} and the number of unit sources combined. */
+    public record Forecast(float[] etaMinutes, float[] maxHeightM, float[] relativeHeight, int units) {}
+
+    /** Median distance from each unit to its nearest neighbour; a single unit counts as 0. */
+    private double medianSpacingKm(double[] lat, double[] lon) {
+        int n = lat.length;
+        if (n < 2) return 0;
+        double[] nearest = new double[n];
+        for (int u = 0; u < n; u++) {
+            int self = u;
+            int[] other = index.nearest(lat[u], lon[u], 1, Double.MAX_VALUE, v -> v != self);
+            nearest[u] = EarthGeometry.haversineKm(lat[u], lon[u], lat[other[0]], lon[other[0]]);
+        }
+        Arrays.sort(nearest);
+        return nearest[n / 2];
+    }
+}
@@ -0,0 +1,235 @@
+package com.sismoview.service.tsunami;
+
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.PreparedSource;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.service.Progress;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Linear shallow-water equations on a spherical lat/lon Arakawa C grid (leapfrog in time,
+ * surface elevation at cell centres, volume fluxes on east/north faces). Land cells
+ * (depth {@code <= 0}) are walls and a sponge band damps the open edges.
+ *
+ * <p>Each step runs two passes over row bands on the fork/join pool: continuity writes the
+ * next elevation buffer (double-buffered), then momentum updates the fluxes from it. The run
+ * records the first time each cell exceeds the arrival threshold and its maximum elevation.
+ *
+ * <p>Progress is reported once per step. Interrupting the calling thread stops the run after
+ * the pass in flight with a {@link java.util.concurrent.CancellationException}.
+ */
+public final class ShallowWaterSolver {
+    static final double G = 9.81;
+    private static final double CFL = 0.5;
+    private static final int SPONGE = 10;
+    private static final double SPONGE_STRENGTH = 0.1;
+
+    private final ForkJoinPool pool;
+    private final int maxSteps;
+
+    public ShallowWaterSolver(ForkJoinPool pool, int maxSteps) {
+        this.pool = pool;
+        this.maxSteps = maxSteps;
+    }
+
+    /** Arrival minutes (NaN where the wave never arrives) and peak elevation per cell. */
+    public record Result(float[] arrivalMinutes, float[] maxHeightM, int steps, double dtSeconds,
+                         double simulatedSeconds, double wallSeconds, boolean stepCapped) {
+
+        public double stepsPerSecond() {
+            return wallSeconds > 0 ? steps / wallSeconds : 0.0;
+        }
+    }
+
+    public Result run(GridSpec spec, float[] depthM, TsunamiSource source, double durationSeconds) {
+        return run(spec, depthM, source, durationSeconds, Progress.NONE);
+    }
+
+    public Result run(GridSpec spec, float[] depthM, TsunamiSource source, double durationSeconds, Progress progress) {
+        int rows = spec.rows(), cols = spec.cols(), n = spec.cells();
+        if (depthM.length != n) throw new IllegalArgumentException("depth grid does not match the spec");
+
+        double dPhi = Math.toRadians(spec.dLat()), dLam = Math.toRadians(spec.dLon());
+        double r = EarthGeometry.R_KM * 1000.0;
+        double hMax = 0;
+        for (float h : depthM) hMax = Math.max(hMax, h);
+        if (hMax <= 0) {
+            float[] never = new float[n];
+            Arrays.fill(never, Float.NaN);
+            return new Result(never, new float[n], 0, 0, 0, 0, false);
+        }
+
+        double minCos = 1.0;
+        double[] cosC = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            cosC[i] = Math.max(Math.cos(Math.toRadians(spec.lat(i))), 1e-3);
+            minCos = Math.min(minCos, cosC[i]);
+        }
+        double dxMin = r * minCos * dLam, dy = r * dPhi;
+        double dt = CFL * Math.min(dxMin, dy) / Math.sqrt(G * hMax);
+        int wanted = (int) Math.ceil(durationSeconds / dt);
+        int steps = Math.min(wanted, maxSteps);
+
+        Fields f = new Fields(spec, depthM, cosC, dt, r, dPhi, dLam, source);
+        int band = Math.max(4, rows / (4 * pool.getParallelism()));
+        long start = System.nanoTime();
+        for (int k = 1; k <= steps; k++) {
+            float t = (float) (k * dt / 60.0);
+            pool.invoke(new Rows(0, rows, band, (r0, r1) -> f.continuity(r0, r1, t)));
+            Progress.checkCancelled();
+            pool.invoke(new Rows(0, rows, band, f::momentum));
+            f.swap();
+            progress.update((double) k / steps);
+            Progress.checkCancelled();
+        }
+        double wall = (System.nanoTime() - start) / 1e9;
+        return new Result(f.arrival, f.maxAmp, steps, dt, steps * dt, wall, steps < wanted);
+    }
+
+    /** Solver state; every array is indexed row-major like the {@link GridSpec}. */
+    private static final class Fields {
+        final int rows, cols;
+        final float[] depth;
+        float[] eta, etaNext;
+        final float[] fluxU, fluxV;
+        final float[] coefU, coefV;
+        final float[] arrival, maxAmp;
+        final double[] aX, aYn, aYs;
+        final float[] dampRow, dampCol;
+        final float threshold;
+
+        Fields(GridSpec spec, float[] depth, double[] cosC, double dt, double r, double dPhi, double dLam, TsunamiSource src) {
+            rows = spec.rows();
+            cols = spec.cols();
+            int n = rows * cols;
+            this.depth = depth;
+            eta = new float[n];
+            etaNext = new float[n];
+            fluxU = new float[n];
+            fluxV = new float[n];
+            coefU = new float[n];
+            coefV = new float[n];
+            arrival = new float[n];
+            maxAmp = new float[n];
+            aX = new double[rows];
+            aYn = new double[rows];
+            aYs = new double[rows];
+
+            for (int i = 0; i < rows; i++) {
+                double phi = Math.toRadians(spec.lat(i));
+                aX[i] = dt / (r * cosC[i] * dLam);
+                aYn[i] = dt * Math.cos(phi + dPhi / 2) / (r * cosC[i] * dPhi);
+                aYs[i] = dt * Math.cos(phi - dPhi / 2) / (r * cosC[i] * dPhi);
+            }
+            double aV = dt / (r * dPhi);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    int c = i * cols + j;
+                    if (j + 1 < cols && depth[c] > 0 && depth[c + 1] > 0) {
+                        coefU[c] = (float) (G * 0.5 * (depth[c] + depth[c + 1]) * aX[i]);
+                    }
+                    if (i + 1 < rows && depth[c] > 0 && depth[c + cols] > 0) {
+                        coefV[c] = (float) (G * 0.5 * (depth[c] + depth[c + cols]) * aV);
+                    }
+                }
+            }
+            dampRow = sponge(rows);
+            dampCol = sponge(cols);
+
+            threshold = (float) Math.max(0.005, 0.01 * src.amplitudeM());
+            Arrays.fill(arrival, Float.NaN);
+            double rho = src.radiusKm();
+            PreparedSource epicenter = EarthGeometry.prepare(src.lat(), src.lon());
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    int c = i * cols + j;
+                    if (depth[c] <= 0) continue;
+                    double d = epicenter.distanceKm(spec.lat(i), spec.lon(j));
+                    float h0 = (float) (src.amplitudeM() * Math.exp(-(d * d) / (rho * rho)));
+                    eta[c] = h0;
+                    maxAmp[c] = Math.abs(h0);
+                    if (Math.abs(h0) >= threshold) arrival[c] = 0f;
+                }
+            }
+        }
+
+        void continuity(int r0, int r1, float tMinutes) {
+            for (int i = r0; i < r1; i++) {
+                double ax = aX[i], an = aYn[i], as = aYs[i];
+                int base = i * cols;
+                for (int j = 0; j < cols; j++) {
+                    int c = base + j;
+                    if (depth[c] <= 0) {
+                        etaNext[c] = 0f;
+                        continue;
+                    }
+                    float west = j > 0 ? fluxU[c - 1] : 0f;
+                    float south = i > 0 ? fluxV[c - cols] : 0f;
+                    float next = (float) (eta[c] - ax * (fluxU[c] - west) - (an * fluxV[c] - as * south));
+                    next *= dampRow[i] * dampCol[j];
+                    etaNext[c] = next;
+                    float amp = Math.abs(next);
+                    if (amp > maxAmp[c]) maxAmp[c] = amp;
+                    if (amp >= threshold && Float.isNaN(arrival[c])) arrival[c] = tMinutes;
+                }
+            }
+        }
+
+        void momentum(int r0, int r1) {
+            for (int i = r0; i < r1; i++) {
+                int base = i * cols;
+                for (int j = 0; j < cols; j++) {
+                    int c = base + j;
+                    float damp = dampRow[i] * dampCol[j];
+                    float cu = coefU[c];
+                    fluxU[c] = cu == 0f ? 0f : (fluxU[c] - cu * (etaNext[c + 1] - etaNext[c])) * damp;
+                    float cv = coefV[c];
+                    fluxV[c] = cv == 0f ? 0f : (fluxV[c] - cv * (etaNext[c + cols] - etaNext[c])) * damp;
+                }
+            }
+        }
+
+        void swap() {
+            float[] t = eta;
+            eta = etaNext;
+            etaNext = t;
+        }
+
+        private static float[] sponge(int len) {
+            float[] w = new float[len];
+            for (int k = 0; k < len; k++) {
+                int edge = Math.min(k, len - 1 - k);
+                double x = edge >= SPONGE ? 0 : (SPONGE - edge) / (double) SPONGE;
+                w[k] = (float) (1.0 - SPONGE_STRENGTH * x * x);
+            }
+            return w;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowRange {
+        void run(int r0, int r1);
+    }
+
+    /** Splits rows into bands of at most {@code band} rows, one fork/join task each. */
+    private static final class Rows extends RecursiveAction {
+        private final int r0, r1, band;
+        private final RowRange body;
+
+        Rows(int r0, int r1, int band, RowRange body) {
+            this.r0 = r0; this.r1 = r1; this.band = band; this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (r1 - r0 <= band) {
+                body.run(r0, r1);
+                return;
+            }
+            int mid = (r0 + r1) >>> 1;
+            invokeAll(new Rows(r0, mid, band, body), new Rows(mid, r1, band, body));
+        }
+    }
+}
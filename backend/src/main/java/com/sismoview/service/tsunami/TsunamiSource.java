@@ -0,0 +1,19 @@
+package com.sismoview.service.tsunami;
+
+/**
+ * Initial sea-surface uplift used to seed the solver: a Gaussian hump of {@code amplitudeM}
+ * with e-folding radius {@code radiusKm}, centred on the epicenter.
+ */
+public record TsunamiSource(double lat, double lon, double amplitudeM, double radiusKm) {
+
+    /**
+     * Empirical scaling from magnitude and depth. Rupture length follows
+     * {@code L = 10^(0.5 M - 1.8)} km (radius L/2), peak uplift {@code 0.5 * 10^(0.5 (M - 7.5))} m,
+     * attenuated as {@code exp(-depth / 60 km)} for deeper sources.
+     */
+    public static TsunamiSource fromQuake(double lat, double lon, double magnitude, double depthKm) {
+        double radiusKm = 0.5 * Math.pow(10, 0.5 * magnitude - 1.8);
+        double amplitude = 0.5 * Math.pow(10, 0.5 * (magnitude - 7.5)) * Math.exp(-Math.max(0, depthKm) / 60.0);
+        return new TsunamiSource(lat, lon, amplitude, Math.max(1.0, radiusKm));
+    }
+}
@@ -0,0 +1,186 @@
+package com.sismoview.adapters.bathy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.grid.GridSpec;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GriddedBathymetryAdapterTest {
+    @TempDir Path dir;
+
+    /** 1-degree grid whose depth is a plane: 1000 + 10 * lat + 2 * lon, so bilinear reads are exact. */
+    private Path planeGrid(int dtype) throws IOException {
+        var h = new BathymetryGridFile.Header(dtype, 21, 41, -10, -20, 1, 1, BathymetryGridConverter.NODATA);
+        Path f = dir.resolve("plane-" + dtype + ".svb");
+        BathymetryGridFile.write(f, h, (row, out) -> {
+            for (int c = 0; c < out.length; c++) out[c] = 1000 + 10 * (float) h.lat0() + 10 * row + 2 * (float) (h.lon0() + c);
+        });
+        return f;
+    }
+
+    @Test
+    void bilinearInterpolationIsExactOnAPlane() throws IOException {
+        for (int dtype : new int[] {BathymetryGridFile.FLOAT32, BathymetryGridFile.INT16}) {
+            var bathy = new GriddedBathymetryAdapter(planeGrid(dtype));
+            assertEquals(1000.0, bathy.depthMeters(0, 0), 1e-3);
+            assertEquals(1000 + 10 * 2.5 + 2 * -7.25, bathy.depthMeters(2.5, -7.25), 1e-3);
+            // outside a regional grid the nearest edge is used
+            assertEquals(1000 + 10 * 10 + 2 * 20, bathy.depthMeters(45, 30), 1e-3);
+        }
+    }
+
+    @Test
+    void nodataCornersAreSkipped() throws IOException {
+        var h = new BathymetryGridFile.Header(BathymetryGridFile.FLOAT32, 2, 2, 0, 0, 1, 1, -1f);
+        Path f = dir.resolve("holes.svb");
+        BathymetryGridFile.write(f, h, (row, out) -> {
+            out[0] = row == 0 ? 100f : -1f;
+            out[1] = row == 0 ? 300f : Float.NaN;
+        });
+        var bathy = new GriddedBathymetryAdapter(f);
+        assertEquals(200.0, bathy.depthMeters(0.5, 0.5), 1e-6);
+        assertTrue(Double.isNaN(bathy.value(1, 0)));
+    }
+
+    @Test
+    void globalGridsWrapAcrossTheAntimeridian() throws IOException {
+        var h = new BathymetryGridFile.Header(BathymetryGridFile.FLOAT32, 3, 360, -1, -179.5, 1, 1, -1f);
+        Path f = dir.resolve("global.svb");
+        BathymetryGridFile.write(f, h, (row, out) -> {
+            for (int c = 0; c < out.length; c++) out[c] = c == 0 ? 1000f : c == 359 ? 3000f : 0f;
+        });
+        var bathy = new GriddedBathymetryAdapter(f);
+        // halfway between column 359 (179.5E) and column 0 (179.5W)
+        assertEquals(2000.0, bathy.depthMeters(0, 180), 1e-3);
+        assertEquals(2000.0, bathy.depthMeters(0, -180), 1e-3);
+    }
+
+    @Test
+    void asciiGridConvertsElevationToDepth() throws IOException {
+        Path asc = dir.resolve("tiny.asc");
+        Files.writeString(asc, """
+            ncols 3
+            nrows 2
+            xllcorner 10
+            yllcorner 40
+            cellsize 0.5
+            NODATA_value -9999
+            -100 -200 -9999
+            -400 -500 25
+            """);
+        Path out = dir.resolve("tiny.svb");
+        var h = BathymetryGridConverter.convert(asc, out, BathymetryGridFile.FLOAT32, false);
+        assertEquals(40.25, h.lat0(), 1e-9);
+        assertEquals(10.25, h.lon0(), 1e-9);
+
+        var bathy = new GriddedBathymetryAdapter(out);
+        assertEquals(400.0, bathy.value(0, 0), 1e-6);   // southern row comes first
+        assertEquals(-25.0, bathy.value(0, 2), 1e-6);   // land stays negative
+        assertEquals(200.0, bathy.value(1, 1), 1e-6);
+        assertTrue(Double.isNaN(bathy.value(1, 2)));
+        assertEquals(150.0, bathy.depthMeters(40.75, 10.5), 1e-6);
+    }
+
+    @Test
+    void xyzConversionInfersTheGrid() throws IOException {
+        Path xyz = dir.resolve("tiny.xyz");
+        Files.writeString(xyz, "0 0 -10\n1 0 -20\n0 1 -30\n1 1 -40\n");
+        Path out = dir.resolve("xyz.svb");
+        var h = BathymetryGridConverter.convert(xyz, out, BathymetryGridFile.INT16, false);
+        assertEquals(2, h.rows());
+        assertEquals(2, h.cols());
+        assertEquals(25.0, new GriddedBathymetryAdapter(out).depthMeters(0.5, 0.5), 1e-6);
+    }
+
+    @Test
+    void xyzPointsInAnyOrderLandInTheirCells() throws IOException {
+        Path xyz = dir.resolve("shuffled.xyz");
+        // 3 x 2 grid, rows out of order, one point missing
+        Files.writeString(xyz, "# lon lat z\n1,2,-60\n0 0 -10\n1 0 -20\n0 2 -50\n0 1 -30\n");
+        Path out = dir.resolve("shuffled.svb");
+        var h = BathymetryGridConverter.convert(xyz, out, BathymetryGridFile.FLOAT32, false);
+        assertEquals(3, h.rows());
+        assertEquals(2, h.cols());
+        var bathy = new GriddedBathymetryAdapter(out);
+        assertEquals(10.0, bathy.value(0, 0), 1e-6);
+        assertEquals(20.0, bathy.value(0, 1), 1e-6);
+        assertTrue(Double.isNaN(bathy.value(1, 1)));
+        assertEquals(60.0, bathy.value(2, 1), 1e-6);
+    }
+
+    @Test
+    void writerSpreadsRowsAcrossMappedWindows() throws IOException {
+        var h = new BathymetryGridFile.Header(BathymetryGridFile.INT16, 5, 3, 0, 0, 1, 1, BathymetryGridConverter.NODATA);
+        Path out = dir.resolve("windows.svb");
+        try (var w = new BathymetryGridFile.Writer(out, h, 2 * 3 * 2)) { // two rows per window
+            w.fill(BathymetryGridConverter.NODATA);
+            for (int r = 4; r >= 0; r--) {
+                if (r != 2) w.row(r, new float[] {r * 10, r * 10 + 1, r * 10 + 2});
+            }
+            w.cell(2, 1, 21);
+        }
+        assertEquals(BathymetryGridFile.HEADER_BYTES + h.dataBytes(), Files.size(out));
+        var bathy = new GriddedBathymetryAdapter(out);
+        assertEquals(2.0, bathy.value(0, 2), 1e-6);
+        assertEquals(31.0, bathy.value(3, 1), 1e-6);
+        assertEquals(42.0, bathy.value(4, 2), 1e-6);
+        assertEquals(21.0, bathy.value(2, 1), 1e-6);
+        assertTrue(Double.isNaN(bathy.value(2, 0)));
+    }
+
+    @Test
+    void filesLargerThanTwoGigabytesAreReadAcrossWindows() throws IOException {
+        var h = new BathymetryGridFile.Header(BathymetryGridFile.INT16, 40_000, 40_000, -80, -100, 0.004, 0.004, -32768f);
+        Path f = dir.resolve("sparse.svb");
+        long size = BathymetryGridFile.HEADER_BYTES + h.dataBytes();
+        try (RandomAccessFile raf = new RandomAccessFile(f.toFile(), "rw")) {
+            raf.setLength(size);
+        } catch (IOException e) {
+            Assumptions.abort("sparse files not supported here: " + e.getMessage());
+        }
+        try (FileChannel ch = FileChannel.open(f, StandardOpenOption.WRITE)) {
+            ch.write(h.encode(), 0);
+            ByteBuffer v = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+            ch.write(v.putShort(0, (short) 1234), size - 2);
+        }
+        var bathy = new GriddedBathymetryAdapter(f);
+        assertTrue(h.dataBytes() > Integer.MAX_VALUE);
+        assertEquals(1234.0, bathy.value(39_999, 39_999), 0);
+        assertEquals(0.0, bathy.value(20_000, 20_000), 0);
+    }
+
+    @Test
+    void bulkSamplingMatchesPointReads() throws IOException {
+        var h = new BathymetryGridFile.Header(BathymetryGridFile.FLOAT32, 50, 60, -5, 170, 0.2, 0.2, -1f);
+        Path f = dir.resolve("bulk.svb");
+        BathymetryGridFile.write(f, h, (row, out) -> {
+            for (int c = 0; c < out.length; c++) out[c] = (row * 37 + c * 11) % 17 == 0 ? -1f : 100f + row * c;
+        });
+        var bathy = new GriddedBathymetryAdapter(f);
+
+        // finer than the source grid and running past its edges, so rows are reused and clamped
+        GridSpec spec = new GridSpec(-6, 169, 0.07, 0.13, 170, 110);
+        float[] grid = new float[spec.cells()];
+        bathy.sampleGrid(spec, grid);
+        for (int r = 0; r < spec.rows(); r++) {
+            for (int c = 0; c < spec.cols(); c++) {
+                assertEquals((float) bathy.depthMeters(spec.lat(r), spec.lon(c)), grid[spec.index(r, c)], 1e-3);
+            }
+        }
+
+        float[] path = new float[25];
+        bathy.sampleGreatCircle(-4, 171, 4, 180, path);
+        assertEquals(bathy.depthMeters(-4, 171), path[0], 1e-3);
+        assertEquals(bathy.depthMeters(4, 180), path[24], 1e-3);
+    }
+}
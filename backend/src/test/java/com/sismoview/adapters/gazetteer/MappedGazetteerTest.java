@@ -0,0 +1,72 @@
+package com.sismoview.adapters.gazetteer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.sismoview.domain.models.Place;
+import com.sismoview.service.CityGazetteer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedGazetteerTest {
+    @TempDir
+    Path dir;
+
+    /** GeoNames columns: id, name, ascii, alternates, lat, lon, class, code, country, cc2, admin1-4, population. */
+    private static String row(String name, double lat, double lon, String featureClass, String country, long population) {
+        return String.join("\t", "1", name, name, "", Double.toString(lat), Double.toString(lon), featureClass, "PPL",
+            country, "", "", "", "", "", Long.toString(population), "", "2600", "America/Bogota", "2024-01-01");
+    }
+
+    private Path convert(long minPopulation) throws Exception {
+        Path in = dir.resolve("cities.txt"), out = dir.resolve("cities.svgz");
+        Files.write(in, List.of(
+            row("Tunja", 5.535, -73.367, "P", "CO", 200_000),
+            row("Bogotá", 4.711, -74.072, "P", "CO", 7_400_000),
+            row("Nevado del Ruiz", 4.892, -75.324, "T", "CO", 0),
+            row("San José", 9.928, -84.091, "P", "CR", 340_000),
+            row("Medellín", 6.244, -75.581, "P", "CO", 2_500_000),
+            row("San José", 4.0, -74.5, "P", "", 1_000)));
+        assertEquals(minPopulation > 0 ? 4 : 5, GazetteerConverter.convert(in, out, minPopulation));
+        return out;
+    }
+
+    @Test
+    void convertsSortsAndInternsNames() throws Exception {
+        MappedGazetteer g = new MappedGazetteer(convert(0));
+        assertEquals(5, g.places());
+        assertEquals("Bogotá", g.name(0));
+        assertEquals("Medellín", g.name(1));
+        assertEquals("San José", g.name(2));
+        assertEquals("CR", g.countryCode(2));
+        assertEquals("San José", g.name(4));
+        assertEquals("", g.countryCode(4));
+        assertEquals(7_400_000, g.population(0));
+        assertEquals(4.711, g.lat(0), 1e-6);
+        assertEquals(-74.072, g.lon(0), 1e-5);
+
+        GazetteerFile.Header h = GazetteerFile.Header.decode(ByteBuffer.wrap(Files.readAllBytes(dir.resolve("cities.svgz"))));
+        assertEquals(4, h.names());
+        assertEquals(4, new MappedGazetteer(convert(100_000)).places());
+    }
+
+    @Test
+    void selectsByRadiusPopulationAndLimit() throws Exception {
+        CityGazetteer cities = new CityGazetteer(Optional.of(new MappedGazetteer(convert(0))), new SimpleMeterRegistry(), 10, 100);
+        List<Place> near = cities.select(4.711, -74.072, 250, 0, null);
+        assertEquals(List.of("Bogotá", "Medellín", "Tunja", "San José"), near.stream().map(Place::name).toList());
+        assertEquals(0.0, near.get(0).distanceKm(), 0.01);
+        assertEquals(List.of("Bogotá", "Medellín"), cities.select(4.711, -74.072, 250, 1_000_000, null).stream().map(Place::name).toList());
+        assertEquals(List.of("Bogotá"), cities.select(4.711, -74.072, 250, 0, 1).stream().map(Place::name).toList());
+        assertEquals(List.of(), cities.select(-33.4, -70.6, 100, 0, null));
+
+        assertThrows(IllegalArgumentException.class, () -> cities.select(4.7, -74, 0, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> cities.select(4.7, -74, 100, 0, 101));
+        assertThrows(IllegalArgumentException.class, () -> new CityGazetteer().select(4.7, -74, 100, 0, null));
+    }
+}
@@ -0,0 +1,87 @@
+package com.sismoview.adapters.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.City;
+import com.sismoview.service.SeismicService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ArrivalStreamTest {
+    private final SeismicService seismic = new SeismicService();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ArrivalStream stream = new ArrivalStream(seismic, mapper, new SimpleMeterRegistry(), 7, 50);
+
+    private String run(String body, Integer earliest, boolean ndjson) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.run(stream.query(4.71, -74.07, 30, earliest), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, ndjson);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<City> cities(int n) {
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < n; i++) cities.add(new City("c" + i, -60 + (i * 37 % 120), -180 + (i * 53 % 360)));
+        return cities;
+    }
+
+    @Test
+    void matchesTheListPathAcrossChunks() throws Exception {
+        List<City> cities = cities(30);
+        List<Arrival> expected = seismic.arrivalsForCities(4.71, -74.07, 30, 0, cities);
+        JsonNode out = mapper.readTree(run(mapper.writeValueAsString(cities), null, false));
+        assertEquals(expected.size(), out.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).place(), out.get(i).get("place").asText());
+            assertEquals(expected.get(i).type(), out.get(i).get("type").asText());
+            assertEquals(expected.get(i).minutes(), out.get(i).get("minutes").asDouble(), 1e-12);
+        }
+
+        StringBuilder ndjson = new StringBuilder();
+        for (City c : cities) ndjson.append(mapper.writeValueAsString(c)).append('\n');
+        String[] lines = run(ndjson.toString(), null, true).split("\n");
+        assertEquals(expected.size(), lines.length);
+        assertEquals(expected.get(59).minutes(), mapper.readTree(lines[59]).get("minutes").asDouble(), 1e-12);
+    }
+
+    @Test
+    void earliestKeepsTheFirstReachedInArrivalOrder() throws Exception {
+        List<City> cities = cities(40);
+        List<Arrival> p = new ArrayList<>(seismic.arrivalsForCities(4.71, -74.07, 30, 0, cities).stream()
+            .filter(a -> a.type().equals("P")).toList());
+        p.sort(Comparator.comparingDouble(Arrival::minutes));
+
+        JsonNode out = mapper.readTree(run(mapper.writeValueAsString(cities), 5, false));
+        assertEquals(10, out.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(p.get(i).place(), out.get(2 * i).get("place").asText());
+            assertEquals(p.get(i).minutes(), out.get(2 * i).get("minutes").asDouble(), 1e-12);
+            assertEquals("S", out.get(2 * i + 1).get("type").asText());
+        }
+    }
+
+    @Test
+    void badCityEndsTheStreamWithAnError() throws Exception {
+        JsonNode out = mapper.readTree(run("[{\"name\":\"a\",\"lat\":1,\"lon\":2,\"pop\":[1,2]},{\"name\":\"b\",\"lat\":\"x\"}]", null, false));
+        assertEquals(3, out.size());
+        assertEquals("a", out.get(0).get("place").asText());
+        assertTrue(out.get(2).get("error").asText().contains("city 2"));
+
+        String[] lines = run("{\"lat\":1,\"lon\":2}\n{\"lat\":", null, true).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(mapper.readTree(lines[2]).get("error").asText().startsWith("invalid JSON"));
+
+        assertThrows(IllegalArgumentException.class, () -> stream.query(4, -74, 10, 51));
+        assertThrows(IllegalArgumentException.class, () -> stream.query(95, -74, 10, null));
+    }
+}
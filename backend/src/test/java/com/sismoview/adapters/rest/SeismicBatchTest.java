@@ -0,0 +1,95 @@
+package com.sismoview.adapters.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sismoview.adapters.bathy.BathymetryMockAdapter;
+import com.sismoview.domain.ground.GroundMotionModels;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.service.CityGazetteer;
+import com.sismoview.service.SeismicService;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.IntensityGridService;
+import com.sismoview.service.grid.RasterStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+public class SeismicBatchTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RasterStore store = new RasterStore(64);
+    private final SimulationFacade facade = new SimulationFacade(new SeismicService(),
+        new TsunamiService(new BathymetryMockAdapter(), store, registry, 4, 0.5, 400, 200, 10),
+        new IntensityGridService(store, TravelTimes.standard(), GroundMotionModels.standard(), registry, 20, 20, 10), new CityGazetteer(), registry, 0.01, 1, 0.1, 600, 100, 2, 16);
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SeismicBatch batch = new SeismicBatch(facade, mapper,
+        Validation.buildDefaultValidatorFactory().getValidator(), registry, 3, 200);
+
+    private Map<Long, JsonNode> run(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batch.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        Map<Long, JsonNode> byLine = new TreeMap<>();
+        for (String l : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode n = mapper.readTree(l);
+            byLine.put(n.get("line").asLong(), n);
+        }
+        return byLine;
+    }
+
+    @Test
+    void everyLineGetsAResultOrAnError() throws Exception {
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            in.append("{\"lat\":").append(i * 0.5).append(",\"lon\":-72,\"depthKm\":10,\"magnitude\":7}\n");
+        }
+        in.append("\r\n");                                                        // 21: blank, skipped
+        in.append("{\"lat\":1,\n");                                               // 22: broken JSON
+        in.append("{\"lon\":2}\n");                                              // 23: missing fields
+        in.append("{\"lat\":1,\"lon\":2,\"depthKm\":5,\"magnitude\":11}\r\n");     // 24: out of range
+        in.append("{\"lat\":1,\"lon\":2,\"cities\":[").append("{},".repeat(100)).append("{}]}\n"); // 25: too long
+        in.append("{\"lat\":3,\"lon\":4,\"depthKm\":5,\"magnitude\":6}");           // 26: no trailing newline
+
+        Map<Long, JsonNode> out = run(in.toString());
+        assertEquals(25, out.size());
+        for (long l = 1; l <= 20; l++) {
+            assertNotNull(out.get(l).get("result").get("arrivals"), "line " + l);
+            assertNull(out.get(l).get("error"));
+        }
+        assertTrue(out.get(22L).get("error").asText().startsWith("invalid JSON"));
+        assertTrue(out.get(23L).get("error").asText().contains("depthKm"));
+        assertTrue(out.get(24L).get("error").asText().startsWith("magnitude"));
+        assertTrue(out.get(25L).get("error").asText().contains("longer than"));
+        assertNotNull(out.get(26L).get("result"));
+        assertEquals(21.0, registry.counter("sismoview.batch.records", "outcome", "ok").count());
+        assertEquals(4.0, registry.counter("sismoview.batch.records", "outcome", "error").count());
+    }
+
+    @Test
+    void aClientThatStopsReadingEndsTheBatch() {
+        String line = "{\"lat\":1,\"lon\":2,\"depthKm\":5,\"magnitude\":6}\n";
+        OutputStream gone = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("broken pipe");
+            }
+        };
+        try {
+            batch.run(new ByteArrayInputStream(line.repeat(1000).getBytes(StandardCharsets.UTF_8)), gone);
+        } catch (IOException e) {
+            assertEquals("broken pipe", e.getMessage());
+            assertTrue(registry.counter("sismoview.batch.records", "outcome", "ok").count() < 1000);
+            return;
+        }
+        throw new AssertionError("write failure was swallowed");
+    }
+}
@@ -0,0 +1,185 @@
+package com.sismoview.adapters.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sismoview.service.jobs.JobService;
+import com.sismoview.service.jobs.JobState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedLoadsTest {
+    /** Every key lands in the same hash bin, where an in-lock computation would block the others. */
+    private record Key(int id) {
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final SharedLoads<Key, String> loads = new SharedLoads<>(Caffeine.newBuilder().executor(Runnable::run).buildAsync(), threads);
+
+    @AfterEach
+    void shutdown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void slowMissDoesNotBlockAMissOnAnotherKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slow = threads.submit(() -> loads.get(new Key(1), (k, p) -> {
+            await(release);
+            return "slow";
+        }, p -> {}));
+        Future<String> fast = threads.submit(() -> loads.get(new Key(2), (k, p) -> "fast", p -> {}));
+
+        assertEquals("fast", fast.get(5, TimeUnit.SECONDS));
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void interruptedWaiterLeavesTheOthersAndTheComputationAlone() throws Exception {
+        CountDownLatch running = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        List<Double> first = new CopyOnWriteArrayList<>(), second = new CopyOnWriteArrayList<>();
+        Caller a = new Caller(() -> loads.get(new Key(1), (k, p) -> {
+            computations.incrementAndGet();
+            running.countDown();
+            while (second.isEmpty()) {
+                p.update(0.5);
+                sleep();
+            }
+            await(release);
+            p.update(1.0);
+            return "done";
+        }, first::add));
+        running.await();
+        Caller b = new Caller(() -> loads.get(new Key(1), (k, p) -> "again", second::add));
+
+        while (second.isEmpty()) sleep();
+        a.thread.interrupt();
+        assertInstanceOf(CancellationException.class, a.failure());
+        release.countDown();
+
+        assertEquals("done", b.value());
+        assertEquals(1, computations.get());
+        assertFalse(first.contains(1.0));
+        assertEquals(1.0, second.get(second.size() - 1));
+    }
+
+    @Test
+    void lastWaiterGoneCancelsTheComputation() throws Exception {
+        CountDownLatch running = new CountDownLatch(1), stopped = new CountDownLatch(1);
+        Caller only = new Caller(() -> loads.get(new Key(1), (k, p) -> {
+            running.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                stopped.countDown();
+            }
+            throw new CancellationException("cancelled");
+        }, p -> {}));
+        running.await();
+        only.thread.interrupt();
+
+        assertInstanceOf(CancellationException.class, only.failure());
+        assertTrue(stopped.await(5, TimeUnit.SECONDS), "the computation was not interrupted");
+        // the cancelled load is not cached: the next caller computes afresh
+        assertEquals("fresh", new Caller(() -> loads.get(new Key(1), (k, p) -> "fresh", p -> {})).value());
+    }
+
+    @Test
+    void cancellingOneJobLeavesAnotherJobOnTheSameScenario() throws Exception {
+        JobService jobs = new JobService(new SimpleMeterRegistry(), 2, 10, 60, 100);
+        CountDownLatch running = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        JobService.Work work = progress -> loads.get(new Key(1), (k, p) -> {
+            computations.incrementAndGet();
+            running.countDown();
+            await(release);
+            return "done";
+        }, progress);
+        String cancelled = jobs.submit("tsunami", 0, work).id();
+        running.await();
+        String kept = jobs.submit("tsunami", 0, work).id();
+        while (jobs.status(kept).orElseThrow().state() != JobState.RUNNING) sleep();
+
+        jobs.cancel(cancelled);
+        // the cancelled job stops waiting while the shared solve is still blocked
+        assertEquals(JobState.CANCELLED, terminal(jobs, cancelled));
+        release.countDown();
+
+        assertEquals(JobState.SUCCEEDED, terminal(jobs, kept));
+        assertEquals("done", jobs.result(kept).orElseThrow());
+        assertEquals(1, computations.get());
+    }
+
+    private static JobState terminal(JobService jobs, String id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        JobState state = jobs.status(id).orElseThrow().state();
+        while (!state.isTerminal() && System.nanoTime() < deadline) {
+            sleep();
+            state = jobs.status(id).orElseThrow().state();
+        }
+        return state;
+    }
+
+    /** A caller on its own thread, so the test can interrupt it and inspect what it threw. */
+    private static final class Caller {
+        final CompletableFuture<String> outcome = new CompletableFuture<>();
+        final Thread thread;
+
+        Caller(Supplier<String> call) {
+            thread = Thread.ofVirtual().start(() -> {
+                try {
+                    outcome.complete(call.get());
+                } catch (Throwable t) {
+                    outcome.completeExceptionally(t);
+                }
+            });
+        }
+
+        String value() throws Exception {
+            return outcome.get(5, TimeUnit.SECONDS);
+        }
+
+        Throwable failure() throws Exception {
+            return outcome.handle((value, failure) -> failure).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("cancelled");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("cancelled");
+        }
+    }
+}
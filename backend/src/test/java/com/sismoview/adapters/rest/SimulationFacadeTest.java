@@ -0,0 +1,231 @@
+package com.sismoview.adapters.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.adapters.bathy.BathymetryMockAdapter;
+import com.sismoview.adapters.rest.dto.SeismicRequest;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.adapters.rest.dto.TsunamiResponse;
+import com.sismoview.domain.TsunamiMode;
+import com.sismoview.domain.ground.GroundMotionModels;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.traveltime.TravelTimes;
+import com.sismoview.domain.ports.BathymetryPort;
+import com.sismoview.domain.ports.GazetteerPort;
+import com.sismoview.service.CityGazetteer;
+import com.sismoview.service.Progress;
+import com.sismoview.service.SeismicService;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.IntensityGridService;
+import com.sismoview.service.grid.RasterStore;
+import com.sismoview.exception.DeadlineExceededException;
+import com.sismoview.exception.SimulationRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class SimulationFacadeTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RasterStore store = new RasterStore(64);
+    private final SimulationFacade facade = new SimulationFacade(new SeismicService(),
+        new TsunamiService(new BathymetryMockAdapter(), store, registry, 4, 0.5, 400, 200, 10),
+        new IntensityGridService(store, TravelTimes.standard(), GroundMotionModels.standard(), registry, 40, 40, 10),
+        new CityGazetteer(Optional.of(new Places()), registry, 100, 1000), registry, 0.01, 1, 0.1, 600, 100, 2, 16);
+
+    private static SeismicRequest request(double lat, double lon, double depthKm, double mag, List<City> cities) {
+        SeismicRequest r = new SeismicRequest();
+        r.setLat(lat); r.setLon(lon); r.setDepthKm(depthKm); r.setMagnitude(mag); r.setCities(cities);
+        return r;
+    }
+
+    private double misses(String cache) {
+        return registry.get("cache.gets").tag("cache", cache).tag("result", "miss").functionCounter().count();
+    }
+
+    @Test
+    void nearbyInputsShareTheSnappedResult() {
+        SeismicResponse a = facade.seismic(request(4.5712, -74.2973, 10.2, 6.04, null));
+        SeismicResponse b = facade.seismic(request(4.5698, -74.2968, 9.8, 5.96, null));
+        assertSame(a, b);
+        assertEquals(1.0, misses("simulate.seismic"));
+
+        SeismicResponse otherCities = facade.seismic(request(4.5712, -74.2973, 10.2, 6.04,
+            List.of(new City("Medellín", 6.2442, -75.5812))));
+        assertNotSame(a, otherCities);
+        assertNotSame(a, facade.seismic(request(4.59, -74.2973, 10.2, 6.04, null)));
+    }
+
+    @Test
+    void cityDigestDependsOnNamesAndCoordinates() {
+        String base = ScenarioKey.digest(List.of(new City("A", 1, 2)));
+        assertEquals(base, ScenarioKey.digest(List.of(new City("A", 1, 2))));
+        assertNotEquals(base, ScenarioKey.digest(List.of(new City("A", 1, 2.0000001))));
+        assertNotEquals(base, ScenarioKey.digest(List.of(new City("B", 1, 2))));
+        assertNotEquals(ScenarioKey.digest(List.of(new City("A", 1, 2), new City("B", 3, 4))),
+            ScenarioKey.digest(List.of(new City("B", 3, 4), new City("A", 1, 2))));
+    }
+
+    @Test
+    void snappedValuesAreExactDecimals() {
+        var steps = new ScenarioKey.Steps(0.01, 1, 0.1);
+        ScenarioKey k = steps.key(4.7110, -74.0721, 10.4, 6.25, "");
+        assertEquals(4.71, steps.lat(k));
+        assertEquals(-74.07, steps.lon(k));
+        assertEquals(10.0, steps.depthKm(k));
+        assertEquals(6.3, steps.magnitude(k));
+    }
+
+    @Test
+    void eventCombinesAllPartsAndSharesTheTsunamiCache() {
+        var event = facade.event(request(-20.004, -72.003, 20, 8.5, null), 30_000);
+        assertEquals(2, event.getArrivals().size());
+        assertEquals(2, event.getRings().size());
+        assertNotNull(event.getIntensity());
+        assertSame(event.getTsunami(), facade.tsunami(request(-20, -72, 20, 8.5, null)));
+    }
+
+    @Test
+    void gazetteerSelectionReplacesUploadedCities() {
+        SeismicRequest req = request(4.71, -74.07, 10, 6, null);
+        req.setCitiesWithinKm(250.0);
+        req.setMinPopulation(1_000_000L);
+        SeismicResponse res = facade.seismic(req);
+        assertEquals(List.of("Bogotá", "Medellín"), res.cityIntensity().stream().map(c -> c.place()).toList());
+
+        req.setMaxCities(1);
+        assertEquals(1, facade.seismic(req).cityIntensity().size());
+        req.setCities(List.of(new City("Tunja", 5.535, -73.367)));
+        assertThrows(IllegalArgumentException.class, () -> facade.seismic(req));
+        SeismicRequest noRadius = request(4.71, -74.07, 10, 6, null);
+        noRadius.setMaxCities(5);
+        assertThrows(IllegalArgumentException.class, () -> facade.seismic(noRadius));
+    }
+
+    @Test
+    void etaModeIsCachedApartAndHasNoHeights() {
+        TsunamiResponse wave = facade.tsunami(request(-20, -72, 20, 8.5, null));
+        TsunamiResponse eta = facade.tsunami(request(-20, -72, 20, 8.5, null), TsunamiMode.ETA, Progress.NONE);
+        assertNotNull(wave.relativeHeight());
+        assertNull(eta.relativeHeight());
+        assertNotEquals(wave.eta().gridId(), eta.eta().gridId());
+        assertTrue(eta.coastArrivals().isEmpty(), "the mock ocean has no coast");
+        assertSame(eta, facade.tsunami(request(-20.001, -72, 20, 8.5, null), TsunamiMode.ETA, Progress.NONE));
+        assertEquals(1.0, misses("simulate.tsunami.eta"));
+    }
+
+    @Test
+    void fanOutCancelsSiblingsPastTheDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOut scope = new FanOut(50)) {
+            scope.fork(() -> "fast");
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            });
+            assertThrows(DeadlineExceededException.class, scope::join);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void fanOutRethrowsTheFirstFailure() {
+        try (FanOut scope = new FanOut(5_000)) {
+            scope.fork(() -> { throw new IllegalArgumentException("bad input"); });
+            scope.fork(() -> "ok");
+            assertThrows(IllegalArgumentException.class, scope::join);
+        }
+    }
+
+    @Test
+    void concurrentMissesComputeOnce() throws Exception {
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return facade.tsunami(request(-20, -72, 20, 8.5, null));
+                }));
+            }
+            start.countDown();
+            Object first = results.get(0).get();
+            for (Future<Object> f : results) assertSame(first, f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1.0, misses("simulate.tsunami"));
+        assertEquals(1.0, registry.timer("sismoview.tsunami.solver.run").count());
+    }
+
+    @Test
+    void tsunamiMissesBeyondTheSolverQueueAreRejected() throws Exception {
+        CountDownLatch solving = new CountDownLatch(1), release = new CountDownLatch(1);
+        BathymetryPort blocking = (lat, lon) -> {
+            solving.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 4000;
+        };
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        SimulationFacade oneSolver = new SimulationFacade(new SeismicService(),
+            new TsunamiService(blocking, store, meters, 4, 0.5, 400, 200, 10),
+            new IntensityGridService(store, TravelTimes.standard(), GroundMotionModels.standard(), meters, 40, 40, 10),
+            new CityGazetteer(), meters, 0.01, 1, 0.1, 600, 100, 1, 1);
+        var pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<TsunamiResponse> running = pool.submit(() -> oneSolver.tsunami(request(-20, -72, 20, 8.5, null)));
+            assertTrue(solving.await(5, TimeUnit.SECONDS));
+            Future<TsunamiResponse> queued = pool.submit(() -> oneSolver.tsunami(request(-25, -72, 20, 8.5, null)));
+            while (meters.get("sismoview.tsunami.solver.queue.depth").gauge().value() < 1) Thread.sleep(5);
+
+            assertThrows(SimulationRejectedException.class, () -> oneSolver.tsunami(request(-30, -72, 20, 8.5, null)));
+            assertEquals(1.0, meters.counter("sismoview.tsunami.solver.rejected").count());
+            // seismic misses do not wait for a solver
+            assertNotNull(oneSolver.seismic(request(-30, -72, 20, 8.5, null)));
+
+            release.countDown();
+            assertNotNull(running.get(5, TimeUnit.SECONDS));
+            assertNotNull(queued.get(5, TimeUnit.SECONDS));
+            assertNotNull(oneSolver.tsunami(request(-30, -72, 20, 8.5, null)), "a rejected miss is not cached");
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    /** Four Colombian cities, most populous first. */
+    private static final class Places implements GazetteerPort {
+        private final String[] name = {"Bogotá", "Medellín", "Cali", "Tunja"};
+        private final double[] lat = {4.711, 6.244, 3.452, 5.535};
+        private final double[] lon = {-74.072, -75.581, -76.532, -73.367};
+        private final long[] population = {7_400_000, 2_500_000, 2_200_000, 200_000};
+
+        @Override public int places() { return name.length; }
+        @Override public double lat(int place) { return lat[place]; }
+        @Override public double lon(int place) { return lon[place]; }
+        @Override public long population(int place) { return population[place]; }
+        @Override public String name(int place) { return name[place]; }
+        @Override public String countryCode(int place) { return "CO"; }
+    }
+}
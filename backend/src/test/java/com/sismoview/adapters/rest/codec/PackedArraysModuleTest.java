@@ -0,0 +1,71 @@
+package com.sismoview.adapters.rest.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.Quake;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+public class PackedArraysModuleTest {
+    private static final TypeReference<List<Quake>> QUAKES = new TypeReference<>() {};
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory()).registerModule(new PackedArraysModule());
+    private final ObjectMapper msgpack = new ObjectMapper(new MessagePackFactory()).registerModule(new PackedArraysModule());
+
+    private static SeismicResponse response() {
+        return new SeismicResponse(null, List.of(new Arrival("Bogotá", "P", 7.5), new Arrival("Bogotá", "S", 13.25)),
+            List.of(new CityIntensity("Bogotá", 120.5, 0.04, 3.5, 5.25)), null);
+    }
+
+    private static List<Quake> quakes() {
+        return List.of(new Quake("us1", "2025-01-01T00:00:00Z", 4.71, -74.07, 10, 5.1, "Bogotá"),
+                       new Quake("us2", "2025-01-02T00:00:00Z", -33.45, -70.66, 35, 6.4, "Santiago"));
+    }
+
+    @Test
+    void arrivalsBecomeColumnsWithPackedMinutes() throws Exception {
+        for (ObjectMapper binary : List.of(cbor, msgpack)) {
+            JsonNode arrivals = binary.readTree(binary.writeValueAsBytes(response())).get("arrivals");
+            assertEquals("Bogotá", arrivals.get("place").get(1).asText());
+            assertEquals("S", arrivals.get("type").get(1).asText());
+            assertArrayEquals(new float[] {7.5f, 13.25f}, PackedFloats.read(arrivals.get("minutes").binaryValue()));
+            JsonNode intensity = binary.readTree(binary.writeValueAsBytes(response())).get("cityIntensity");
+            assertEquals("Bogotá", intensity.get("place").get(0).asText());
+            assertArrayEquals(new float[] {5.25f}, PackedFloats.read(intensity.get("mmi").binaryValue()));
+        }
+        // JSON keeps the object list
+        assertEquals("S", json.readTree(json.writeValueAsBytes(response())).get("arrivals").get(1).get("type").asText());
+    }
+
+    @Test
+    void quakeListsAreColumnarAndSmallerThanJson() throws Exception {
+        byte[] packed = cbor.writerFor(QUAKES).writeValueAsBytes(quakes());
+        JsonNode cols = cbor.readTree(packed);
+        assertEquals("us2", cols.get("id").get(1).asText());
+        assertArrayEquals(new float[] {4.71f, -33.45f}, PackedFloats.read(cols.get("lat").binaryValue()));
+        assertArrayEquals(new float[] {5.1f, 6.4f}, PackedFloats.read(cols.get("magnitude").binaryValue()));
+        assertTrue(packed.length < json.writerFor(QUAKES).writeValueAsBytes(quakes()).length);
+    }
+
+    @Test
+    void cborFloatArraysCarryTheTypedArrayTag() throws Exception {
+        byte[] bytes = cbor.writeValueAsBytes(new float[] {1f, 2f, 3f});
+        try (CBORParser p = (CBORParser) cbor.getFactory().createParser(bytes)) {
+            assertEquals(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals(PackedFloats.CBOR_TAG_FLOAT32_LE, p.getCurrentTag());
+            assertArrayEquals(new float[] {1f, 2f, 3f}, PackedFloats.read(p.getBinaryValue()));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sismoview.adapters.rest.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sismoview.adapters.rest.dto.GridLayer;
+import com.sismoview.adapters.rest.dto.SeismicResponse;
+import com.sismoview.adapters.rest.dto.TsunamiResponse;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.CityIntensity;
+import com.sismoview.domain.models.CoastArrival;
+import com.sismoview.domain.models.IntensityResult;
+import com.sismoview.domain.models.LegendItem;
+import com.sismoview.domain.models.RingSegment;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ResponseModuleTest {
+    private static final List<LegendItem> LEGEND = List.of(new LegendItem("Baja", "#7fb3ff"), new LegendItem("Alta \"ñ\"", "#ff6b6b"));
+
+    private static SeismicResponse seismic() {
+        return new SeismicResponse(
+            Map.of("P", List.of(new RingSegment("P", 10, 3600.5)), "S", List.of(new RingSegment("S", 10, 2100.25))),
+            List.of(new Arrival("Bogotá", "P", 7.5), new Arrival(null, "S", 13.25)),
+            List.of(new CityIntensity("Bogotá", 120.5, 0.04, 3.5, 5.25)),
+            new IntensityResult("int-1", LEGEND));
+    }
+
+    private static TsunamiResponse tsunami() {
+        return new TsunamiResponse(new GridLayer("tsu-1", LEGEND), null, List.of(new CoastArrival(-20.5, -70.25, 42.0)));
+    }
+
+    private static ObjectMapper json(JsonInclude.Include inclusion, boolean module) {
+        ObjectMapper om = new ObjectMapper().setSerializationInclusion(inclusion);
+        return module ? om.registerModule(new ResponseModule()) : om;
+    }
+
+    @Test
+    void writesTheSameJsonAsRecordSerialization() throws Exception {
+        for (JsonInclude.Include inclusion : List.of(JsonInclude.Include.NON_NULL, JsonInclude.Include.ALWAYS)) {
+            ObjectMapper plain = json(inclusion, false), fast = json(inclusion, true);
+            for (Object res : List.of(seismic(), tsunami())) {
+                assertEquals(plain.readTree(plain.writeValueAsBytes(res)), fast.readTree(fast.writeValueAsBytes(res)), inclusion + " " + res);
+            }
+        }
+        JsonNode tree = json(JsonInclude.Include.NON_NULL, true).valueToTree(tsunami());
+        assertFalse(tree.has("relativeHeight"));
+        assertFalse(tree.get("coastArrivals").get(0).isNull());
+    }
+
+    @Test
+    void legendFragmentsAreReusedAndSkippedWhenPrettyPrinting() throws Exception {
+        ObjectMapper fast = json(JsonInclude.Include.NON_NULL, true);
+        String first = fast.writeValueAsString(tsunami());
+        assertEquals(first, fast.writeValueAsString(tsunami()));
+        assertEquals(fast.readTree(first).get("eta").get("legend"), fast.readTree(fast.writeValueAsString(seismic())).get("intensity").get("legend"));
+
+        String pretty = fast.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(tsunami());
+        assertTrue(pretty.contains("\"label\" : \"Baja\""), pretty);
+        assertEquals(fast.readTree(first), fast.readTree(pretty));
+    }
+
+    @Test
+    void binaryMappersStillPackColumns() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory()).setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(new ResponseModule()).registerModule(new PackedArraysModule());
+        JsonNode res = cbor.readTree(cbor.writeValueAsBytes(seismic()));
+        assertArrayEquals(new float[] {7.5f, 13.25f}, PackedFloats.read(res.get("arrivals").get("minutes").binaryValue()));
+        assertEquals("Alta \"ñ\"", res.get("intensity").get("legend").get(1).get("label").asText());
+        JsonNode coast = cbor.readTree(cbor.writeValueAsBytes(tsunami())).get("coastArrivals");
+        assertArrayEquals(new float[] {42f}, PackedFloats.read(coast.get("minutes").binaryValue()));
+    }
+}
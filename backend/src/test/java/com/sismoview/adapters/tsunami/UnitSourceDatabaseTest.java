@@ -0,0 +1,79 @@
+package com.sismoview.adapters.tsunami;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.adapters.bathy.BathymetryMockAdapter;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.service.TsunamiService;
+import com.sismoview.service.grid.RasterStore;
+import com.sismoview.service.tsunami.TsunamiSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class UnitSourceDatabaseTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsThroughTheMappedFile() throws Exception {
+        GridSpec grid = new GridSpec(-1, -1, 0.5, 0.5, 5, 5);
+        UnitSourceFile.Header h = new UnitSourceFile.Header(2, 3, grid, 7.5f, 0f);
+        Path file = dir.resolve("u.svts");
+        UnitSourceFile.write(file, h, new int[] {0, 7, 24}, new double[] {1, 2}, new double[] {3, 4}, (u, eta, height) -> {
+            eta[0] = 12.34f + u; eta[1] = Float.NaN; eta[2] = 2000f;
+            height[0] = 0.125f; height[1] = 0f; height[2] = 3.3f * (u + 1);
+        });
+
+        UnitSourceDatabase db = new UnitSourceDatabase(file);
+        assertEquals(grid, db.forecastGrid());
+        assertEquals(2.0, db.unitLat(1));
+        assertEquals(7.5, db.unitMagnitude());
+        float[] eta = new float[3], height = new float[3];
+        db.read(1, eta, height);
+        assertEquals(13.3f, eta[0], 1e-4);
+        assertTrue(Float.isNaN(eta[1]));
+        assertEquals(2000f, eta[2]);
+        assertEquals(0.125f, height[0]);
+        assertEquals(6.6f, height[2], 6.6f / 1000);
+    }
+
+    @Test
+    void scenariosNearTheCatalogScaleUnitRunsAndOthersRunTheSolver() throws Exception {
+        RasterStore store = new RasterStore(64);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TsunamiService solver = new TsunamiService(new BathymetryMockAdapter(), store, registry, 4, 0.5, 400, 200, 10);
+        Path file = dir.resolve("catalog.svts");
+        UnitSourceCatalogBuilder.build(List.of(new double[] {0, 0}, new double[] {0, 1}), solver,
+            new BathymetryMockAdapter(), 4, 0.5, file, (u, n) -> {});
+
+        UnitSourceDatabase db = new UnitSourceDatabase(file);
+        TsunamiService service = new TsunamiService(new BathymetryMockAdapter(), Optional.of(db), store, registry,
+            4, 0.5, 400, 200, 10, 100, 4, 0.5, 400, 500);
+
+        Raster a = service.simulateGrid(0, 0.5, 7.5, 0);
+        Raster b = service.simulateGrid(0, 0.5, 7.7, 0);
+        assertEquals(db.forecastGrid(), a.getSpec());
+        float[] ha = a.layer(TsunamiService.MAX_HEIGHT), hb = b.layer(TsunamiService.MAX_HEIGHT);
+        TsunamiSource sa = TsunamiSource.fromQuake(0, 0.5, 7.5, 0), sb = TsunamiSource.fromQuake(0, 0.5, 7.7, 0);
+        double ratio = sb.amplitudeM() * sb.radiusKm() * sb.radiusKm() / (sa.amplitudeM() * sa.radiusKm() * sa.radiusKm());
+        int reached = 0;
+        for (int i = 0; i < ha.length; i++) {
+            if (ha[i] > 0) {
+                assertEquals(ratio, hb[i] / ha[i], 1e-4);
+                reached++;
+            }
+        }
+        assertTrue(reached > 0);
+        assertTrue(Float.isFinite(a.layer(TsunamiService.ETA_MINUTES)[db.forecastGrid().index(4, 5)]));
+
+        Raster far = service.simulateGrid(30, 30, 7.5, 0);
+        assertEquals(8, far.getSpec().rows());
+        assertEquals(2.0, registry.counter("sismoview.tsunami.scenarios", "outcome", "hit").count());
+        assertEquals(1.0, registry.counter("sismoview.tsunami.scenarios", "outcome", "fallback").count());
+    }
+}
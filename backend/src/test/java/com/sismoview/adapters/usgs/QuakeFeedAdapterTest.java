@@ -0,0 +1,149 @@
+package com.sismoview.adapters.usgs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.sismoview.domain.models.FeedRefreshed;
+import com.sismoview.domain.models.Quake;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+public class QuakeFeedAdapterTest {
+    private static final String ETAG = "\"v1\"";
+    private static final String FEED = """
+        {"type":"FeatureCollection","features":[
+          {"type":"Feature","id":"us1","properties":{"mag":5.1,"place":"Off the coast","time":1700000000000},
+           "geometry":{"type":"Point","coordinates":[-74.07,4.71,10.0]}}
+        ]}""";
+
+    private HttpServer server;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private QuakeFeedAdapter adapter;
+    private SimpleMeterRegistry registry;
+    private final List<Object> published = new ArrayList<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile int failWith;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", ex -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failWith != 0) {
+                ex.sendResponseHeaders(failWith, -1);
+            } else if (ETAG.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                ex.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = FEED.getBytes(StandardCharsets.UTF_8);
+                downloads.incrementAndGet();
+                ex.getResponseHeaders().add("ETag", ETAG);
+                ex.getResponseHeaders().add("Content-Type", "application/json");
+                ex.sendResponseHeaders(200, body.length);
+                ex.getResponseBody().write(body);
+            }
+            ex.close();
+        });
+        server.start();
+        registry = new SimpleMeterRegistry();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        adapter = new QuakeFeedAdapter(RestClient.builder(), base, registry, published::add);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void servesSnapshotAndRevalidatesWithEtag() {
+        var first = adapter.getLiveQuakes("day");
+        assertEquals(1, first.size());
+        assertEquals("us1", first.get(0).getId());
+
+        adapter.refresh("day");
+        adapter.refresh("day");
+        var again = adapter.getLiveQuakes("day");
+
+        assertSame(first, again);
+        assertEquals(1, downloads.get());
+        assertEquals(2, notModified.get());
+        assertEquals(2.0 / 3.0, adapter.notModifiedRatio(), 1e-9);
+        // 304s keep the same list, so only the first download is announced
+        assertEquals(1, published.size());
+        FeedRefreshed event = (FeedRefreshed) published.get(0);
+        assertEquals("day", event.window());
+        assertEquals(0, event.previous().size());
+        assertSame(first, event.current());
+    }
+
+    @Test
+    void concurrentColdStartsDownloadOnce() throws Exception {
+        release = new CountDownLatch(1);
+        List<Future<List<Quake>>> callers = new ArrayList<>();
+        try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) callers.add(pool.submit(() -> adapter.getLiveQuakes("day")));
+            // let every caller reach the cold start while the download is held
+            Thread.sleep(50);
+            release.countDown();
+            var first = callers.get(0).get(5, TimeUnit.SECONDS);
+            for (var c : callers) assertSame(first, c.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, downloads.get());
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void recordsFetchParseAndPayloadPerWindow() {
+        adapter.getLiveQuakes("day");
+        adapter.refresh("day");
+
+        assertEquals(2, registry.get("sismoview.feed.fetch").tag("window", "day").timer().count());
+        assertEquals(1, registry.get("sismoview.feed.parse").tag("window", "day").timer().count());
+        assertEquals(FEED.getBytes(StandardCharsets.UTF_8).length,
+            registry.get("sismoview.feed.payload").tag("window", "day").summary().totalAmount(), 0.0);
+        assertEquals(1.0, registry.get("sismoview.feed.snapshot.size").tag("window", "day").gauge().value(), 0.0);
+        assertEquals(0.0, registry.get("sismoview.feed.snapshot.size").tag("window", "week").gauge().value(), 0.0);
+    }
+
+    @Test
+    void serverErrorsAreNotCountedAsSuccessfulFetches() {
+        adapter.getLiveQuakes("day");
+        failWith = 500;
+
+        assertThrows(IllegalStateException.class, () -> adapter.refresh("day"));
+
+        assertEquals(1, registry.get("sismoview.feed.fetch").tag("window", "day").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("sismoview.feed.fetch").tag("window", "day").tag("outcome", "error").timer().count());
+        assertEquals(1, registry.get("sismoview.feed.refresh").tag("window", "day").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void keepsPreviousSnapshotWhenRefreshFails() {
+        var first = adapter.getLiveQuakes("week");
+        server.stop(0);
+
+        adapter.refreshAll();
+
+        assertSame(first, adapter.getLiveQuakes("week"));
+        assertEquals(2.0, registry.counter("sismoview.feed.checks", "result", "error").count(), 0.0);
+    }
+}
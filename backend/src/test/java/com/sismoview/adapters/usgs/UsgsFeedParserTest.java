@@ -0,0 +1,52 @@
+package com.sismoview.adapters.usgs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.sismoview.domain.models.Quake;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class UsgsFeedParserTest {
+    private final UsgsFeedParser parser = new UsgsFeedParser(new JsonFactory());
+
+    private List<Quake> parse(String json) throws Exception {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsFeaturesAndSkipsUnusedProperties() throws Exception {
+        var quakes = parse("""
+            {"type":"FeatureCollection","metadata":{"count":1,"nested":{"a":[1,2,{"b":3}]}},
+             "features":[{"type":"Feature","properties":{"mag":6.2,"url":"x","ids":",a,b,",
+               "extra":{"deep":[1,[2]]},"place":"Near Coast","time":1700000000000},
+               "geometry":{"type":"Point","coordinates":[120.5,-8.25,35.0]},"id":"us1"}],
+             "bbox":[0,0,0,1,1,1]}""");
+
+        assertEquals(1, quakes.size());
+        Quake q = quakes.get(0);
+        assertEquals("us1", q.getId());
+        assertEquals(-8.25, q.getLat(), 0.0);
+        assertEquals(120.5, q.getLon(), 0.0);
+        assertEquals(35.0, q.getDepthKm(), 0.0);
+        assertEquals(6.2, q.getMagnitude(), 0.0);
+        assertEquals("Near Coast", q.getPlace());
+        assertEquals("2023-11-14T22:13:20Z", q.getTimeUtc());
+    }
+
+    @Test
+    void dropsOnlyIncompleteFeatures() throws Exception {
+        var quakes = parse("""
+            {"features":[
+              {"id":"noMag","properties":{"mag":null,"place":"A","time":1},"geometry":{"coordinates":[1,2,3]}},
+              {"id":"noPlace","properties":{"mag":4.6,"place":null,"time":1},"geometry":{"coordinates":[1,2,3]}},
+              {"id":"noGeom","properties":{"mag":4.6,"place":"B","time":1},"geometry":null}
+            ]}""");
+
+        assertEquals(1, quakes.size());
+        assertEquals("noPlace", quakes.get(0).getId());
+        assertNull(quakes.get(0).getPlace());
+    }
+}
@@ -1,6 +1,8 @@
 package com.sismoview.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class EarthGeometryTest {
@@ -10,4 +12,68 @@ public class EarthGeometryTest {
         // ~111.19 km
         assertEquals(111.2, d, 1.0);
     }
+
+    @Test
+    void greatCircleStepsAreEvenAndHitBothEnds() {
+        double[] lats = new double[11], lons = new double[11];
+        EarthGeometry.greatCircle(40.7, -74.0, 51.5, -0.1, lats, lons);
+        assertEquals(40.7, lats[0], 1e-9);
+        assertEquals(-0.1, lons[10], 1e-9);
+        double total = EarthGeometry.haversineKm(40.7, -74.0, 51.5, -0.1);
+        for (int i = 1; i < 11; i++) {
+            assertEquals(total / 10, EarthGeometry.haversineKm(lats[i - 1], lons[i - 1], lats[i], lons[i]), 1e-6);
+        }
+    }
+
+    @Test
+    void preparedSourceMatchesScalarHaversineInBulk() {
+        Random rnd = new Random(11);
+        int n = 1000;
+        double[] lat = new double[n], lon = new double[n], out = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = -90 + 180 * rnd.nextDouble();
+            lon[i] = -180 + 360 * rnd.nextDouble();
+        }
+        PreparedSource src = EarthGeometry.prepare(-33.4, -70.6);
+        src.distancesKm(lat, lon, out, DistanceMode.HAVERSINE);
+        for (int i = 0; i < n; i++) {
+            assertEquals(EarthGeometry.haversineKm(-33.4, -70.6, lat[i], lon[i]), out[i], 1e-6);
+        }
+    }
+
+    @Test
+    void fastModeStaysWithinItsDocumentedErrorBound() {
+        Random rnd = new Random(12);
+        double worst = 0;
+        for (int k = 0; k < 200; k++) {
+            PreparedSource src = EarthGeometry.prepare(-90 + 180 * rnd.nextDouble(), -180 + 360 * rnd.nextDouble());
+            for (int i = 0; i < 1000; i++) {
+                double la = -90 + 180 * rnd.nextDouble(), lo = -180 + 360 * rnd.nextDouble();
+                worst = Math.max(worst, Math.abs(src.distanceKm(la, lo, DistanceMode.FAST) - src.distanceKm(la, lo)));
+            }
+        }
+        assertTrue(worst < 1e-3, "fast distance error " + worst * 1000 + " m");
+    }
+
+    @Test
+    void wgs84MatchesVincentyReferenceGeodesic() {
+        // Flinders Peak -> Buninyong, Vincenty (1975): 54 972.271 m
+        double lat1 = -(37 + 57 / 60.0 + 3.72030 / 3600), lon1 = 144 + 25 / 60.0 + 29.52440 / 3600;
+        double lat2 = -(37 + 39 / 60.0 + 10.15610 / 3600), lon2 = 143 + 55 / 60.0 + 35.38390 / 3600;
+        assertEquals(54.972271, EarthGeometry.distanceKm(lat1, lon1, lat2, lon2, DistanceMode.WGS84), 1e-6);
+        // one degree of longitude on the equator is longer on the ellipsoid than on the sphere
+        assertEquals(111.3195, EarthGeometry.distanceKm(0, 0, 0, 1, DistanceMode.WGS84), 1e-3);
+        // nearly antipodal pairs fall back to the sphere instead of failing
+        assertTrue(EarthGeometry.distanceKm(0, 0, 0.5, 179.7, DistanceMode.WGS84) > 19_900);
+    }
+
+    @Test
+    void azimuthPointsAlongTheInitialBearing() {
+        PreparedSource src = EarthGeometry.prepare(0, 0);
+        assertEquals(90.0, src.azimuthDeg(0, 10), 1e-9);
+        assertEquals(0.0, src.azimuthDeg(10, 0), 1e-9);
+        assertEquals(270.0, src.azimuthDeg(0, -10), 1e-9);
+        // New York -> London initial course is about 51 degrees
+        assertEquals(51.2, EarthGeometry.prepare(40.7128, -74.0060).azimuthDeg(51.5074, -0.1278), 0.1);
+    }
 }
@@ -0,0 +1,74 @@
+package com.sismoview.domain.ground;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class GroundMotionModelTest {
+    private static final List<GroundMotionModel> MODELS = List.of(new PeakMotionModel(), new AtkinsonWald2007());
+
+    @Test
+    void peakMotionMatchesPublishedRelations() {
+        GroundMotion gm = new PeakMotionModel().prepare(7.0, 10).at(10.0);
+        // BJF97: ln PGA = -0.242 + 0.527 - 0.778 ln sqrt(10² + 5.57²) - 0.371 ln(760/1396)
+        assertEquals(Math.exp(0.285 - 0.778 * Math.log(Math.hypot(10, 5.57)) - 0.371 * Math.log(760.0 / 1396.0)), gm.pgaG(), 1e-9);
+        // JB88: log PGV = 2.09 + 0.49 - log r - 0.0026 r, r = sqrt(10² + 4²)
+        double r = Math.hypot(10, 4);
+        assertEquals(Math.pow(10, 2.58 - Math.log10(r) - 0.0026 * r), gm.pgvCmS(), 1e-9);
+        // above VII intensity comes from PGV alone
+        assertEquals(2.89 + 3.16 * Math.log10(gm.pgvCmS()), gm.mmi(), 1e-9);
+    }
+
+    @Test
+    void atkinsonWaldMatchesPublishedEquation() {
+        GroundMotion gm = new AtkinsonWald2007().prepare(7.0, 10).at(10.0);
+        double r = Math.hypot(10, 14), lr = Math.log10(r);
+        assertEquals(12.27 + 2.27 + 0.1304 - 1.30 * lr - 0.000707 * r - 0.577 * 7.0 * lr, gm.mmi(), 1e-9);
+        // PGA and PGV convert back to the same intensity
+        assertEquals(gm.mmi(), Worden2012.mmiFromPga(Math.log10(gm.pgaG()) + Worden2012.LOG10_G_CMS2), 1e-9);
+        assertEquals(gm.mmi(), Worden2012.mmiFromPgv(Math.log10(gm.pgvCmS())), 1e-9);
+    }
+
+    @Test
+    void intensityFallsWithDistanceAndRisesWithMagnitude() {
+        for (GroundMotionModel model : MODELS) {
+            GroundMotionModel.Source small = model.prepare(5.0, 10), large = model.prepare(7.5, 10);
+            double previous = Double.MAX_VALUE;
+            for (double km = 5; km < 2000; km *= 1.5) {
+                GroundMotion a = small.at(km), b = large.at(km);
+                assertTrue(b.mmi() >= a.mmi() && b.pgaG() >= a.pgaG(), model.id() + " at " + km);
+                assertTrue(a.mmi() <= previous, model.id() + " at " + km);
+                assertTrue(a.mmi() >= GroundMotionModel.MIN_MMI && b.mmi() <= GroundMotionModel.MAX_MMI);
+                previous = a.mmi();
+            }
+        }
+    }
+
+    @Test
+    void bulkEvaluationMatchesSingleSites() {
+        double[] km = {1, 12.5, 80, 400, 3000};
+        for (GroundMotionModel model : MODELS) {
+            GroundMotionModel.Source source = model.prepare(6.4, 35);
+            double[] pga = new double[km.length], pgv = new double[km.length], mmi = new double[km.length];
+            source.evaluate(km, 0, km.length, pga, pgv, mmi);
+            double[] mmiOnly = new double[km.length];
+            source.evaluate(km, 0, km.length, null, null, mmiOnly);
+            for (int i = 0; i < km.length; i++) {
+                GroundMotion gm = source.at(km[i]);
+                assertEquals(gm.pgaG(), pga[i], 0.0);
+                assertEquals(gm.pgvCmS(), pgv[i], 0.0);
+                assertEquals(gm.mmi(), mmi[i], 0.0);
+                assertEquals(gm.mmi(), mmiOnly[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    void modelsAreLookedUpById() {
+        assertEquals(AtkinsonWald2007.ID, GroundMotionModels.byId(" AW07 ").id());
+        assertEquals(PeakMotionModel.ID, GroundMotionModels.standard().id());
+        assertThrows(IllegalArgumentException.class, () -> GroundMotionModels.byId("nope"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sismoview.domain.spatial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.EarthGeometry;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class GeoGridIndexTest {
+    private final Random rnd = new Random(7);
+    private final int n = 5000;
+    private final double[] lat = new double[n];
+    private final double[] lon = new double[n];
+    private final GeoGridIndex index;
+
+    public GeoGridIndexTest() {
+        for (int i = 0; i < n; i++) {
+            lat[i] = Math.toDegrees(Math.asin(2 * rnd.nextDouble() - 1));
+            lon[i] = -180 + 360 * rnd.nextDouble();
+        }
+        lat[0] = 89.9; lon[0] = 10;
+        lat[1] = 89.9; lon[1] = -170;
+        lat[2] = 0; lon[2] = 180;
+        index = new GeoGridIndex(lat, lon, 1.0);
+    }
+
+    private int[] collect(Consumer<IntConsumer> query) {
+        IntList hits = new IntList();
+        query.accept(hits::add);
+        int[] out = hits.toArray();
+        Arrays.sort(out);
+        return out;
+    }
+
+    @Test
+    void boxAcrossAntimeridian() {
+        int[] got = collect(out -> index.withinBox(-20, 20, 170, -170, out));
+        int[] expected = IntStream.range(0, n)
+            .filter(i -> lat[i] >= -20 && lat[i] <= 20 && (lon[i] >= 170 || lon[i] <= -170))
+            .toArray();
+        assertArrayEquals(expected, got);
+        assertTrue(Arrays.binarySearch(got, 2) >= 0);
+    }
+
+    @Test
+    void radiusAroundPoleAndAntimeridian() {
+        double[][] centers = {{88, 0}, {-60, 179.5}, {10, -179}, {45, 90}};
+        for (double[] c : centers) {
+            int[] got = collect(out -> index.withinRadius(c[0], c[1], 1500, out));
+            int[] expected = IntStream.range(0, n)
+                .filter(i -> EarthGeometry.haversineKm(c[0], c[1], lat[i], lon[i]) <= 1500)
+                .toArray();
+            assertArrayEquals(expected, got, "center " + Arrays.toString(c));
+        }
+        assertTrue(Arrays.binarySearch(collect(out -> index.withinRadius(88, 0, 1500, out)), 1) >= 0);
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        int[] got = index.nearest(-33.4, -70.6, 25, Double.POSITIVE_INFINITY, i -> i % 3 == 0);
+        int[] expected = IntStream.range(0, n)
+            .filter(i -> i % 3 == 0)
+            .boxed()
+            .sorted((a, b) -> Double.compare(
+                EarthGeometry.haversineKm(-33.4, -70.6, lat[a], lon[a]),
+                EarthGeometry.haversineKm(-33.4, -70.6, lat[b], lon[b])))
+            .limit(25)
+            .mapToInt(Integer::intValue)
+            .toArray();
+        assertArrayEquals(expected, got);
+    }
+}
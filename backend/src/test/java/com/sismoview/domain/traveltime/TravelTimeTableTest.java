@@ -0,0 +1,58 @@
+package com.sismoview.domain.traveltime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.adapters.traveltime.TravelTimeTableFile;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TravelTimeTableTest {
+    private final TravelTimes tables = TravelTimes.standard();
+
+    @Test
+    void surfaceSourceMatchesAk135() {
+        // ak135 first arrivals in minutes, surface focus
+        assertEquals(6.13, tables.p().minutes(30, 0), 0.1);
+        assertEquals(10.12, tables.p().minutes(60, 0), 0.1);
+        assertEquals(12.98, tables.p().minutes(90, 0), 0.15);
+        assertEquals(11.10, tables.s().minutes(30, 0), 0.2);
+        assertEquals(23.70, tables.s().minutes(90, 0), 0.3);
+    }
+
+    @Test
+    void timesGrowWithDistanceAndDeepSourcesArriveSooner() {
+        TravelTimeCurve shallow = tables.p().atDepth(10), deep = tables.p().atDepth(600);
+        for (double d = 0.1; d <= 180; d += 0.1) {
+            assertTrue(shallow.minutes(d) >= shallow.minutes(d - 0.1) - 1e-6, "P not monotonic at " + d);
+        }
+        assertTrue(deep.minutes(60) < shallow.minutes(60) - 0.5);
+        assertTrue(tables.s().minutes(45, 100) > tables.p().minutes(45, 100));
+        // a 600 km source is about 70 s (P) below the epicentre
+        assertEquals(1.17, deep.minutes(0), 0.05);
+    }
+
+    @Test
+    void bilinearLookupAndRingInversionAgree() {
+        double between = tables.p().minutes(42.35, 35);
+        double lo = tables.p().minutes(42.35, 30), hi = tables.p().minutes(42.35, 40);
+        assertEquals((lo + hi) / 2, between, 1e-6);
+
+        TravelTimeCurve s = tables.s().atDepth(35);
+        double minutes = s.minutes(42.35);
+        assertEquals(42.35, s.distanceDegAt(minutes), 1e-3);
+        assertEquals(0, s.distanceDegAt(0));
+        assertEquals(180, s.distanceDegAt(1e6));
+    }
+
+    @Test
+    void fileRoundTrip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("tt.svtt");
+        TravelTimeTableFile.write(file, tables);
+        TravelTimes read = TravelTimeTableFile.read(file);
+        assertArrayEquals(tables.p().values(), read.p().values());
+        assertArrayEquals(tables.s().values(), read.s().values());
+        assertEquals(tables.p().depthStepKm(), read.p().depthStepKm());
+    }
+}
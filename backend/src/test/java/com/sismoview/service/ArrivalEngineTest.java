@@ -0,0 +1,94 @@
+package com.sismoview.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.models.Arrival;
+import com.sismoview.domain.models.City;
+import com.sismoview.domain.traveltime.TravelTimeCurve;
+import com.sismoview.domain.traveltime.TravelTimes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ArrivalEngineTest {
+    private static final double SRC_LAT = -33.0, SRC_LON = -71.6, DEPTH_KM = 35;
+
+    private final TravelTimes tables = TravelTimes.standard();
+    private final ArrivalEngine engine = new ArrivalEngine(tables);
+
+    /** Sites worldwide, so the lookups cover the whole distance range of the tables. */
+    private static double[][] sites(int n) {
+        Random rnd = new Random(11);
+        double[] lat = new double[n], lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = -89 + 178 * rnd.nextDouble();
+            lon[i] = -180 + 360 * rnd.nextDouble();
+        }
+        return new double[][] {lat, lon};
+    }
+
+    @Test
+    void bothSidesOfTheThresholdMatchTheScalarLookup() {
+        TravelTimeCurve p = tables.p().atDepth(DEPTH_KM), s = tables.s().atDepth(DEPTH_KM);
+        for (int n : new int[] {ArrivalEngine.PARALLEL_THRESHOLD - 1, ArrivalEngine.PARALLEL_THRESHOLD + 5_000}) {
+            double[][] site = sites(n);
+            double[] tP = new double[n], tS = new double[n];
+            engine.compute(SRC_LAT, SRC_LON, DEPTH_KM, site[0], site[1], tP, tS);
+            for (int i = 0; i < n; i++) {
+                double km = EarthGeometry.haversineKm(SRC_LAT, SRC_LON, site[0][i], site[1][i]);
+                assertEquals(p.minutesAtKm(km), tP[i], 1e-9, "P at site " + i + " of " + n);
+                assertEquals(s.minutesAtKm(km), tS[i], 1e-9, "S at site " + i + " of " + n);
+            }
+        }
+    }
+
+    @Test
+    void parallelChunksMatchTheSequentialPath() {
+        int n = ArrivalEngine.PARALLEL_THRESHOLD * 2 + 123;
+        double[][] site = sites(n);
+        double[] tP = new double[n], tS = new double[n];
+        engine.compute(SRC_LAT, SRC_LON, DEPTH_KM, site[0], site[1], tP, tS);
+
+        // every slice below the threshold takes the sequential path; the results must be identical
+        int slice = ArrivalEngine.PARALLEL_THRESHOLD - 1;
+        for (int from = 0; from < n; from += slice) {
+            int to = Math.min(n, from + slice);
+            double[] p = new double[to - from], s = new double[to - from];
+            engine.compute(SRC_LAT, SRC_LON, DEPTH_KM, Arrays.copyOfRange(site[0], from, to), Arrays.copyOfRange(site[1], from, to), p, s);
+            assertArrayEquals(p, Arrays.copyOfRange(tP, from, to));
+            assertArrayEquals(s, Arrays.copyOfRange(tS, from, to));
+        }
+    }
+
+    @Test
+    void matchesArrivalsForCities() {
+        int n = ArrivalEngine.PARALLEL_THRESHOLD + 1;
+        double[][] site = sites(n);
+        double[] tP = new double[n], tS = new double[n];
+        engine.compute(SRC_LAT, SRC_LON, DEPTH_KM, site[0], site[1], tP, tS);
+
+        SeismicService seismic = new SeismicService();
+        for (int i = 0; i < n; i += 997) {
+            List<Arrival> one = seismic.arrivalsForCities(SRC_LAT, SRC_LON, DEPTH_KM, 7.0, List.of(new City("c" + i, site[0][i], site[1][i])));
+            assertEquals(tP[i], one.get(0).minutes(), "P at site " + i);
+            assertEquals(tS[i], one.get(1).minutes(), "S at site " + i);
+        }
+    }
+
+    @Test
+    void mismatchedArraysAreRejected() {
+        double[] three = new double[3], two = new double[2];
+        assertThrows(IllegalArgumentException.class, () -> engine.compute(0, 0, 10, three, two, three, three));
+        assertThrows(IllegalArgumentException.class, () -> engine.compute(0, 0, 10, three, three, two, three));
+        assertThrows(IllegalArgumentException.class, () -> engine.compute(0, 0, 10, three, three, three, two));
+
+        // longer outputs are fine; the tail is left alone
+        double[] p = {0, 0, 0, -1}, s = {0, 0, 0, -1};
+        engine.compute(0, 0, 10, three, three, p, s);
+        assertEquals(-1, p[3]);
+        assertEquals(-1, s[3]);
+    }
+}
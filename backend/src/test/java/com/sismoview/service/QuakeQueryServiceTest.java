@@ -0,0 +1,82 @@
+package com.sismoview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.sismoview.domain.models.Quake;
+import com.sismoview.domain.models.QuakeQuery;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class QuakeQueryServiceTest {
+    /** Newest first, as the feed hands them out. */
+    private static final List<Quake> FEED = List.of(
+        new Quake("chile", "2025-01-06T00:00:00Z", -33.0, -71.6, 30, 6.1, "Valparaíso"),
+        new Quake("peru", "2025-01-05T00:00:00Z", -12.0, -77.0, 40, 4.5, "Lima"),
+        new Quake("fiji", "2025-01-04T00:00:00Z", -17.8, 178.5, 500, 5.2, "Fiji"),
+        new Quake("tonga", "2025-01-03T00:00:00Z", -20.0, -175.0, 100, 4.8, "Tonga"),
+        new Quake("japan", "2025-01-02T00:00:00Z", 35.7, 139.7, 50, 6.8, "Tokio"),
+        new Quake("santiago", "2025-01-01T00:00:00Z", -33.4, -70.7, 90, 3.9, "Santiago"));
+    private static final double SCL_LAT = -33.45, SCL_LON = -70.66;
+
+    private final QuakeQueryService service = new QuakeQueryService(window -> FEED);
+
+    private static QuakeQuery box(double minLat, double maxLat, double minLon, double maxLon, Double minMagnitude) {
+        return new QuakeQuery(minLat, maxLat, minLon, maxLon, null, null, null, minMagnitude, null);
+    }
+
+    private static QuakeQuery around(Double radiusKm, Integer nearest, Double minMagnitude) {
+        return new QuakeQuery(null, null, null, null, SCL_LAT, SCL_LON, radiusKm, minMagnitude, nearest);
+    }
+
+    private List<String> ids(QuakeQuery q) {
+        return service.query("day", q).stream().map(Quake::getId).toList();
+    }
+
+    @Test
+    void rejectsIncompleteOrOutOfRangeParameters() {
+        List<QuakeQuery> bad = List.of(
+            new QuakeQuery(-10.0, null, null, null, null, null, null, null, null),            // partial bbox
+            new QuakeQuery(-10.0, 10.0, 0.0, null, null, null, null, null, null),
+            box(10, -10, 0, 10, null),                                                        // minLat > maxLat
+            box(-91, 0, 0, 10, null),
+            new QuakeQuery(null, null, null, null, null, null, 100.0, null, null),            // radius without a centre
+            new QuakeQuery(null, null, null, null, null, null, null, null, 5),                // nearest without a centre
+            new QuakeQuery(null, null, null, null, SCL_LAT, null, 100.0, null, null),         // half a centre
+            new QuakeQuery(null, null, null, null, 95.0, 0.0, 100.0, null, null),
+            around(null, null, null),                                                         // centre alone
+            around(-1.0, null, null),
+            around(null, 0, null),                                                            // nearest limits
+            around(null, 10_001, null));
+        for (QuakeQuery q : bad) {
+            assertThrows(IllegalArgumentException.class, () -> service.query("day", q), q.toString());
+        }
+        assertEquals(6, ids(around(null, 10_000, null)).size());
+    }
+
+    @Test
+    void emptyQueryReturnsTheFeedAsIs() {
+        assertSame(FEED, service.query("day", new QuakeQuery(null, null, null, null, null, null, null, null, null)));
+        assertSame(FEED, service.query("day", null));
+    }
+
+    @Test
+    void filtersCombineAndKeepTheFeedOrder() {
+        assertEquals(List.of("chile", "fiji", "japan"), ids(new QuakeQuery(null, null, null, null, null, null, null, 5.0, null)));
+        assertEquals(List.of("chile", "peru"), ids(box(-40, 0, -80, -60, 4.0)));
+        // minLon > maxLon crosses the antimeridian
+        assertEquals(List.of("fiji", "tonga"), ids(box(-30, -10, 170, -170, null)));
+        assertEquals(List.of("fiji"), ids(box(-30, -10, 170, -170, 5.0)));
+        assertEquals(List.of("chile", "santiago"), ids(around(200.0, null, null)));
+        assertEquals(List.of("chile"), ids(around(200.0, null, 4.0)));
+    }
+
+    @Test
+    void nearestIsOrderedByDistanceWithinTheOtherFilters() {
+        assertEquals(List.of("santiago", "chile", "peru"), ids(around(null, 3, null)));
+        assertEquals(List.of("santiago", "chile"), ids(around(200.0, 5, null)));
+        assertEquals(List.of("chile", "japan"), ids(around(null, 2, 6.0)));
+        QuakeQuery boxed = new QuakeQuery(-30.0, -10.0, 170.0, -170.0, SCL_LAT, SCL_LON, null, null, 1);
+        assertEquals(List.of("tonga"), ids(boxed));
+    }
+}
@@ -1,5 +1,6 @@
 package com.sismoview.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.sismoview.domain.models.City;
 import java.util.List;
@@ -10,6 +11,17 @@ public class SeismicServiceTest {
     void arrivalsPositiveTimes() {
         SeismicService s = new SeismicService();
         var arr = s.arrivalsForCities(0,0,6.0, List.of(new City("Bogotá",4.7110,-74.0721)));
-        assertTrue(arr.stream().allMatch(a -> a.getMinutes() > 0.0));
+        assertTrue(arr.stream().allMatch(a -> a.minutes() > 0.0));
+    }
+
+    @Test
+    void closerCitiesShakeHarder() {
+        SeismicService s = new SeismicService();
+        var cities = List.of(new City("Cerca", 0.1, 0.0), new City("Lejos", 3.0, 0.0));
+        var res = s.intensityForCities(0, 0, 10, 7.0, cities);
+        assertEquals("Cerca", res.get(0).place());
+        assertTrue(res.get(0).mmi() > res.get(1).mmi());
+        assertTrue(res.get(0).pgaG() > res.get(1).pgaG());
+        assertTrue(res.get(0).hypocentralKm() > 10.0 && res.get(0).hypocentralKm() < 20.0);
     }
 }
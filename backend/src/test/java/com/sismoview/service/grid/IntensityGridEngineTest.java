@@ -0,0 +1,48 @@
+package com.sismoview.service.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.grid.GridIds;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import com.sismoview.domain.ground.GroundMotion;
+import com.sismoview.domain.ground.GroundMotionModel;
+import com.sismoview.domain.traveltime.TravelTimes;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class IntensityGridEngineTest {
+    private final IntensityGridEngine engine = new IntensityGridEngine(ForkJoinPool.commonPool(), TravelTimes.standard());
+
+    @Test
+    void cellsMatchDirectComputation() {
+        GridSpec spec = GridSpec.around(-33.0, -72.0, 20, 301, 257);
+        Raster r = engine.compute("t", -33.0, -72.0, 30.0, 7.5, spec);
+        GroundMotionModel.Source source = engine.groundMotion().prepare(7.5, 30.0);
+
+        for (int row = 0; row < spec.rows(); row += 37) {
+            for (int col = 0; col < spec.cols(); col += 41) {
+                double epi = EarthGeometry.haversineKm(-33.0, -72.0, spec.lat(row), spec.lon(col));
+                double hypo = Math.sqrt(epi * epi + 30.0 * 30.0);
+                int i = spec.index(row, col);
+                double deg = Math.toDegrees(epi / EarthGeometry.R_KM);
+                assertEquals(TravelTimes.standard().p().minutes(deg, 30.0), r.layer(IntensityGridEngine.P_MINUTES)[i], 1e-3);
+                assertEquals(TravelTimes.standard().s().minutes(deg, 30.0), r.layer(IntensityGridEngine.S_MINUTES)[i], 1e-3);
+                GroundMotion gm = source.at(hypo);
+                assertEquals(gm.mmi(), r.layer(IntensityGridEngine.INTENSITY)[i], 1e-3);
+                assertEquals(gm.pgaG(), r.layer(IntensityGridEngine.PGA_G)[i], 1e-6 + 1e-5 * gm.pgaG());
+                assertEquals(gm.pgvCmS(), r.layer(IntensityGridEngine.PGV_CM_S)[i], 1e-4 + 1e-5 * gm.pgvCmS());
+            }
+        }
+    }
+
+    @Test
+    void gridIdDependsOnScenario() {
+        GridSpec spec = GridSpec.around(10, 20, 20, 100, 100);
+        String a = GridIds.of("int", 1, spec, 10, 20, 10, 6.0);
+        assertEquals(a, GridIds.of("int", 1, spec, 10, 20, 10, 6.0));
+        assertNotEquals(a, GridIds.of("int", 1, spec, 10, 20, 10, 6.1));
+        assertNotEquals(a, GridIds.of("int", 2, spec, 10, 20, 10, 6.0));
+    }
+}
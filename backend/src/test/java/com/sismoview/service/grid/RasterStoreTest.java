@@ -0,0 +1,51 @@
+package com.sismoview.service.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class RasterStoreTest {
+    private final RasterStore store = new RasterStore(16);
+
+    private static Raster raster(String kind) {
+        GridSpec spec = new GridSpec(0, 0, 1, 1, 2, 2);
+        return new Raster("g1", kind, spec, Map.of("v", new float[spec.cells()]));
+    }
+
+    @Test
+    void waiterComputesItselfWhenTheFirstCallerIsCancelled() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Raster> first = new CompletableFuture<>(), second = new CompletableFuture<>();
+        Thread winner = Thread.ofVirtual().start(() -> {
+            try {
+                first.complete(store.getOrCompute("g1", () -> {
+                    running.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new CancellationException("cancelled");
+                }));
+            } catch (Throwable t) {
+                first.completeExceptionally(t);
+            }
+        });
+        running.await();
+        Thread.ofVirtual().start(() -> second.complete(store.getOrCompute("g1", () -> raster("waiter"))));
+        // let the second caller start waiting on the first one's computation
+        Thread.sleep(50);
+        winner.interrupt();
+
+        assertInstanceOf(CancellationException.class, first.handle((r, f) -> f).get(5, TimeUnit.SECONDS));
+        assertEquals("waiter", second.get(5, TimeUnit.SECONDS).getKind());
+        assertEquals("waiter", store.find("g1").orElseThrow().getKind());
+    }
+}
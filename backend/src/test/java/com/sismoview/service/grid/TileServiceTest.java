@@ -0,0 +1,84 @@
+package com.sismoview.service.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.grid.Raster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+public class TileServiceTest {
+    private final RasterStore store = new RasterStore(16);
+    private final TileService tiles = new TileService(store, new SimpleMeterRegistry(), 4);
+
+    /** 1° cells covering lat [0, 10) and lon [170, 190): crosses the antimeridian. Value = row, NaN in row 9. */
+    private Raster raster() {
+        GridSpec spec = new GridSpec(0.5, 170.5, 1, 1, 10, 20);
+        float[] v = new float[spec.cells()];
+        for (int row = 0; row < spec.rows(); row++) {
+            for (int col = 0; col < spec.cols(); col++) v[spec.index(row, col)] = row == 9 ? Float.NaN : row;
+        }
+        return store.getOrCompute("g1", () -> new Raster("g1", "test", spec, Map.of("v", v)));
+    }
+
+    private static BufferedImage decode(byte[] png) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(png));
+    }
+
+    @Test
+    void tilesQuantizeAgainstTheLayerRangeAndWrapLongitudes() throws Exception {
+        raster();
+        TileSet set = tiles.tileSet("g1", "v", 8).orElseThrow();
+        assertEquals(0.0, set.offset());
+        assertEquals(8.0 / 254, set.scale(), 1e-12); // levels 1..255, 0 is no data
+        assertEquals(0, set.minZoom());
+        assertEquals(0, set.maxZoom()); // 1° cells are coarser than z0 pixels (0.7°)
+        assertEquals(190.0, set.east());
+
+        // z0: x=1 is the eastern hemisphere, x=0 the western one; the grid sits on both
+        BufferedImage east = decode(tiles.tile("g1", "v", 8, 0, 1, 0).orElseThrow());
+        BufferedImage west = decode(tiles.tile("g1", "v", 8, 0, 0, 0).orElseThrow());
+        int rowOfLat = (int) ((90 - 4.5) / (180.0 / 256)); // pixel row inside grid row 4
+        int q = east.getRaster().getSample(255, rowOfLat, 0);
+        assertEquals(4.0, set.offset() + (q - 1) * set.scale(), set.scale());
+        assertEquals(q, west.getRaster().getSample(5, rowOfLat, 0));
+        assertEquals(0, east.getRaster().getSample(255, 20, 0));   // north of the grid: no data
+        int nanRow = (int) ((90 - 9.5) / (180.0 / 256));
+        assertEquals(0, east.getRaster().getSample(255, nanRow, 0)); // NaN cells: no data
+    }
+
+    @Test
+    void sixteenBitTilesKeepFinerSteps() throws Exception {
+        raster();
+        TileSet set = tiles.tileSet("g1", "v", 16).orElseThrow();
+        BufferedImage img = decode(tiles.tile("g1", "v", 16, 0, 1, 0).orElseThrow());
+        int q = img.getRaster().getSample(255, (int) ((90 - 7.5) / (180.0 / 256)), 0);
+        assertEquals(7.0, set.offset() + (q - 1) * set.scale(), set.scale() / 2);
+        assertTrue(q > 255);
+    }
+
+    @Test
+    void emptyTilesAndUnknownGridsAreAbsent() {
+        raster();
+        assertTrue(tiles.tile("g1", "v", 8, 3, 2, 2).isEmpty());   // southern Atlantic
+        assertTrue(tiles.tile("nope", "v", 8, 0, 0, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> tiles.tile("g1", "v", 8, 1, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> tiles.tile("g1", "v", 12, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> tiles.tile("g1", "missing", 8, 0, 0, 0));
+    }
+
+    @Test
+    void etagsDependOnEveryCoordinate() {
+        String e = TileService.etag("g1", "v", 8, 2, 1, 1);
+        assertEquals(e, TileService.etag("g1", "v", 8, 2, 1, 1));
+        assertNotEquals(e, TileService.etag("g1", "v", 8, 2, 1, 2));
+        assertNotEquals(e, TileService.etag("g1", "v", 16, 2, 1, 1));
+        assertNotEquals(e, TileService.etag("g2", "v", 8, 2, 1, 1));
+    }
+}
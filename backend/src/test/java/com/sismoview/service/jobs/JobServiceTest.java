@@ -0,0 +1,100 @@
+package com.sismoview.service.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.exception.JobRejectedException;
+import com.sismoview.service.Progress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class JobServiceTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JobService jobs = new JobService(registry, 1, 3, 60, 100);
+
+    @AfterEach
+    void stop() {
+        jobs.shutdown();
+    }
+
+    private JobStatus await(String id) throws InterruptedException {
+        JobStatus s = jobs.status(id).orElseThrow();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!s.state().isTerminal() && System.nanoTime() < deadline) {
+            s = jobs.awaitChange(id, s.version(), 1000).orElseThrow();
+        }
+        return s;
+    }
+
+    /** Occupies the single worker until released. */
+    private String blocker(CountDownLatch started, CountDownLatch release) {
+        return jobs.submit("test", 0, p -> {
+            started.countDown();
+            release.await();
+            return "done";
+        }).id();
+    }
+
+    @Test
+    void higherPriorityRunsFirstAndResultsAreKept() throws Exception {
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        String first = blocker(started, release);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        String low = jobs.submit("test", -1, p -> order.add("low")).id();
+        String high = jobs.submit("test", 5, p -> order.add("high")).id();
+        assertEquals(JobState.QUEUED, jobs.status(high).orElseThrow().state());
+        release.countDown();
+
+        assertEquals(JobState.SUCCEEDED, await(low).state());
+        assertEquals(List.of("high", "low"), order);
+        assertEquals("done", jobs.result(first).orElseThrow());
+        assertEquals(1.0, jobs.status(first).orElseThrow().progress());
+        assertEquals(3, registry.get("sismoview.jobs.run").tag("outcome", "succeeded").timer().count());
+    }
+
+    @Test
+    void cancellingInterruptsRunningWorkAndDropsQueuedJobs() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        String running = jobs.submit("test", 0, p -> {
+            started.countDown();
+            for (int step = 0; ; step++) {
+                p.update(Math.min(0.5, step / 1000.0));
+                Progress.checkCancelled();
+                Thread.onSpinWait();
+            }
+        }).id();
+        String queued = jobs.submit("test", 0, p -> "never").id();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(JobState.CANCELLED, jobs.cancel(queued).orElseThrow().state());
+        jobs.cancel(running);
+        JobStatus s = await(running);
+        assertEquals(JobState.CANCELLED, s.state());
+        assertTrue(jobs.result(running).isEmpty());
+        assertTrue(jobs.cancel("unknown").isEmpty());
+    }
+
+    @Test
+    void failuresAreReportedAndFullQueuesReject() throws Exception {
+        String failing = jobs.submit("test", 0, p -> { throw new IllegalStateException("boom"); }).id();
+        JobStatus s = await(failing);
+        assertEquals(JobState.FAILED, s.state());
+        assertEquals("boom", s.error());
+
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        blocker(started, release);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) jobs.submit("test", 0, p -> null);
+        assertThrows(JobRejectedException.class, () -> jobs.submit("test", 0, p -> null));
+        assertEquals(1.0, registry.counter("sismoview.jobs.rejected").count());
+        assertEquals(3.0, registry.get("sismoview.jobs.queue.depth").gauge().value());
+        release.countDown();
+    }
+}
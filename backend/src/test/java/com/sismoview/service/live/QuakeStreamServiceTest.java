@@ -0,0 +1,177 @@
+package com.sismoview.service.live;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.models.FeedRefreshed;
+import com.sismoview.domain.models.Quake;
+import com.sismoview.domain.models.QuakeDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class QuakeStreamServiceTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QuakeStreamService service = new QuakeStreamService("e1", registry, 3, 4, 60_000);
+
+    private static Quake quake(String id, double mag) {
+        return new Quake(id, "2025-01-01T00:00:00Z", 1, 2, 10, mag, "somewhere");
+    }
+
+    /** Collects what the drain thread delivers. */
+    private static class Recorder implements DeltaSink {
+        final LinkedBlockingQueue<QuakeDelta> got = new LinkedBlockingQueue<>();
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        public void send(String id, QuakeDelta delta) {
+            ids.add(id);
+            got.add(delta);
+        }
+        public void heartbeat() {}
+        public void close() { closed.countDown(); }
+
+        QuakeDelta next() throws InterruptedException {
+            QuakeDelta d = got.poll(5, TimeUnit.SECONDS);
+            if (d == null) throw new AssertionError("no delta delivered");
+            return d;
+        }
+    }
+
+    @Test
+    void diffSplitsAddedUpdatedAndRemoved() {
+        QuakeDelta d = QuakeStreamService.diff(7, "day",
+            List.of(quake("a", 5.0), quake("b", 5.1), quake("c", 5.2)),
+            List.of(quake("a", 5.0), quake("b", 5.4), quake("d", 6.0)));
+        assertEquals(List.of("d"), d.added().stream().map(Quake::getId).toList());
+        assertEquals(List.of("b"), d.updated().stream().map(Quake::getId).toList());
+        assertEquals(List.of("c"), d.removed());
+        assertEquals(7, d.seq());
+    }
+
+    @Test
+    void subscribersGetResetThenDeltasAndCanResume() throws Exception {
+        var v1 = List.of(quake("a", 5.0));
+        var v2 = List.of(quake("a", 5.0), quake("b", 6.0));
+        var v3 = List.of(quake("b", 6.0));
+        service.onFeedRefreshed(new FeedRefreshed("day", List.of(), v1));
+
+        Recorder live = new Recorder();
+        var sub = service.subscribe("day", null, live);
+        QuakeDelta reset = live.next();
+        assertTrue(reset.reset());
+        assertEquals(1, reset.seq());
+        assertEquals(1, reset.added().size());
+
+        service.onFeedRefreshed(new FeedRefreshed("day", v1, v2));
+        service.onFeedRefreshed(new FeedRefreshed("day", v2, v2)); // nothing changed: no event
+        service.onFeedRefreshed(new FeedRefreshed("day", v2, v3));
+        assertEquals(2, live.next().seq());
+        QuakeDelta removal = live.next();
+        assertEquals(3, removal.seq());
+        assertEquals(List.of("a"), removal.removed());
+        sub.cancel();
+
+        // a client that saw seq 1 gets exactly 2 and 3
+        Recorder resumed = new Recorder();
+        service.subscribe("day", "e1:1", resumed);
+        assertEquals(2, resumed.next().seq());
+        assertEquals(3, resumed.next().seq());
+        assertTrue(resumed.got.isEmpty());
+        assertEquals(List.of("e1:2", "e1:3"), resumed.ids);
+    }
+
+    @Test
+    void idsFromAnotherProcessGetAReset() throws Exception {
+        var v1 = List.of(quake("a", 5.0));
+        var v2 = List.of(quake("b", 6.0));
+        // the restarted process is at seq 2 again, with different contents behind it
+        QuakeStreamService restarted = new QuakeStreamService("e2", registry, 3, 4, 60_000);
+        restarted.onFeedRefreshed(new FeedRefreshed("day", List.of(), v1));
+        restarted.onFeedRefreshed(new FeedRefreshed("day", v1, v2));
+
+        Recorder resumed = new Recorder();
+        restarted.subscribe("day", "e1:1", resumed);
+        QuakeDelta reset = resumed.next();
+        assertTrue(reset.reset());
+        assertEquals(List.of("b"), reset.added().stream().map(Quake::getId).toList());
+        assertEquals(List.of("e2:2"), resumed.ids);
+
+        // even before the first snapshot, so the client drops what it held
+        Recorder early = new Recorder();
+        service.subscribe("week", "e0:5", early);
+        QuakeDelta empty = early.next();
+        assertTrue(empty.reset());
+        assertTrue(empty.added().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.subscribe("day", "e1:x", new Recorder()));
+    }
+
+    @Test
+    void publishDiffsAgainstTheWindowsOwnSnapshot() throws Exception {
+        var v1 = List.of(quake("a", 5.0));
+        var v2 = List.of(quake("a", 5.0), quake("b", 6.0));
+        service.onFeedRefreshed(new FeedRefreshed("day", List.of(), v1));
+        Recorder live = new Recorder();
+        service.subscribe("day", "e1:1", live);
+
+        // a stale "previous" from the feed must not re-add what the window already has
+        service.onFeedRefreshed(new FeedRefreshed("day", List.of(), v1));
+        service.onFeedRefreshed(new FeedRefreshed("day", List.of(), v2));
+        QuakeDelta d = live.next();
+        assertEquals(2, d.seq());
+        assertEquals(List.of("b"), d.added().stream().map(Quake::getId).toList());
+        assertTrue(live.got.isEmpty());
+    }
+
+    @Test
+    void gapsOlderThanTheHistoryGetAReset() throws Exception {
+        List<Quake> prev = List.of();
+        for (int i = 0; i < 6; i++) {
+            List<Quake> next = List.of(quake("q" + i, 5.0));
+            service.onFeedRefreshed(new FeedRefreshed("week", prev, next));
+            prev = next;
+        }
+        Recorder late = new Recorder();
+        service.subscribe("week", "e1:1", late);
+        QuakeDelta d = late.next();
+        assertTrue(d.reset());
+        assertEquals(6, d.seq());
+        assertEquals("q5", d.added().get(0).getId());
+    }
+
+    @Test
+    void slowSubscribersAreDroppedWithoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder stuck = new Recorder() {
+            @Override
+            public void send(String id, QuakeDelta delta) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Recorder fast = new Recorder();
+        service.subscribe("day", "e1:0", stuck);
+        service.subscribe("day", "e1:0", fast);
+
+        List<Quake> prev = List.of();
+        for (int i = 0; i < 8; i++) {
+            List<Quake> next = List.of(quake("q" + i, 5.0));
+            service.onFeedRefreshed(new FeedRefreshed("day", prev, next));
+            prev = next;
+            assertEquals(i + 1, fast.next().seq());
+        }
+        assertTrue(stuck.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.counter("sismoview.stream.dropped").count());
+        assertFalse(fast.closed.await(50, TimeUnit.MILLISECONDS));
+        release.countDown();
+    }
+}
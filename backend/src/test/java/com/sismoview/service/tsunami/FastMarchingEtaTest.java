@@ -0,0 +1,71 @@
+package com.sismoview.service.tsunami;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.EarthGeometry;
+import com.sismoview.domain.grid.GridSpec;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class FastMarchingEtaTest {
+    private final FastMarchingEta marcher = new FastMarchingEta();
+
+    @Test
+    void frontTravelsAtLongWaveSpeedInEveryDirection() {
+        GridSpec spec = GridSpec.around(0, 0, 12, 241, 241);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 4000f);
+        var res = marcher.run(spec, depth, new TsunamiSource(0, 0, 1.0, 40));
+
+        double speedKmPerMin = Math.sqrt(ShallowWaterSolver.G * 4000) * 60 / 1000;
+        float east = res.etaMinutes()[spec.index(120, 200)];   // 4 deg east
+        float north = res.etaMinutes()[spec.index(200, 120)];  // 4 deg north
+        float diagonal = res.etaMinutes()[spec.index(177, 177)];
+        float east2 = res.etaMinutes()[spec.index(120, 160)];  // 2 deg east
+        assertEquals(222.4 / speedKmPerMin, east - east2, 0.5);
+        assertEquals(east, north, 0.5);
+        // seeds cover the footprint, R sqrt(ln 100); first-order marching runs a few percent slow off the axes
+        double seedKm = 40 * Math.sqrt(Math.log(100));
+        double diagonalKm = EarthGeometry.haversineKm(0, 0, spec.lat(177), spec.lon(177));
+        double expected = (diagonalKm - seedKm) / speedKmPerMin;
+        assertEquals(expected, diagonal, 0.06 * expected);
+        assertEquals(spec.cells(), res.reached());
+        for (float c : res.coastEtaMinutes()) assertTrue(Float.isNaN(c));
+    }
+
+    @Test
+    void landIsABarrierTheFrontGoesAround() {
+        GridSpec spec = GridSpec.around(0, 0, 6, 121, 121);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 3000f);
+        // wall east of the source with a gap at the top rows
+        for (int r = 0; r < spec.rows() - 10; r++) depth[spec.index(r, 80)] = -10f;
+        var res = marcher.run(spec, depth, new TsunamiSource(0, 0, 1.0, 30));
+
+        float straight = res.etaMinutes()[spec.index(60, 40)];  // 1 deg west, open water
+        float behind = res.etaMinutes()[spec.index(60, 100)];   // 1 deg east, behind the wall
+        assertTrue(Float.isNaN(res.etaMinutes()[spec.index(60, 80)]));
+        assertFalse(Float.isNaN(behind));
+        assertTrue(behind > 2 * straight, "the front crossed the wall: " + behind + " vs " + straight);
+
+        float coast = res.coastEtaMinutes()[spec.index(60, 79)];
+        assertEquals(res.etaMinutes()[spec.index(60, 79)], coast);
+        assertTrue(Float.isNaN(res.coastEtaMinutes()[spec.index(60, 70)]));
+        assertEquals(spec.cells() - (spec.rows() - 10), res.reached());
+    }
+
+    @Test
+    void enclosedWaterIsNeverReached() {
+        GridSpec spec = GridSpec.around(0, 0, 4, 41, 41);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 2000f);
+        for (int i = 0; i < spec.rows(); i++) {
+            depth[spec.index(i, 30)] = 0f;
+            depth[spec.index(30, i)] = 0f;
+        }
+        var res = marcher.run(spec, depth, new TsunamiSource(0, 0, 1.0, 30));
+        assertTrue(Float.isNaN(res.etaMinutes()[spec.index(35, 35)]));
+        assertFalse(Float.isNaN(res.etaMinutes()[spec.index(25, 25)]));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sismoview.service.tsunami;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.grid.GridSpec;
+import com.sismoview.domain.ports.TsunamiScenarioPort;
+import org.junit.jupiter.api.Test;
+
+public class ScenarioForecastTest {
+    private static final GridSpec GRID = GridSpec.around(0, 0, 4, 3, 3);
+
+    /** Units on the equator; each has one forecast point, the grid centre, with its own ETA. */
+    private record Catalog(double[] lon, float[] eta) implements TsunamiScenarioPort {
+        @Override public GridSpec forecastGrid() { return GRID; }
+        @Override public int[] forecastCells() { return new int[] {GRID.index(1, 1)}; }
+        @Override public int units() { return lon.length; }
+        @Override public double unitLat(int unit) { return 0; }
+        @Override public double unitLon(int unit) { return lon[unit]; }
+        @Override public double unitMagnitude() { return 7.5; }
+        @Override public double unitDepthKm() { return 20; }
+
+        @Override
+        public void read(int unit, float[] etaMinutes, float[] heightPerMetre) {
+            etaMinutes[0] = eta[unit];
+            heightPerMetre[0] = 0.1f;
+        }
+    }
+
+    @Test
+    void etaIsTheEarliestArrivalAcrossTheRupture() {
+        // an M8.5 rupture (R ~ 140 km) spans both units; the near edge arrives at 5 min, the far one at 40
+        var forecast = new ScenarioForecast(new Catalog(new double[] {-0.3, 0.3}, new float[] {5f, 40f}), 500)
+            .forecast(0, 0, 8.5, 20);
+        assertEquals(2, forecast.units());
+        assertEquals(5f, forecast.etaMinutes()[GRID.index(1, 1)]);
+        assertTrue(forecast.maxHeightM()[GRID.index(1, 1)] > 0);
+    }
+
+    @Test
+    void unitsInTheGaussianTailDoNotSetTheEta() {
+        // the third unit, 1.8 radii out, carries ~4% weight: it adds height but not its 1 min arrival
+        var forecast = new ScenarioForecast(new Catalog(new double[] {-0.3, 0.3, 2.3}, new float[] {12f, 30f, 1f}), 500)
+            .forecast(0, 0, 8.5, 20);
+        assertEquals(3, forecast.units());
+        assertEquals(12f, forecast.etaMinutes()[GRID.index(1, 1)]);
+    }
+
+    @Test
+    void pointsNoUnitReachesStayNaN() {
+        var forecast = new ScenarioForecast(new Catalog(new double[] {-0.3, 0.3}, new float[] {Float.NaN, Float.NaN}), 500)
+            .forecast(0, 0, 8.5, 20);
+        assertTrue(Float.isNaN(forecast.etaMinutes()[GRID.index(1, 1)]));
+        assertTrue(Float.isNaN(forecast.etaMinutes()[GRID.index(0, 0)]));
+    }
+}
@@ -0,0 +1,62 @@
+package com.sismoview.service.tsunami;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.sismoview.domain.grid.GridSpec;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class ShallowWaterSolverTest {
+    private final ShallowWaterSolver solver = new ShallowWaterSolver(ForkJoinPool.commonPool(), 5000);
+
+    @Test
+    void frontTravelsAtLongWaveSpeed() {
+        GridSpec spec = GridSpec.around(0, 0, 12, 121, 121);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 4000f);
+        var res = solver.run(spec, depth, new TsunamiSource(0, 0, 1.0, 40), 60 * 60);
+
+        int row = 60;
+        float at2 = res.arrivalMinutes()[spec.index(row, 80)];   // ~2 deg east
+        float at4 = res.arrivalMinutes()[spec.index(row, 100)];  // ~4 deg east
+        double speedKmPerMin = Math.sqrt(ShallowWaterSolver.G * 4000) * 60 / 1000;
+        // the front spends (222 km) / c between the two columns, give or take a cell
+        assertEquals(222.4 / speedKmPerMin, at4 - at2, 3.0);
+        assertTrue(res.maxHeightM()[spec.index(row, 80)] > res.maxHeightM()[spec.index(row, 100)]);
+        assertTrue(res.stepsPerSecond() > 0);
+    }
+
+    @Test
+    void landCellsNeverFlood() {
+        GridSpec spec = GridSpec.around(0, 0, 6, 61, 61);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 3000f);
+        for (int r = 0; r < spec.rows(); r++) depth[spec.index(r, 45)] = -10f;
+        var res = solver.run(spec, depth, new TsunamiSource(0, 0, 1.0, 30), 30 * 60);
+
+        for (int r = 0; r < spec.rows(); r++) {
+            assertTrue(Float.isNaN(res.arrivalMinutes()[spec.index(r, 45)]));
+            assertTrue(Float.isNaN(res.arrivalMinutes()[spec.index(r, 50)]), "wave crossed the land barrier");
+        }
+    }
+
+    @Test
+    void interruptStopsTheRunBetweenSteps() {
+        GridSpec spec = GridSpec.around(0, 0, 6, 61, 61);
+        float[] depth = new float[spec.cells()];
+        Arrays.fill(depth, 3000f);
+        double[] reported = new double[1];
+        try {
+            assertThrows(CancellationException.class, () -> solver.run(spec, depth, new TsunamiSource(0, 0, 1.0, 30), 60 * 60, f -> {
+                reported[0] = f;
+                if (f > 0.1) Thread.currentThread().interrupt();
+            }));
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(reported[0] > 0.1 && reported[0] < 0.2, "stopped at " + reported[0]);
+    }
+}